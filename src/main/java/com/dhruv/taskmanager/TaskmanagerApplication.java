@@ -2,6 +2,9 @@ package com.dhruv.taskmanager;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
 import java.util.Set;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
@@ -10,7 +13,9 @@ import com.dhruv.taskmanager.model.User;
 import com.dhruv.taskmanager.repository.UserRepository;
 import com.dhruv.taskmanager.service.TaskService;
 
-@SpringBootApplication
+// the reactive driver is set up by ReactiveMongoConfig, only when app.reactive.enabled
+@SpringBootApplication(exclude = {MongoReactiveAutoConfiguration.class, MongoReactiveDataAutoConfiguration.class,
+    MongoReactiveRepositoriesAutoConfiguration.class})
 public class TaskmanagerApplication {
     public static void main(String[] args) {
         SpringApplication.run(TaskmanagerApplication.class, args);
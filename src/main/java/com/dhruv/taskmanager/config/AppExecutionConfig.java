@@ -1,7 +1,11 @@
 package com.dhruv.taskmanager.config;
 
+import java.time.Clock;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -12,8 +16,20 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @EnableScheduling
 public class AppExecutionConfig {
 
+    /**
+     * {@code @Async} work. With {@code spring.threads.virtual.enabled} (which also moves Tomcat
+     * request handling and scheduling onto virtual threads) every task gets its own virtual thread,
+     * throttled at {@code app.async.max-concurrent}; otherwise a small platform-thread pool.
+     */
     @Bean
-    public TaskExecutor appTaskExecutor() {
+    public TaskExecutor appTaskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtual,
+                                        @Value("${app.async.max-concurrent:64}") int maxConcurrent) {
+        if (virtual) {
+            SimpleAsyncTaskExecutor ex = new SimpleAsyncTaskExecutor("taskmanager-");
+            ex.setVirtualThreads(true);
+            ex.setConcurrencyLimit(maxConcurrent);
+            return ex;
+        }
         ThreadPoolTaskExecutor ex = new ThreadPoolTaskExecutor();
         ex.setThreadNamePrefix("taskmanager-");
         ex.setCorePoolSize(4);
@@ -22,4 +38,10 @@ public class AppExecutionConfig {
         ex.initialize();
         return ex;
     }
-}
\ No newline at end of file
+
+    /** Time source for timers, replaceable in tests. */
+    @Bean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+}
@@ -1,5 +1,31 @@
 package com.dhruv.taskmanager.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Cache tunables. Caffeine bounds entries with W-TinyLFU eviction, expires them
+ * after {@code ttl} and, when {@code refresh-after} is shorter, reloads hot keys
+ * in the background so readers keep getting the previous value meanwhile.
+ */
+@Configuration
 public class CacheConfig {
-    
+
+    @Bean
+    public Caffeine<Object, Object> analyticsCacheSpec(
+            @Value("${app.analytics.cache.ttl:PT5M}") Duration ttl,
+            @Value("${app.analytics.cache.refresh-after:PT30S}") Duration refreshAfter,
+            @Value("${app.analytics.cache.max-entries:10000}") long maxEntries) {
+        Caffeine<Object, Object> spec = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats();
+        if (!refreshAfter.isZero() && refreshAfter.compareTo(ttl) < 0) spec.refreshAfterWrite(refreshAfter);
+        return spec;
+    }
 }
@@ -0,0 +1,198 @@
+package com.dhruv.taskmanager.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the indexes declared on the {@code @Document} classes ({@code @Indexed},
+ * {@code @CompoundIndex}) at startup, in place of Spring Data's auto-index-creation. Unique indexes
+ * are built before the application serves requests since they enforce correctness; the others are
+ * built afterwards on a background thread with {@code background: true}, so a large collection does
+ * not hold up startup (MongoDB 4.2+ ignores the flag: every build only locks briefly at start and end).
+ *
+ * <p>Indexes that already exist are left alone. One that clashes with an existing index (same
+ * name with other keys or options, or same keys under another name) is reported and skipped
+ * instead of failing startup, and indexes no document declares are only logged, to be dropped by hand.
+ */
+@Component
+public class IndexReconciler implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexReconciler.class);
+
+    public enum State { CREATED, PRESENT, CONFLICT, FAILED }
+
+    public record Outcome(String collection, String index, State state) {}
+
+    private final MongoTemplate mongo;
+    private final MongoMappingContext mapping;
+    private final boolean enabled;
+    private final List<Outcome> report = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+
+    public IndexReconciler(MongoTemplate mongo, MongoMappingContext mapping,
+                           @Value("${app.indexes.reconcile:true}") boolean enabled) {
+        this.mongo = mongo;
+        this.mapping = mapping;
+        this.enabled = enabled;
+    }
+
+    /** Builds every declared index in the calling thread and returns what happened to each. */
+    public List<Outcome> reconcileNow() {
+        Map<String, List<IndexDefinition>> declared = declared();
+        reconcile(declared, true);
+        reconcile(declared, false);
+        return report();
+    }
+
+    public List<Outcome> report() {
+        return List.copyOf(report);
+    }
+
+    /** Declared indexes by collection, as Spring Data's own index creator would resolve them. */
+    Map<String, List<IndexDefinition>> declared() {
+        IndexResolver resolver = IndexResolver.create(mapping);
+        Map<String, List<IndexDefinition>> byCollection = new TreeMap<>();
+        for (MongoPersistentEntity<?> entity : mapping.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) continue;
+            List<IndexDefinition> defs = byCollection.computeIfAbsent(entity.getCollection(), c -> new ArrayList<>());
+            resolver.resolveIndexFor(entity.getTypeInformation()).forEach(defs::add);
+        }
+        return byCollection;
+    }
+
+    private void reconcile(Map<String, List<IndexDefinition>> declared, boolean unique) {
+        declared.forEach((collection, defs) -> {
+            IndexOperations ops = mongo.indexOps(collection);
+            Set<String> existing = new HashSet<>();
+            ops.getIndexInfo().forEach(i -> existing.add(i.getName()));
+            for (IndexDefinition def : defs) {
+                if (isUnique(def) != unique) continue;
+                report.add(new Outcome(collection, name(def), ensure(ops, collection, def, existing, unique)));
+            }
+            if (!unique) {
+                Set<String> names = defs.stream().map(IndexReconciler::name).collect(Collectors.toSet());
+                for (IndexInfo i : ops.getIndexInfo()) {
+                    if (!"_id_".equals(i.getName()) && !names.contains(i.getName())) {
+                        log.warn("index {}.{} is not declared on any document; drop it if nothing uses it", collection, i.getName());
+                    }
+                }
+            }
+        });
+    }
+
+    private State ensure(IndexOperations ops, String collection, IndexDefinition def, Set<String> existing, boolean unique) {
+        String name = name(def);
+        if (existing.contains(name)) {
+            // same name: createIndex is a no-op when keys and options match and fails when they don't
+            try {
+                ops.createIndex(def);
+                return State.PRESENT;
+            } catch (DataIntegrityViolationException ex) {
+                log.error("index {}.{} exists with other keys or options, leaving it as is: {}", collection, name, ex.getMessage());
+                return State.CONFLICT;
+            } catch (DataAccessException ex) {
+                log.error("checking index {}.{} failed: {}", collection, name, ex.getMessage());
+                return State.FAILED;
+            }
+        }
+        long started = System.nanoTime();
+        try {
+            ops.createIndex(unique ? def : inBackground(def));
+            log.info("created index {}.{} {} in {} ms", collection, name, def.getIndexKeys().toJson(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return State.CREATED;
+        } catch (DataIntegrityViolationException ex) {
+            log.error("index {}.{} clashes with an existing index or the stored data, skipped: {}", collection, name, ex.getMessage());
+            return State.CONFLICT;
+        } catch (DataAccessException ex) {
+            log.error("building index {}.{} failed: {}", collection, name, ex.getMessage());
+            return State.FAILED;
+        }
+    }
+
+    private static boolean isUnique(IndexDefinition def) {
+        return Boolean.TRUE.equals(def.getIndexOptions().get("unique"));
+    }
+
+    /** The declared name, or the one MongoDB generates ({@code field_1_other_-1}) when there is none. */
+    static String name(IndexDefinition def) {
+        Object name = def.getIndexOptions().get("name");
+        if (name != null) return name.toString();
+        return def.getIndexKeys().entrySet().stream()
+            .map(e -> e.getKey() + "_" + e.getValue())
+            .collect(Collectors.joining("_"));
+    }
+
+    private static IndexDefinition inBackground(IndexDefinition def) {
+        Document options = new Document(def.getIndexOptions()).append("background", true);
+        return new IndexDefinition() {
+            @Override
+            public Document getIndexKeys() {
+                return def.getIndexKeys();
+            }
+
+            @Override
+            public Document getIndexOptions() {
+                return options;
+            }
+        };
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (!enabled) return;
+        Map<String, List<IndexDefinition>> declared = declared();
+        reconcile(declared, true);
+        Thread.ofVirtual().name("index-reconciler").start(() -> {
+            long started = System.nanoTime();
+            try {
+                reconcile(declared, false);
+                log.info("index reconciliation finished in {} ms: {}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                    report.stream().collect(Collectors.groupingBy(Outcome::state, TreeMap::new, Collectors.counting())));
+            } catch (RuntimeException ex) {
+                log.error("index reconciliation stopped: {}", ex.toString());
+            }
+        });
+    }
+
+    @Override
+    public void stop() {
+        // builds already started carry on server-side
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** Before the web server starts, so unique indexes exist when the first request arrives. */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
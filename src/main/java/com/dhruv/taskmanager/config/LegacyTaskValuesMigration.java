@@ -0,0 +1,134 @@
+package com.dhruv.taskmanager.config;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.model.Task;
+
+/**
+ * Rewrites task statuses and priorities stored in a legacy form ({@code "open"}, {@code "in progress"})
+ * to the enum name, so the indexes and the name-based queries find them. Reads already see the
+ * canonical value through {@link TaskEnumConverters}, which is why neither {@code version} nor
+ * {@code updatedAt} moves. Values that are not a status or priority at all are only logged.
+ *
+ * <p>Also fills {@code titleWords} on tasks written before title search used it, in unordered bulk
+ * writes of {@value #BATCH}; until then those tasks do not match {@code q}.
+ */
+@Component
+public class LegacyTaskValuesMigration implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyTaskValuesMigration.class);
+    private static final String COLLECTION = "tasks";
+    static final int BATCH = 500;
+
+    private final MongoTemplate mongo;
+    private final boolean enabled;
+    private volatile boolean running;
+
+    public LegacyTaskValuesMigration(MongoTemplate mongo,
+                                     @Value("${app.tasks.normalize-legacy-values:true}") boolean enabled) {
+        this.mongo = mongo;
+        this.enabled = enabled;
+    }
+
+    /** Rewrites legacy values in place; returns the documents changed per field. */
+    public Map<String, Long> migrateNow() {
+        Map<String, Long> changed = new LinkedHashMap<>();
+        changed.put("status", migrate("status", TaskStatus::from));
+        changed.put("priority", migrate("priority", TaskPriority::from));
+        changed.put("titleWords", backfillTitleWords());
+        return changed;
+    }
+
+    private long backfillTitleWords() {
+        Query q = Query.query(Criteria.where("titleWords").exists(false).and("title").type(2)); // 2: string
+        q.fields().include("title");
+        long changed = 0;
+        BulkOperations bulk = null;
+        int pending = 0;
+        try (Stream<Document> docs = mongo.stream(q, Document.class, COLLECTION)) {
+            for (Iterator<Document> it = docs.iterator(); it.hasNext(); ) {
+                Document d = it.next();
+                if (bulk == null) bulk = mongo.bulkOps(BulkMode.UNORDERED, COLLECTION);
+                bulk.updateOne(Query.query(Criteria.where("_id").is(d.get("_id"))),
+                    new Update().set("titleWords", Task.titleWords(d.getString("title"))));
+                if (++pending == BATCH) {
+                    changed += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    pending = 0;
+                }
+            }
+        }
+        if (bulk != null) changed += bulk.execute().getModifiedCount();
+        if (changed > 0) log.info("filled titleWords on {} tasks", changed);
+        return changed;
+    }
+
+    // one distinct per field; the canonical case costs nothing beyond that
+    private long migrate(String field, Function<String, Enum<?>> parse) {
+        long changed = 0;
+        for (Object raw : mongo.findDistinct(new Query(), field, COLLECTION, Object.class)) {
+            if (!(raw instanceof String s)) {
+                log.warn("tasks with {} {} are not a string and read as null", field, raw);
+                continue;
+            }
+            Enum<?> value;
+            try {
+                value = parse.apply(s);
+            } catch (IllegalArgumentException ex) {
+                value = null;
+            }
+            if (value == null) {
+                log.warn("tasks with unknown {} '{}' read as null; fix them by hand", field, s);
+                continue;
+            }
+            if (value.name().equals(s)) continue;
+            long n = mongo.updateMulti(Query.query(Criteria.where(field).is(s)), new Update().set(field, value.name()), COLLECTION)
+                .getModifiedCount();
+            log.info("rewrote {} '{}' to {} on {} tasks", field, s, value.name(), n);
+            changed += n;
+        }
+        return changed;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (enabled) migrateNow();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /** With the index reconciler, before the schedulers and the web server start. */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -1,5 +1,47 @@
 package com.dhruv.taskmanager.config;
 
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
 public class MongoConfig {
-    
+
+    /**
+     * On by default: a task write and its domain event commit together or not at all. Multi-document
+     * transactions need a replica set (Atlas, or mongod started with --replSet), so startup fails on a
+     * standalone server unless {@code app.outbox.transactional=false} accepts losing the event of a
+     * write interrupted by a crash.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.outbox.transactional", havingValue = "true", matchIfMissing = true)
+    public MongoTransactionManager transactionManager(MongoDatabaseFactory factory) {
+        Document hello = factory.getMongoDatabase().runCommand(new Document("hello", 1));
+        if (!supportsTransactions(hello)) {
+            throw new IllegalStateException("app.outbox.transactional=true needs a replica set or sharded cluster, but "
+                + "the MongoDB server is standalone. Start mongod with --replSet, or set APP_OUTBOX_TRANSACTIONAL=false "
+                + "to write domain events after the task without a transaction (a crash in between loses the event).");
+        }
+        return new MongoTransactionManager(factory);
+    }
+
+    /** Replica set members report {@code setName}, mongos routers {@code msg: isdbgrid}. */
+    static boolean supportsTransactions(Document hello) {
+        return hello.getString("setName") != null || "isdbgrid".equals(hello.getString("msg"));
+    }
+
+    /** Picked up by both the blocking and the reactive template. */
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return conversions();
+    }
+
+    /** The application's conversions, for templates built outside the context (tests, tools). */
+    public static MongoCustomConversions conversions() {
+        return new MongoCustomConversions(TaskEnumConverters.all());
+    }
 }
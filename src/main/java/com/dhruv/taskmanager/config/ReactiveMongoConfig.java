@@ -0,0 +1,55 @@
+package com.dhruv.taskmanager.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+
+import com.dhruv.taskmanager.repository.ReactiveTaskRepository;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+
+/**
+ * The reactive driver, only with {@code app.reactive.enabled}. Boot's reactive Mongo auto-configuration
+ * is excluded so a deployment that never serves {@code /api/reactive} opens no second connection pool.
+ * The client takes the same settings and customizers as the blocking one, so it points at the same
+ * database and reports to the same driver metrics.
+ *
+ * <p>The repository is built here rather than through {@code @EnableReactiveMongoRepositories}, which
+ * would make Boot back off from scanning the blocking repositories.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveMongoConfig {
+
+    @Bean
+    public MongoClient reactiveStreamsMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+                                                  MongoClientSettings settings) {
+        return new ReactiveMongoClientFactory(customizers.orderedStream().toList()).createMongoClient(settings);
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient client, MongoDatabaseFactory blocking,
+                                                       MongoMappingContext mapping, MongoCustomConversions conversions) {
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mapping);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return new ReactiveMongoTemplate(
+            new SimpleReactiveMongoDatabaseFactory(client, blocking.getMongoDatabase().getName()), converter);
+    }
+
+    @Bean
+    public ReactiveTaskRepository reactiveTaskRepository(ReactiveMongoTemplate template) {
+        return new ReactiveMongoRepositoryFactory(template).getRepository(ReactiveTaskRepository.class);
+    }
+}
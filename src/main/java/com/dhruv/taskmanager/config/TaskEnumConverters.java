@@ -0,0 +1,88 @@
+package com.dhruv.taskmanager.config;
+
+import java.util.List;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+
+/**
+ * Mongo codec for {@link TaskStatus} and {@link TaskPriority}. They are stored by name, which the
+ * indexes, queries and aggregation pipelines compare against. Reading matches the canonical names
+ * without allocating and falls back to the lenient parse for legacy values ({@code "open"},
+ * {@code " Done"}); values that are not a status or priority at all read as null.
+ * {@link LegacyTaskValuesMigration} rewrites legacy values at startup.
+ */
+final class TaskEnumConverters {
+
+    private TaskEnumConverters() {}
+
+    static List<Converter<?, ?>> all() {
+        return List.of(StatusWriter.INSTANCE, StatusReader.INSTANCE, PriorityWriter.INSTANCE, PriorityReader.INSTANCE);
+    }
+
+    @WritingConverter
+    enum StatusWriter implements Converter<TaskStatus, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(TaskStatus source) {
+            return source.name();
+        }
+    }
+
+    @ReadingConverter
+    enum StatusReader implements Converter<String, TaskStatus> {
+        INSTANCE;
+
+        @Override
+        public TaskStatus convert(String source) {
+            return switch (source) {
+                case "OPEN" -> TaskStatus.OPEN;
+                case "IN_PROGRESS" -> TaskStatus.IN_PROGRESS;
+                case "DONE" -> TaskStatus.DONE;
+                default -> {
+                    try {
+                        yield TaskStatus.from(source);
+                    } catch (IllegalArgumentException ex) {
+                        yield null;
+                    }
+                }
+            };
+        }
+    }
+
+    @WritingConverter
+    enum PriorityWriter implements Converter<TaskPriority, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(TaskPriority source) {
+            return source.name();
+        }
+    }
+
+    @ReadingConverter
+    enum PriorityReader implements Converter<String, TaskPriority> {
+        INSTANCE;
+
+        @Override
+        public TaskPriority convert(String source) {
+            return switch (source) {
+                case "LOW" -> TaskPriority.LOW;
+                case "MEDIUM" -> TaskPriority.MEDIUM;
+                case "HIGH" -> TaskPriority.HIGH;
+                default -> {
+                    try {
+                        yield TaskPriority.from(source);
+                    } catch (IllegalArgumentException ex) {
+                        yield null;
+                    }
+                }
+            };
+        }
+    }
+}
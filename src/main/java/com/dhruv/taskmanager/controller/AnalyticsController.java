@@ -1,44 +1,47 @@
 package com.dhruv.taskmanager.controller;
 
 import java.security.Principal;
-import java.util.List;
 import java.util.Objects;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
 import com.dhruv.taskmanager.service.AnalyticsCacheService;
-import com.dhruv.taskmanager.service.TaskQueryService;
-import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.service.AnalyticsMaterializedView;
+import com.dhruv.taskmanager.service.TaskVersions;
 
 @RestController
 @RequestMapping("/api/analytics")
 public class AnalyticsController {
 
-    private final TaskQueryService query;
     private final AnalyticsCacheService cache;
+    private final AnalyticsMaterializedView view;
+    private final TaskVersions versions;
 
-    public AnalyticsController(TaskQueryService query, AnalyticsCacheService cache) {
-        this.query = query;
+    public AnalyticsController(AnalyticsCacheService cache, AnalyticsMaterializedView view, TaskVersions versions) {
         this.cache = cache;
+        this.view = view;
+        this.versions = versions;
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> me(Principal principal) {
+    public ResponseEntity<?> me(Principal principal, ServletWebRequest request) {
         if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         String u = Objects.requireNonNull(principal.getName());
-        List<Task> tasks = query.list(u, false);
-        return ResponseEntity.ok(cache.getOrCompute("me:" + u, tasks).value());
+        if (ConditionalGet.notModified(request, versions.clockedEtag(u, "analytics/me"))) return null;
+        return ResponseEntity.ok(view.snapshot(u)
+            .orElseGet(() -> cache.get(u).value()));
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin")
-    public ResponseEntity<TaskAnalyticsDto> admin(Principal principal) {
-        String u = Objects.requireNonNull(principal.getName());
-        List<Task> tasks = query.list(u, true);
-        return ResponseEntity.ok(cache.getOrCompute("admin", tasks).value());
+    public ResponseEntity<TaskAnalyticsDto> admin(ServletWebRequest request) {
+        if (ConditionalGet.notModified(request, versions.clockedEtag(null, "analytics/admin"))) return null;
+        return ResponseEntity.ok(view.snapshot(null)
+            .orElseGet(() -> cache.get(null).value()));
     }
 }
\ No newline at end of file
@@ -2,65 +2,89 @@ package com.dhruv.taskmanager.controller;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import com.dhruv.taskmanager.model.User;
 import com.dhruv.taskmanager.repository.UserRepository;
 import com.dhruv.taskmanager.security.JwtSecurity;
+import com.dhruv.taskmanager.security.PasswordHashingService;
 import com.dhruv.taskmanager.service.TaskService;
 
 @RestController
 @RequestMapping("/auth")
 public class AuthController {
     private final UserRepository users;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService hashing;
     private final JwtSecurity jwt;
     private final TaskService tasks;
+    private final TaskExecutor afterHash;
 
-    public AuthController(UserRepository users, PasswordEncoder encoder, JwtSecurity jwt, TaskService tasks) {
-        this.users = users; this.encoder = encoder; this.jwt = jwt; this.tasks = tasks;
+    public AuthController(UserRepository users, PasswordHashingService hashing, JwtSecurity jwt, TaskService tasks,
+                          @Qualifier("appTaskExecutor") TaskExecutor afterHash) {
+        this.users = users; this.hashing = hashing; this.jwt = jwt; this.tasks = tasks; this.afterHash = afterHash;
     }
 
+    // Hashing runs on PasswordHashingService's pool; the request thread is released while it waits.
+    // Saving the user and signing the token continue on the app executor, so no hash worker waits on Mongo.
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@RequestBody Map<String,String> body) {
+    public CompletableFuture<ResponseEntity<?>> signup(@RequestBody Map<String,String> body) {
         String name = body.get("name");
         String email = body.get("email");
         String u = body.get("username");
         String p = body.get("password");
         if (name == null || email == null || u == null || p == null)
-            return ResponseEntity.badRequest().body("name/email/username/password required");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("name/email/username/password required"));
         if (users.findByUsername(u).isPresent())
-            return ResponseEntity.badRequest().body("username taken");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("username taken"));
 
-        User user = new User();
-        user.setName(name);
-        user.setEmail(email);
-        user.setUsername(u);
-        user.setPassword(encoder.encode(p));
-        user.setRoles(Set.of("USER"));
-        users.save(user);
-
-        String token = jwt.createToken(u, user.getRoles());
-        return ResponseEntity.ok(Map.of(
-            "token", token,
-            "roles", user.getRoles(),
-            "user", Map.of("name", user.getName(), "username", user.getUsername(), "email", user.getEmail())
-        ));
+        return hashing.encode(p).<ResponseEntity<?>>thenApplyAsync(hash -> {
+            User user = new User();
+            user.setName(name);
+            user.setEmail(email);
+            user.setUsername(u);
+            user.setPassword(hash);
+            user.setRoles(Set.of("USER"));
+            users.save(user);
+            return signedIn(user);
+        }, afterHash).exceptionally(AuthController::busy);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String,String> body) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody Map<String,String> body) {
         String u = body.get("username"), p = body.get("password");
         var user = users.findByUsername(u).orElse(null);
-        if (user == null || !encoder.matches(p, user.getPassword()))
-            return ResponseEntity.status(401).body("invalid credentials");
+        return hashing.verify(p, user == null ? null : user.getPassword()).<ResponseEntity<?>>thenApplyAsync(v -> {
+            if (!v.matches())
+                return ResponseEntity.status(401).body("invalid credentials");
+            if (v.upgradedHash() != null) {
+                user.setPassword(v.upgradedHash());
+                users.save(user);
+            }
+            return signedIn(user);
+        }, afterHash).exceptionally(AuthController::busy);
+    }
 
-        String token = jwt.createToken(u, user.getRoles());
+    private ResponseEntity<?> signedIn(User user) {
+        String token = jwt.createToken(user.getUsername(), user.getRoles());
         return ResponseEntity.ok(Map.of(
             "token", token,
             "roles", user.getRoles(),
             "user", Map.of("name", user.getName(), "username", user.getUsername(), "email", user.getEmail())
         ));
     }
+
+    /** A full hashing (or app executor) queue becomes 503 + Retry-After; anything else is rethrown as is. */
+    private static ResponseEntity<?> busy(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof RejectedExecutionException)
+            return ResponseEntity.status(503).header(HttpHeaders.RETRY_AFTER, "1").body("too many sign-ins, retry shortly");
+        if (cause instanceof RuntimeException re) throw re;
+        throw new CompletionException(cause);
+    }
 }
\ No newline at end of file
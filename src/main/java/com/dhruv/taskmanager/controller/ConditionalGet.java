@@ -0,0 +1,26 @@
+package com.dhruv.taskmanager.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * ETag handling shared by the read endpoints. Check before doing the work: on a match the handler
+ * returns {@code null} and the client gets an empty {@code 304}. Responses are marked
+ * {@code private, no-cache} (instead of Spring Security's {@code no-store}) so browsers keep them
+ * and revalidate with {@code If-None-Match}.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    static boolean notModified(ServletWebRequest request, String etag) {
+        if (request.getResponse() != null) request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return request.checkNotModified(etag);
+    }
+
+    /** The query string as part of the resource, so each filter or page has its own tag. */
+    static String resource(ServletWebRequest request, String name) {
+        String query = request.getRequest().getQueryString();
+        return query == null ? name : name + "?" + query;
+    }
+}
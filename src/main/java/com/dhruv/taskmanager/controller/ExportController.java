@@ -0,0 +1,100 @@
+package com.dhruv.taskmanager.controller;
+
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.repository.TaskSort;
+import com.dhruv.taskmanager.service.ExportService;
+import com.dhruv.taskmanager.service.ExportService.Format;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/** Streaming exports; {@code format} is {@code ndjson} (default) or {@code csv}. */
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private final ExportService export;
+    private final ObjectMapper json;
+
+    public ExportController(ExportService export, ObjectMapper json) {
+        this.export = export;
+        this.json = json;
+    }
+
+    /** Same filters and sort as {@code GET /api/tasks}, without paging. */
+    @GetMapping("/tasks")
+    public ResponseEntity<StreamingResponseBody> tasks(@RequestParam(required = false) String format,
+                                   @RequestParam(required = false) String sort,
+                                   @RequestParam(required = false) String status,
+                                   @RequestParam(required = false) String priority,
+                                   @RequestParam(required = false) String assignee,
+                                   @RequestParam(required = false) Instant dueFrom,
+                                   @RequestParam(required = false) Instant dueTo,
+                                   @RequestParam(required = false) String q,
+                                   Principal principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        String u = Objects.requireNonNull(principal.getName());
+        try {
+            Format f = Format.parse(format);
+            TaskSort s = TaskSort.parse(sort);
+            TaskFilter filter = export.scopeTasks(u, isAdmin(),
+                new TaskFilter(null, TaskStatus.from(status), TaskPriority.from(priority), assignee, dueFrom, dueTo, q));
+            StreamingResponseBody body = out -> export.writeTasks(filter, s, f, out);
+            return attachment("tasks", f, body);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex.getMessage());
+        }
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/audit")
+    public ResponseEntity<StreamingResponseBody> audit(@RequestParam(required = false) String format,
+                                   @RequestParam(required = false) Instant from,
+                                   @RequestParam(required = false) Instant to,
+                                   @RequestParam(required = false) String type,
+                                   @RequestParam(required = false) String actor,
+                                   @RequestParam(required = false) String taskId) {
+        try {
+            Format f = Format.parse(format);
+            if (from != null && to != null && !from.isBefore(to)) throw new IllegalArgumentException("from must be before to");
+            StreamingResponseBody body = out -> export.writeAudit(from, to, type, actor, taskId, f, out);
+            return attachment("audit-events", f, body);
+        } catch (IllegalArgumentException ex) {
+            return badRequest(ex.getMessage());
+        }
+    }
+
+    // the declared body type must stay StreamingResponseBody for MVC to stream it, so errors are written the same way
+    private ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        return ResponseEntity.badRequest()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(out -> json.writeValue(out, Map.of("error", message)));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> attachment(String name, Format f, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(f.contentType + "; charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + f.extension + "\"")
+            .body(body);
+    }
+
+    private boolean isAdmin() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null &&
+               auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+}
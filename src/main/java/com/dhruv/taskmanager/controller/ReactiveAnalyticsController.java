@@ -0,0 +1,46 @@
+package com.dhruv.taskmanager.controller;
+
+import java.security.Principal;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.service.ReactiveAnalyticsService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive {@code /api/analytics}, enabled with {@code app.reactive.enabled}. The admin check is done
+ * here rather than with {@code @PreAuthorize}, which expects a reactive security context for
+ * {@link Mono} results.
+ */
+@RestController
+@RequestMapping("/api/reactive/analytics")
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveAnalyticsController {
+
+    private final ReactiveAnalyticsService analytics;
+
+    public ReactiveAnalyticsController(ReactiveAnalyticsService analytics) {
+        this.analytics = analytics;
+    }
+
+    @GetMapping("/me")
+    public Mono<ResponseEntity<TaskAnalyticsDto>> me(Principal principal) {
+        if (principal == null) return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        return analytics.computeFor(Objects.requireNonNull(principal.getName())).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/admin")
+    public Mono<ResponseEntity<TaskAnalyticsDto>> admin() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        boolean admin = auth != null && auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+        if (!admin) return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        return analytics.computeFor(null).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,82 @@
+package com.dhruv.taskmanager.controller;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.service.ReactiveTaskQueryService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive reads of {@code /api/tasks}, enabled with {@code app.reactive.enabled}. The request thread
+ * is released while Mongo answers. Lists are one JSON array, or with {@code Accept: application/x-ndjson}
+ * are streamed one task per line as they arrive.
+ */
+@RestController
+@RequestMapping("/api/reactive/tasks")
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskQueryService query;
+
+    public ReactiveTaskController(ReactiveTaskQueryService query) {
+        this.query = query;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Task>>> list(Principal principal) {
+        return collected(stream(principal));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Task>> stream(Principal principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        return ResponseEntity.ok(query.list(Objects.requireNonNull(principal.getName()), isAdmin()));
+    }
+
+    @GetMapping("/overdue")
+    public Mono<ResponseEntity<List<Task>>> overdue(Principal principal) {
+        return collected(streamOverdue(principal));
+    }
+
+    @GetMapping(value = "/overdue", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Task>> streamOverdue(Principal principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        return ResponseEntity.ok(query.overdue(Objects.requireNonNull(principal.getName()), isAdmin()));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<?>> get(@PathVariable @NonNull String id, Principal principal) {
+        if (principal == null) return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        return query.get(id, Objects.requireNonNull(principal.getName()), isAdmin())
+            .<ResponseEntity<?>>map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build())
+            .onErrorResume(SecurityException.class,
+                se -> Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "forbidden"))));
+    }
+
+    // a Flux body is streamed whenever the client accepts NDJSON, */* included; plain GETs get one array
+    private static Mono<ResponseEntity<List<Task>>> collected(ResponseEntity<Flux<Task>> streamed) {
+        if (streamed.getBody() == null) return Mono.just(ResponseEntity.status(streamed.getStatusCode()).build());
+        return streamed.getBody().collectList().map(ResponseEntity::ok);
+    }
+
+    // read on the request thread, before the handler returns
+    private boolean isAdmin() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null &&
+               auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+}
@@ -8,35 +8,41 @@ import java.util.Objects;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.service.AnalyticsMaterializedView;
 import com.dhruv.taskmanager.service.AnalyticsService;
-import com.dhruv.taskmanager.service.TaskQueryService;
+import com.dhruv.taskmanager.service.TaskVersions;
 
 @RestController
 @RequestMapping("/api/stats")
 public class StatsController {
 
-    private final TaskQueryService query;
     private final AnalyticsService analytics;
+    private final AnalyticsMaterializedView view;
+    private final TaskVersions versions;
 
-    public StatsController(TaskQueryService query, AnalyticsService analytics) {
-        this.query = query;
+    public StatsController(AnalyticsService analytics, AnalyticsMaterializedView view, TaskVersions versions) {
         this.analytics = analytics;
+        this.view = view;
+        this.versions = versions;
     }
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin")
-    public ResponseEntity<?> admin() {
+    public ResponseEntity<?> admin(ServletWebRequest request) {
+        if (ConditionalGet.notModified(request, versions.clockedEtag(null, "stats/admin"))) return null;
         // Keep old response shape (non-breaking)
-        TaskAnalyticsDto dto = analytics.compute(query.list("admin", true));
+        TaskAnalyticsDto dto = view.snapshot(null).orElseGet(() -> analytics.computeFor(null));
         return ResponseEntity.ok(toLegacy(dto));
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> me(Principal principal) {
-        var tasks = query.list(Objects.requireNonNull(principal.getName()), false);
-        TaskAnalyticsDto dto = analytics.compute(tasks);
+    public ResponseEntity<?> me(Principal principal, ServletWebRequest request) {
+        String u = Objects.requireNonNull(principal.getName());
+        if (ConditionalGet.notModified(request, versions.clockedEtag(u, "stats/me"))) return null;
+        TaskAnalyticsDto dto = view.snapshot(u).orElseGet(() -> analytics.computeFor(u));
         return ResponseEntity.ok(toLegacy(dto));
     }
 
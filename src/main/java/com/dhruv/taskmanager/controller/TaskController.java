@@ -1,19 +1,33 @@
 package com.dhruv.taskmanager.controller;
 
 import java.security.Principal;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.TaskDtos.BulkOp;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
 import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.service.TaskBulkService;
 import com.dhruv.taskmanager.service.TaskCommandService;
+import com.dhruv.taskmanager.service.TaskDeltaService;
 import com.dhruv.taskmanager.service.TaskQueryService;
+import com.dhruv.taskmanager.service.TaskVersions;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -21,26 +35,107 @@ public class TaskController {
 
     private final TaskQueryService query;
     private final TaskCommandService command;
+    private final TaskBulkService bulk;
+    private final TaskDeltaService delta;
+    private final TaskVersions versions;
 
-    public TaskController(TaskQueryService query, TaskCommandService command) {
+    public TaskController(TaskQueryService query, TaskCommandService command, TaskBulkService bulk,
+                          TaskDeltaService delta, TaskVersions versions) {
         this.query = query;
         this.command = command;
+        this.bulk = bulk;
+        this.delta = delta;
+        this.versions = versions;
     }
 
+    /**
+     * Without query parameters this returns the full visible list as before. Any of
+     * limit/cursor/sort or a filter switches to a keyset page: {@code {items, nextCursor}}.
+     * Either way the response carries an ETag and {@code If-None-Match} gets a 304 while nothing changed.
+     */
     @GetMapping
-    public ResponseEntity<List<Task>> list(Principal principal) {
+    public ResponseEntity<?> list(@RequestParam(required = false) Integer limit,
+                                  @RequestParam(required = false) String cursor,
+                                  @RequestParam(required = false) String sort,
+                                  @RequestParam(required = false) String status,
+                                  @RequestParam(required = false) String priority,
+                                  @RequestParam(required = false) String assignee,
+                                  @RequestParam(required = false) Instant dueFrom,
+                                  @RequestParam(required = false) Instant dueTo,
+                                  @RequestParam(required = false) String q,
+                                  Principal principal, ServletWebRequest request) {
         if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         String u = Objects.requireNonNull(principal.getName());
-        return ResponseEntity.ok(query.list(u, isAdmin()));
+        if (ConditionalGet.notModified(request, versions.etag(scope(u), ConditionalGet.resource(request, "tasks")))) return null;
+        try {
+            TaskFilter filter = new TaskFilter(null, TaskStatus.from(status), TaskPriority.from(priority), assignee, dueFrom, dueTo, q);
+            if (limit == null && cursor == null && sort == null && filter.equals(new TaskFilter(null, null, null, null, null, null, null))) {
+                return ResponseEntity.ok(query.list(u, isAdmin()));
+            }
+            return ResponseEntity.ok(query.page(u, isAdmin(), filter, sort, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    /**
+     * What changed since a previous sync: {@code {changed, deleted, asOf, resync}}. Pass {@code asOf}
+     * back as the next {@code since}; {@code resync} means reload the full list instead.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> changes(@RequestParam Instant since, Principal principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        String u = Objects.requireNonNull(principal.getName());
+        try {
+            return ResponseEntity.ok(delta.since(u, isAdmin(), since));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    /**
+     * Open tasks past their due date, most overdue first: {@code {items, nextCursor, total}}. Pages
+     * and the total come from the status/dueDate indexes, so this stays cheap however many tasks exist.
+     */
+    @GetMapping("/overdue")
+    public ResponseEntity<?> overdue(@RequestParam(required = false) Integer limit,
+                                     @RequestParam(required = false) String cursor,
+                                     Principal principal, ServletWebRequest request) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        String u = Objects.requireNonNull(principal.getName());
+        if (ConditionalGet.notModified(request, versions.clockedEtag(scope(u), ConditionalGet.resource(request, "tasks/overdue")))) return null;
+        try {
+            return ResponseEntity.ok(query.overdue(u, isAdmin(), cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    /** Like {@link #overdue} for tasks due within {@code within} (ISO-8601 duration), soonest first. */
+    @GetMapping("/due-soon")
+    public ResponseEntity<?> dueSoon(@RequestParam(defaultValue = "P1D") Duration within,
+                                     @RequestParam(required = false) Integer limit,
+                                     @RequestParam(required = false) String cursor,
+                                     Principal principal, ServletWebRequest request) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        String u = Objects.requireNonNull(principal.getName());
+        if (ConditionalGet.notModified(request, versions.clockedEtag(scope(u), ConditionalGet.resource(request, "tasks/due-soon")))) return null;
+        try {
+            return ResponseEntity.ok(query.dueSoon(u, isAdmin(), within, cursor, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
     }
 
+    /** The ETag is the task version; send it back in {@code If-Match} when updating. */
     @GetMapping("/{id}")
-    public ResponseEntity<?> get(@PathVariable @NonNull String id, Principal principal) {
+    public ResponseEntity<?> get(@PathVariable @NonNull String id, Principal principal, ServletWebRequest request) {
         if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         String u = Objects.requireNonNull(principal.getName());
         try {
             Task t = query.get(id, u, isAdmin());
             if (t == null) return ResponseEntity.notFound().build();
+            if (ConditionalGet.notModified(request, versionTag(t))) return null;
             return ResponseEntity.ok(t);
         } catch (SecurityException se) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "forbidden"));
@@ -58,16 +153,56 @@ public class TaskController {
         }
     }
 
+    /** With {@code If-Match} the update only applies to that version; conflicts answer 409. */
     @PutMapping("/{id}")
-    public ResponseEntity<?> update(@PathVariable @NonNull String id, @RequestBody Task task, Principal principal) {
+    public ResponseEntity<?> update(@PathVariable @NonNull String id, @RequestBody Task task,
+                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                    Principal principal) {
         if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         String u = Objects.requireNonNull(principal.getName());
         try {
-            Task saved = command.update(id, task, u, isAdmin());
+            Task saved = command.update(id, task, u, isAdmin(), expectedVersion(ifMatch));
             if (saved == null) return ResponseEntity.notFound().build();
-            return ResponseEntity.ok(saved);
+            return ResponseEntity.ok().eTag(versionTag(saved)).body(saved);
         } catch (SecurityException se) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "forbidden"));
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    /**
+     * JSON Merge Patch: only the fields present are changed, {@code null} removes one. Writes just
+     * those fields; {@code If-Match} and 409 work as for PUT.
+     */
+    @PatchMapping(value = "/{id}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<?> patch(@PathVariable @NonNull String id, @RequestBody Map<String, Object> patch,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                   Principal principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        String u = Objects.requireNonNull(principal.getName());
+        try {
+            Task saved = command.patch(id, patch, u, isAdmin(), expectedVersion(ifMatch));
+            if (saved == null) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok().eTag(versionTag(saved)).body(saved);
+        } catch (SecurityException se) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", se.getMessage()));
+        } catch (OptimisticLockingFailureException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
+        }
+    }
+
+    /** Mixed create/update/delete; always 200 with a per-item status unless the request itself is invalid. */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@RequestBody List<BulkOp> ops, Principal principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        String u = Objects.requireNonNull(principal.getName());
+        try {
+            return ResponseEntity.ok(bulk.apply(ops, u, isAdmin()));
         } catch (IllegalArgumentException ex) {
             return ResponseEntity.badRequest().body(Map.of("error", ex.getMessage()));
         }
@@ -85,6 +220,29 @@ public class TaskController {
         }
     }
 
+    private static String versionTag(Task t) {
+        return "\"" + (t.getVersion() == null ? 0 : t.getVersion()) + "\"";
+    }
+
+    /** {@code null} (no header, or {@code *}) means any version. */
+    @Nullable
+    private static Long expectedVersion(@Nullable String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) return null;
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) tag = tag.substring(2);
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match must be the ETag of GET /api/tasks/{id}");
+        }
+    }
+
+    /** Admins see every task, so their tags follow the global stamp. */
+    private String scope(String user) {
+        return isAdmin() ? null : user;
+    }
+
     private boolean isAdmin() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
         return auth != null &&
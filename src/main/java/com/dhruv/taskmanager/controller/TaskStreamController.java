@@ -0,0 +1,45 @@
+package com.dhruv.taskmanager.controller;
+
+import java.security.Principal;
+import java.util.Objects;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dhruv.taskmanager.service.TaskChangeStream;
+
+@RestController
+@RequestMapping("/api/tasks/stream")
+public class TaskStreamController {
+
+    private final TaskChangeStream stream;
+
+    public TaskStreamController(TaskChangeStream stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Server-Sent Events: {@code task}, {@code deleted}, {@code ready} and {@code resync}, plus
+     * {@code analytics} with {@code ?analytics=true}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                                @RequestParam(defaultValue = "false") boolean analytics,
+                                                Principal principal) {
+        if (principal == null) return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        String u = Objects.requireNonNull(principal.getName());
+        return ResponseEntity.ok()
+            .header("X-Accel-Buffering", "no") // keep reverse proxies from buffering the stream
+            .body(stream.subscribe(u, isAdmin(), analytics, lastEventId));
+    }
+
+    private boolean isAdmin() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null &&
+               auth.getAuthorities().stream().anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+}
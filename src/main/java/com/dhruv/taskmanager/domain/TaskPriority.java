@@ -1,15 +1,25 @@
 package com.dhruv.taskmanager.domain;
 
+import java.util.Arrays;
 import java.util.Locale;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 public enum TaskPriority {
     LOW,
     MEDIUM,
     HIGH;
 
+    private static final TaskPriority[] VALUES = values();
+
+    /** Lenient parse, also for JSON input: any case and surrounding blanks. Null for blank input. */
+    @JsonCreator
     public static TaskPriority from(String raw) {
         if (raw == null || raw.isBlank()) return null;
-        return TaskPriority.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        for (TaskPriority p : VALUES) if (p.name().equalsIgnoreCase(raw)) return p;
+        String name = raw.trim().toUpperCase(Locale.ROOT);
+        for (TaskPriority p : VALUES) if (p.name().equals(name)) return p;
+        throw new IllegalArgumentException("priority must be one of " + Arrays.toString(VALUES));
     }
 
     public static TaskPriority max(TaskPriority a, TaskPriority b) {
@@ -17,4 +27,4 @@ public enum TaskPriority {
         if (b == null) return a;
         return a.ordinal() >= b.ordinal() ? a : b;
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,32 @@
 package com.dhruv.taskmanager.domain;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+
 public enum TaskStatus {
     OPEN,
     IN_PROGRESS,
     DONE;
 
+    /** Stored names of the statuses that are still open work, i.e. everything but {@code DONE}. */
+    public static final List<String> ACTIVE = List.of(OPEN.name(), IN_PROGRESS.name());
+
+    private static final TaskStatus[] VALUES = values();
+
+    /**
+     * Lenient parse used for JSON input as well: any case, surrounding blanks, and spaces or dashes
+     * for the underscore ({@code "in progress"}). Null for blank input; unknown names throw
+     * {@link IllegalArgumentException}.
+     */
+    @JsonCreator
     public static TaskStatus from(String raw) {
         if (raw == null || raw.isBlank()) return null;
-        return TaskStatus.valueOf(raw.trim().toUpperCase(Locale.ROOT));
+        for (TaskStatus s : VALUES) if (s.name().equalsIgnoreCase(raw)) return s; // the common case, no allocation
+        String name = raw.trim().replace(' ', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+        for (TaskStatus s : VALUES) if (s.name().equals(name)) return s;
+        throw new IllegalArgumentException("status must be one of " + Arrays.toString(VALUES));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,55 @@
+package com.dhruv.taskmanager.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.model.Task;
+
+public final class TaskDtos {
+    private TaskDtos() {}
+
+    /**
+     * Listing filters; {@code null} fields are not applied, nor is blank {@code text}. Otherwise every
+     * word of {@code text} (a run of letters or digits, case ignored) must start a word of the title,
+     * so {@code "quart rep"} finds "Quarterly report" but {@code "port"} does not; text without any
+     * letters or digits matches no task.
+     */
+    public record TaskFilter(String owner,
+                             TaskStatus status,
+                             TaskPriority priority,
+                             String assignee,
+                             Instant dueFrom,
+                             Instant dueTo,
+                             String text) {
+
+        public TaskFilter withOwner(String owner) {
+            return new TaskFilter(owner, status, priority, assignee, dueFrom, dueTo, text);
+        }
+    }
+
+    /** One page of a keyset-paginated listing; {@code nextCursor} is null on the last page. */
+    public record TaskPage(List<Task> items, String nextCursor) {}
+
+    /** A page of open tasks by due date, with how many match in all (counted, not loaded). */
+    public record DuePage(List<Task> items, String nextCursor, long total) {}
+
+    /** {@code op} is create, update or delete; update and delete need {@code id}, create and update need {@code task}. */
+    public record BulkOp(String op, String id, Task task) {}
+
+    /** Outcome of one bulk operation, with the status the single-task endpoint would have returned. */
+    public record BulkItemResult(int index, String id, int status, String error) {}
+
+    public record BulkResult(int succeeded, int failed, List<BulkItemResult> items) {}
+
+    /**
+     * Tasks changed and ids removed from the list since a sync; pass {@code asOf} as the next
+     * {@code since}. With {@code resync} the lists are empty and the client reloads the full list.
+     */
+    public record TaskDelta(List<Task> changed, List<String> deleted, Instant asOf, boolean resync) {
+        public static TaskDelta resync(Instant asOf) {
+            return new TaskDelta(List.of(), List.of(), asOf, true);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.dhruv.taskmanager.events;
+
+import java.util.List;
+
+import com.dhruv.taskmanager.model.OutboxEvent;
+
+/**
+ * Durable side effect of domain events, fed by the outbox relay, which keeps each consumer's progress
+ * apart. Delivery is at-least-once: {@link #accept} may see an event again after a crash or a retry, so
+ * implementations must be idempotent on {@link OutboxEvent#getId()}. Returning normally acknowledges
+ * the batch; throwing makes the relay retry it, event by event. {@link #name()} keys the progress and
+ * must not contain dots.
+ */
+public interface OutboxConsumer {
+
+    String name();
+
+    void accept(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,26 @@
+package com.dhruv.taskmanager.events;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Changes written together by one bulk chunk, published once instead of one event per task.
+ * In each change {@code before} is null for a create and {@code after} is null for a delete.
+ */
+public record TaskBatchEvent(String actor, List<Change> changes) {
+
+    public record Change(String taskId, TaskSnapshot before, TaskSnapshot after) {
+        public Change {
+            Objects.requireNonNull(taskId, "taskId");
+        }
+
+        public String type() {
+            return before == null ? "TASK_CREATED" : after == null ? "TASK_DELETED" : "TASK_UPDATED";
+        }
+    }
+
+    public TaskBatchEvent {
+        Objects.requireNonNull(actor, "actor");
+        changes = List.copyOf(changes);
+    }
+}
@@ -1,3 +1,3 @@
 package com.dhruv.taskmanager.events;
 
-public record TaskCreatedEvent(String taskId, String actor) {}
\ No newline at end of file
+public record TaskCreatedEvent(String taskId, String actor, TaskSnapshot after) {}
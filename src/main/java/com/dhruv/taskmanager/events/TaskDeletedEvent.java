@@ -2,9 +2,10 @@ package com.dhruv.taskmanager.events;
 
 import java.util.Objects;
 
-public record TaskDeletedEvent(String taskId, String actor) {
+/** {@code before} is null when the task did not exist. */
+public record TaskDeletedEvent(String taskId, String actor, TaskSnapshot before) {
     public TaskDeletedEvent {
         Objects.requireNonNull(taskId, "taskId");
         Objects.requireNonNull(actor, "actor");
     }
-}
\ No newline at end of file
+}
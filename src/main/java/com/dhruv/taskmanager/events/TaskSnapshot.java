@@ -0,0 +1,30 @@
+package com.dhruv.taskmanager.events;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import com.dhruv.taskmanager.model.Task;
+
+/** The task fields that derived views (analytics counters, caches) need to apply a change. */
+public record TaskSnapshot(String status,
+                           String priority,
+                           Instant dueDate,
+                           String owner,
+                           String assignee,
+                           Instant updatedAt) {
+
+    public static TaskSnapshot of(Task t) {
+        if (t == null) return null;
+        return new TaskSnapshot(name(t.getStatus()), name(t.getPriority()), millis(t.getDueDate()), t.getOwner(), t.getAssignee(),
+            millis(t.getUpdatedAt()));
+    }
+
+    private static String name(Enum<?> e) {
+        return e == null ? null : e.name();
+    }
+
+    // Mongo keeps millisecond precision; snapshots taken before and after a round trip must compare equal
+    private static Instant millis(Instant i) {
+        return i == null ? null : i.truncatedTo(ChronoUnit.MILLIS);
+    }
+}
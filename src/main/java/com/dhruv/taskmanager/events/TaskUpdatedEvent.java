@@ -1,12 +1,28 @@
 package com.dhruv.taskmanager.events;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
-public record TaskUpdatedEvent(String taskId, String actor, String fromStatus, String toStatus) {
+/**
+ * {@code changes} is the field-level diff: each field the update changed with its new value
+ * ({@code null} when removed). Empty when the publisher did not track it.
+ */
+public record TaskUpdatedEvent(String taskId, String actor, TaskSnapshot before, TaskSnapshot after,
+                               Map<String, Object> changes) {
     public TaskUpdatedEvent {
         Objects.requireNonNull(taskId, "taskId");
         Objects.requireNonNull(actor, "actor");
-        Objects.requireNonNull(fromStatus, "fromStatus");
-        Objects.requireNonNull(toStatus, "toStatus");
+        Objects.requireNonNull(before, "before");
+        Objects.requireNonNull(after, "after");
+        changes = changes == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(changes));
     }
-}
\ No newline at end of file
+
+    public TaskUpdatedEvent(String taskId, String actor, TaskSnapshot before, TaskSnapshot after) {
+        this(taskId, actor, before, after, Map.of());
+    }
+
+    public String fromStatus() { return before.status(); }
+    public String toStatus() { return after.status(); }
+}
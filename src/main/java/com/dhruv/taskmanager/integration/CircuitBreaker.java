@@ -0,0 +1,47 @@
+package com.dhruv.taskmanager.integration;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Per-endpoint breaker: opens after {@code threshold} consecutive failures, stays open for
+ * {@code openFor}, then lets one probe through (half-open); the probe's outcome closes or re-opens it.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int threshold;
+    private final Duration openFor;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private Instant openedAt;
+
+    CircuitBreaker(int threshold, Duration openFor) {
+        this.threshold = threshold;
+        this.openFor = openFor;
+    }
+
+    synchronized boolean allowRequest(Instant now) {
+        if (state == State.OPEN && !now.isBefore(openedAt.plus(openFor))) state = State.HALF_OPEN;
+        return state != State.OPEN;
+    }
+
+    synchronized void onSuccess() {
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    synchronized void onFailure(Instant now) {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= threshold) {
+            state = State.OPEN;
+            openedAt = now;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
@@ -0,0 +1,300 @@
+package com.dhruv.taskmanager.integration;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.model.WebhookDelivery;
+import com.dhruv.taskmanager.model.WebhookDelivery.Status;
+import com.dhruv.taskmanager.service.Bulkhead;
+import com.dhruv.taskmanager.service.Bulkheads;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Durable webhook delivery. Calls are written to the {@code webhook_outbox} collection first,
+ * then a poller claims due rows per endpoint and POSTs them on virtual threads through one
+ * pooled keep-alive {@link HttpClient}. With {@code batch-size > 1} several events share a POST
+ * as {@code {"events": [...]}}.
+ *
+ * <p>Failures (I/O, 408, 429, 5xx) retry with exponential backoff and full jitter up to
+ * {@code max-attempts}; other 4xx responses and exhausted rows go to {@code webhook_dead_letters}.
+ * Each endpoint has a {@link CircuitBreaker}, so a dead endpoint is not polled until it cools down.
+ * Concurrent POSTs are capped by the {@code webhook-http} {@link Bulkhead}; a send that finds it
+ * full leaves its rows leased, and they are picked up again once the lease runs out.
+ * The poller never waits for a send: an endpoint whose previous sends are still running is
+ * skipped until a later poll finds it idle.
+ * Each body carries the domain event {@code id} so receivers can drop duplicates after a retry.
+ */
+@Service
+public class WebhookDeliveryService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WebhookDeliveryService.class);
+
+    static final String DEAD_LETTERS = "webhook_dead_letters";
+
+    private final MongoTemplate mongo;
+    private final ObjectMapper json;
+    private final List<String> endpoints;
+    private final int batchSize;
+    private final int claimLimit;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Duration timeout;
+    private final int breakerThreshold;
+    private final Duration breakerOpenFor;
+
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient http;
+    private final Bulkhead inFlight;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> sending = new ConcurrentHashMap<>(); // unfinished sends per endpoint
+
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter dead;
+
+    public WebhookDeliveryService(MongoTemplate mongo, ObjectMapper json, MeterRegistry meters, Bulkheads bulkheads,
+                                  @Value("${app.webhook.url:}") String urls,
+                                  @Value("${app.webhook.batch-size:1}") int batchSize,
+                                  @Value("${app.webhook.claim-limit:200}") int claimLimit,
+                                  @Value("${app.webhook.max-attempts:10}") int maxAttempts,
+                                  @Value("${app.webhook.backoff-base:PT1S}") Duration backoffBase,
+                                  @Value("${app.webhook.backoff-max:PT10M}") Duration backoffMax,
+                                  @Value("${app.webhook.timeout:PT5S}") Duration timeout,
+                                  @Value("${app.webhook.breaker.failure-threshold:5}") int breakerThreshold,
+                                  @Value("${app.webhook.breaker.open-duration:PT30S}") Duration breakerOpenFor) {
+        this.mongo = mongo;
+        this.json = json;
+        this.endpoints = Arrays.stream(Objects.requireNonNullElse(urls, "").split(","))
+            .map(String::trim).filter(s -> !s.isEmpty()).distinct().toList();
+        this.batchSize = Math.max(1, batchSize);
+        this.claimLimit = claimLimit;
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.timeout = timeout;
+        this.breakerThreshold = breakerThreshold;
+        this.breakerOpenFor = breakerOpenFor;
+
+        this.http = HttpClient.newBuilder()
+            .executor(senders)
+            .connectTimeout(Duration.ofSeconds(3))
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+        this.inFlight = bulkheads.get("webhook-http");
+
+        this.delivered = meters.counter("webhook.delivered");
+        this.retried = meters.counter("webhook.retried");
+        this.dead = meters.counter("webhook.dead");
+    }
+
+    public boolean enabled() {
+        return !endpoints.isEmpty();
+    }
+
+    /**
+     * Persists one delivery per configured endpoint, keyed {@code <eventId>@<endpoint index>}; enqueueing
+     * the same event again is a no-op. Does nothing when no endpoint is configured.
+     */
+    public void enqueue(String eventId, String type, Map<String, Object> body) {
+        if (endpoints.isEmpty()) return;
+        Instant now = Instant.now();
+        Map<String, Object> withId = new LinkedHashMap<>();
+        withId.put("id", eventId);
+        withId.putAll(body);
+
+        List<WebhookDelivery> rows = new ArrayList<>(endpoints.size());
+        for (int i = 0; i < endpoints.size(); i++) {
+            String endpoint = endpoints.get(i);
+            WebhookDelivery d = new WebhookDelivery();
+            d.setId(eventId + "@" + i);
+            d.setEndpoint(endpoint);
+            d.setType(type);
+            d.setBody(withId);
+            d.setCreatedAt(now);
+            d.setStatus(Status.PENDING);
+            d.setNextAttemptAt(now);
+            rows.add(d);
+        }
+        try {
+            mongo.bulkOps(BulkMode.UNORDERED, WebhookDelivery.class).insert(rows).execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError err : ex.getErrors()) {
+                if (err.getCode() != 11000) throw ex;
+            }
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.webhook.poll-interval-ms:1000}", fixedDelayString = "${app.webhook.poll-interval-ms:1000}")
+    public void deliverDue() {
+        Instant now = Instant.now();
+        for (String endpoint : endpoints) {
+            AtomicInteger running = sending.computeIfAbsent(endpoint, e -> new AtomicInteger());
+            if (running.get() > 0) continue; // the previous poll's sends are still going
+            CircuitBreaker breaker = breakers.computeIfAbsent(endpoint, e -> new CircuitBreaker(breakerThreshold, breakerOpenFor));
+            if (!breaker.allowRequest(now)) continue;
+
+            // a half-open breaker gets a single probe batch
+            int limit = breaker.state() == CircuitBreaker.State.HALF_OPEN ? batchSize : claimLimit;
+            List<WebhookDelivery> claimed = claim(endpoint, limit, now);
+            for (int i = 0; i < claimed.size(); i += batchSize) {
+                List<WebhookDelivery> batch = claimed.subList(i, Math.min(i + batchSize, claimed.size()));
+                running.incrementAndGet();
+                senders.execute(() -> {
+                    try {
+                        inFlight.call(() -> {
+                            send(endpoint, breaker, batch);
+                            return null;
+                        });
+                    } catch (RejectedExecutionException ex) {
+                        log.debug("webhook send deferred: {}", ex.getMessage());
+                    } catch (Exception ex) {
+                        log.warn("webhook send failed unexpectedly: {}", ex.toString());
+                    } finally {
+                        running.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Leases up to {@code limit} due rows in three round trips whatever the limit: pick their ids,
+     * stamp the ones still due with this poll's token in one update, then read back what carries it.
+     * A row another replica leased in between fails the update's filter and is left to that replica.
+     */
+    private List<WebhookDelivery> claim(String endpoint, int limit, Instant now) {
+        Criteria due = Criteria.where("endpoint").is(endpoint).orOperator(
+            Criteria.where("status").is(Status.PENDING).and("nextAttemptAt").lte(now),
+            Criteria.where("status").is(Status.IN_FLIGHT).and("leaseUntil").lt(now));
+        Query pick = Query.query(due).with(Sort.by("nextAttemptAt")).limit(limit);
+        pick.fields().include("_id");
+        List<String> ids = ids(mongo.find(pick, WebhookDelivery.class));
+        if (ids.isEmpty()) return List.of();
+
+        String token = UUID.randomUUID().toString();
+        mongo.updateMulti(Query.query(Criteria.where("_id").in(ids)).addCriteria(due), new Update()
+            .set("status", Status.IN_FLIGHT)
+            .set("leaseUntil", now.plus(timeout.multipliedBy(3)))
+            .set("claimToken", token), WebhookDelivery.class);
+        return mongo.find(Query.query(Criteria.where("endpoint").is(endpoint).and("status").is(Status.IN_FLIGHT)
+            .and("claimToken").is(token)).with(Sort.by("nextAttemptAt")), WebhookDelivery.class);
+    }
+
+    private void send(String endpoint, CircuitBreaker breaker, List<WebhookDelivery> batch) {
+        String error;
+        boolean retryable = true;
+        try {
+            Object payload = batch.size() == 1 ? batch.get(0).getBody()
+                : Map.of("events", batch.stream().map(WebhookDelivery::getBody).toList());
+            HttpRequest req = HttpRequest.newBuilder(URI.create(endpoint))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(json.writeValueAsBytes(payload)))
+                .build();
+            int code = http.send(req, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (code / 100 == 2) {
+                breaker.onSuccess();
+                mongo.remove(Query.query(Criteria.where("_id").in(ids(batch))), WebhookDelivery.class);
+                delivered.increment(batch.size());
+                return;
+            }
+            error = "HTTP " + code;
+            retryable = code >= 500 || code == 408 || code == 429;
+        } catch (JsonProcessingException | IllegalArgumentException ex) {
+            error = "unsendable: " + ex.getMessage();
+            retryable = false;
+        } catch (IOException ex) {
+            error = ex.toString();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return; // the lease expires and another poll picks the rows up
+        }
+
+        Instant now = Instant.now();
+        if (retryable) breaker.onFailure(now); // a 4xx means the endpoint is up but rejects the payload
+        for (WebhookDelivery d : batch) {
+            int attempts = d.getAttempts() + 1;
+            if (!retryable || attempts >= maxAttempts) {
+                deadLetter(d, attempts, error, now);
+            } else {
+                mongo.updateFirst(Query.query(Criteria.where("_id").is(d.getId())), new Update()
+                    .set("status", Status.PENDING)
+                    .set("attempts", attempts)
+                    .set("lastError", error)
+                    .set("nextAttemptAt", now.plus(backoff(attempts)))
+                    .unset("leaseUntil")
+                    .unset("claimToken"), WebhookDelivery.class);
+                retried.increment();
+            }
+        }
+    }
+
+    private void deadLetter(WebhookDelivery d, int attempts, String error, Instant now) {
+        d.setAttempts(attempts);
+        d.setLastError(error);
+        d.setDeadAt(now);
+        d.setLeaseUntil(null);
+        d.setClaimToken(null);
+        mongo.save(d, DEAD_LETTERS);
+        mongo.remove(Query.query(Criteria.where("_id").is(d.getId())), WebhookDelivery.class);
+        dead.increment();
+        log.warn("webhook {} to {} dead-lettered after {} attempt(s): {}", d.getType(), d.getEndpoint(), attempts, error);
+    }
+
+    /** Full jitter: uniform in [0, min(max, base * 2^(attempts-1))]. */
+    Duration backoff(int attempts) {
+        long cap = Math.min(backoffMax.toMillis(), backoffBase.toMillis() << Math.min(attempts - 1, 30));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap + 1));
+    }
+
+    CircuitBreaker.State breakerState(String endpoint) {
+        CircuitBreaker b = breakers.get(endpoint);
+        return b == null ? CircuitBreaker.State.CLOSED : b.state();
+    }
+
+    /** Sends started by earlier polls that have not finished yet. */
+    int sending() {
+        return sending.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    private static List<String> ids(List<WebhookDelivery> batch) {
+        return batch.stream().map(WebhookDelivery::getId).toList();
+    }
+
+    @Override
+    public void destroy() {
+        senders.shutdown();
+    }
+}
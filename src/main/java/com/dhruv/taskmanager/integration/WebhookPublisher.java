@@ -1,74 +1,68 @@
 package com.dhruv.taskmanager.integration;
 
-import java.time.Duration;
-import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.event.EventListener;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
-import com.dhruv.taskmanager.events.TaskCreatedEvent;
-import com.dhruv.taskmanager.events.TaskDeletedEvent;
-import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.events.OutboxConsumer;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.model.OutboxEvent;
 
+/**
+ * Maps outbox events to webhook payloads and hands them to {@link WebhookDeliveryService}'s outbox.
+ * The delivery keeps the event id, so a redelivered event does not queue a second call.
+ */
 @Component
-public class WebhookPublisher {
+public class WebhookPublisher implements OutboxConsumer {
 
-    private final String url;
-    private final RestTemplate http;
+    private final WebhookDeliveryService delivery;
 
-    public WebhookPublisher(@Value("${app.webhook.url:}") String rawUrl) {
-        this.url = Objects.requireNonNullElse(rawUrl, "").trim();
-
-        SimpleClientHttpRequestFactory rf = new SimpleClientHttpRequestFactory();
-        rf.setConnectTimeout((int) Duration.ofSeconds(3).toMillis());
-        rf.setReadTimeout((int) Duration.ofSeconds(5).toMillis());
-
-        this.http = new RestTemplate(rf);
+    public WebhookPublisher(WebhookDeliveryService delivery) {
+        this.delivery = delivery;
     }
 
-    @Async
-    @EventListener
-    public void onCreated(TaskCreatedEvent e) {
-        post("TASK_CREATED", Map.of("taskId", e.taskId(), "actor", e.actor()));
+    @Override
+    public String name() {
+        return "webhook";
     }
 
-    @Async
-    @EventListener
-    public void onUpdated(TaskUpdatedEvent e) {
-        post("TASK_UPDATED", Map.of(
-            "taskId", e.taskId(),
-            "actor", e.actor(),
-            "from", e.fromStatus(),
-            "to", e.toStatus()
-        ));
+    @Override
+    public void accept(List<OutboxEvent> events) {
+        if (!delivery.enabled()) return; // optional integration
+        for (OutboxEvent e : events) {
+            Map<String, Object> body = Map.of(
+                "type", e.getType(),
+                "at", e.getAt().toString(),
+                "payload", payload(e)
+            );
+            delivery.enqueue(e.getId(), e.getType(), body);
+        }
     }
 
-    @Async
-    @EventListener
-    public void onDeleted(TaskDeletedEvent e) {
-        post("TASK_DELETED", Map.of("taskId", e.taskId(), "actor", e.actor()));
+    /** Bulk chunks become one TASKS_BATCH call; items carry the same fields as the single-task payloads. */
+    static Map<String, Object> payload(OutboxEvent e) {
+        if (OutboxEvent.BATCH.equals(e.getType())) {
+            List<Map<String, Object>> items = e.getChanges().stream().map(c -> {
+                Map<String, Object> item = fields(c);
+                item.put("type", c.type());
+                return item;
+            }).toList();
+            return Map.of("actor", e.getActor(), "items", items);
+        }
+        Map<String, Object> payload = fields(e.getChanges().get(0));
+        payload.put("actor", e.getActor());
+        return payload;
     }
 
-    private void post(String type, Map<String, Object> payload) {
-        if (url.isBlank()) return; // optional integration
-
-        Map<String, Object> body = Map.of(
-            "type", type,
-            "at", Instant.now().toString(),
-            "payload", payload
-        );
-
-        try {
-            final String webhookUrl = java.util.Objects.requireNonNull(this.url, "webhook url");
-            http.postForEntity(webhookUrl, body, Void.class);
-        } catch (Exception ignored) {
-            // integration must never break core flows
+    private static Map<String, Object> fields(Change c) {
+        Map<String, Object> m = new HashMap<>();
+        m.put("taskId", c.taskId());
+        if (c.before() != null && c.after() != null) {
+            m.put("from", c.before().status());
+            m.put("to", c.after().status());
         }
+        return m;
     }
-}
\ No newline at end of file
+}
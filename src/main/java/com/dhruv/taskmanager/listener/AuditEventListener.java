@@ -1,51 +1,68 @@
 package com.dhruv.taskmanager.listener;
 
-import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
-import com.dhruv.taskmanager.events.TaskCreatedEvent;
-import com.dhruv.taskmanager.events.TaskDeletedEvent;
-import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.events.OutboxConsumer;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
 import com.dhruv.taskmanager.model.AuditEvent;
-import com.dhruv.taskmanager.repository.AuditEventRepository;
+import com.dhruv.taskmanager.model.OutboxEvent;
 
+/**
+ * Turns outbox events into audit rows through {@link AuditLogWriter}. A row's id is
+ * {@code <event id>:<change index>}, so a redelivered event maps onto rows that already exist.
+ */
 @Component
-public class AuditEventListener {
+public class AuditEventListener implements OutboxConsumer {
 
-    private final AuditEventRepository repo;
+    static final long ACK_TIMEOUT_SECONDS = 30;
 
-    public AuditEventListener(AuditEventRepository repo) {
-        this.repo = repo;
-    }
+    private final AuditLogWriter writer;
 
-    @Async
-    @EventListener
-    public void onCreated(TaskCreatedEvent e) {
-        save("TASK_CREATED", e.actor(), e.taskId(), "created");
+    public AuditEventListener(AuditLogWriter writer) {
+        this.writer = writer;
     }
 
-    @Async
-    @EventListener
-    public void onUpdated(TaskUpdatedEvent e) {
-        save("TASK_UPDATED", e.actor(), e.taskId(), e.fromStatus() + " -> " + e.toStatus());
+    @Override
+    public String name() {
+        return "audit";
     }
 
-    @Async
-    @EventListener
-    public void onDeleted(TaskDeletedEvent e) {
-        save("TASK_DELETED", e.actor(), e.taskId(), "deleted");
+    /**
+     * Acknowledges only once every row is stored, so the relay retries anything the writer dropped.
+     * The relay waits on this, so the writer is told to flush rather than wait for a full batch.
+     */
+    @Override
+    public void accept(List<OutboxEvent> events) throws Exception {
+        List<CompletableFuture<Boolean>> pending = new ArrayList<>();
+        for (OutboxEvent e : events) {
+            List<Change> changes = e.getChanges();
+            for (int i = 0; i < changes.size(); i++) {
+                pending.add(writer.append(row(e, i, changes.get(i))));
+            }
+        }
+        writer.flushNow();
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).get(ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        long lost = pending.stream().filter(f -> !f.join()).count();
+        if (lost > 0) throw new IllegalStateException(lost + " audit row(s) were not written");
     }
 
-    private void save(String type, String actor, String taskId, String details) {
+    static AuditEvent row(OutboxEvent e, int index, Change c) {
         AuditEvent a = new AuditEvent();
-        a.setAt(Instant.now());
-        a.setType(type);
-        a.setActor(actor);
-        a.setTaskId(taskId);
-        a.setDetails(details);
-        repo.save(a);
+        a.setId(e.getId() + ":" + index);
+        a.setAt(e.getAt());
+        a.setType(c.type());
+        a.setActor(e.getActor());
+        a.setTaskId(c.taskId());
+        a.setDetails(switch (c.type()) {
+            case "TASK_CREATED" -> "created";
+            case "TASK_DELETED" -> "deleted";
+            default -> c.before().status() + " -> " + c.after().status();
+        });
+        return a;
     }
-}
\ No newline at end of file
+}
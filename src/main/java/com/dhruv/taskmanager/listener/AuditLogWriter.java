@@ -0,0 +1,210 @@
+package com.dhruv.taskmanager.listener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.dhruv.taskmanager.model.AuditEvent;
+import com.dhruv.taskmanager.repository.AuditEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Buffers audit rows in a bounded ring and writes them from one dedicated thread with
+ * {@code insertMany}, flushing when {@code batch-size} rows are waiting, {@code flush-interval}
+ * has passed, or a caller waiting on its rows asks for it with {@link #flushNow()}. When the ring is full the {@code overflow} policy applies:
+ * <ul>
+ *   <li>{@code block}: the producer waits up to {@code offer-timeout} for space, then the row is dropped;</li>
+ *   <li>{@code caller-runs}: the producer writes the row itself;</li>
+ *   <li>{@code drop}: the row is dropped immediately.</li>
+ * </ul>
+ * The returned future completes with {@code true} once the row is stored (or already existed: rows
+ * with the same id are skipped, so replays are harmless) and {@code false} if it was dropped.
+ * On shutdown the ring is drained before the Mongo client goes away. Metrics:
+ * {@code audit.queue.depth}, {@code audit.flush}, {@code audit.written}, {@code audit.dropped}, {@code audit.failed}.
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    enum Overflow { BLOCK, CALLER_RUNS, DROP }
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private record Pending(AuditEvent event, CompletableFuture<Boolean> done) {}
+
+    private final AuditEventRepository repo;
+    private final MpscRingBuffer<Pending> ring;
+    private final int batchSize;
+    private final long flushNanos;
+    private final Overflow overflow;
+    private final long offerTimeoutNanos;
+    private final Duration drainTimeout;
+
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private volatile boolean flushRequested;
+    private volatile Thread writer;
+
+    public AuditLogWriter(AuditEventRepository repo, MeterRegistry meters,
+                          @Value("${app.audit.buffer-capacity:8192}") int capacity,
+                          @Value("${app.audit.batch-size:500}") int batchSize,
+                          @Value("${app.audit.flush-interval:PT1S}") Duration flushInterval,
+                          @Value("${app.audit.overflow:block}") String overflow,
+                          @Value("${app.audit.offer-timeout:PT0.5S}") Duration offerTimeout,
+                          @Value("${app.audit.drain-timeout:PT10S}") Duration drainTimeout) {
+        this.repo = repo;
+        this.ring = new MpscRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.flushNanos = flushInterval.toNanos();
+        this.overflow = Overflow.valueOf(overflow.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.drainTimeout = drainTimeout;
+
+        Gauge.builder("audit.queue.depth", ring, MpscRingBuffer::size).register(meters);
+        this.flushTimer = Timer.builder("audit.flush").publishPercentiles(0.5, 0.99).register(meters);
+        this.written = meters.counter("audit.written");
+        this.dropped = meters.counter("audit.dropped");
+        this.failed = meters.counter("audit.failed");
+    }
+
+    public CompletableFuture<Boolean> append(AuditEvent e) {
+        Pending p = new Pending(e, new CompletableFuture<>());
+        if (!running) { // before start or after shutdown: nothing would drain the ring
+            write(List.of(p));
+            return p.done();
+        }
+        if (ring.offer(p)) {
+            if (ring.size() >= batchSize) LockSupport.unpark(writer);
+            return p.done();
+        }
+        switch (overflow) {
+            case DROP -> drop(p);
+            case CALLER_RUNS -> write(List.of(p));
+            case BLOCK -> {
+                long deadline = System.nanoTime() + offerTimeoutNanos;
+                LockSupport.unpark(writer);
+                while (!ring.offer(p)) {
+                    if (System.nanoTime() - deadline > 0) {
+                        drop(p);
+                        break;
+                    }
+                    LockSupport.parkNanos(100_000);
+                }
+            }
+        }
+        return p.done();
+    }
+
+    /** Writes what is buffered without waiting for a full batch or the interval, e.g. when the caller blocks on the acks. */
+    public void flushNow() {
+        flushRequested = true;
+        LockSupport.unpark(writer);
+    }
+
+    private void drop(Pending p) {
+        dropped.increment();
+        p.done().complete(false);
+    }
+
+    int depth() {
+        return ring.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        Thread t = new Thread(this::runLoop, "audit-writer");
+        t.setDaemon(true);
+        writer = t;
+        t.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        Thread t = writer;
+        LockSupport.unpark(t);
+        try {
+            t.join(drainTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (t.isAlive()) {
+            log.warn("audit writer did not drain within {}; {} row(s) left", drainTimeout, ring.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        long lastFlush = System.nanoTime();
+        boolean urgent = false; // a flushNow() is pending: write until the ring is empty
+        while (running || ring.size() > 0) {
+            if (flushRequested) { // cleared before draining, so rows appended before the request are in this drain
+                flushRequested = false;
+                urgent = true;
+            }
+            ring.drainTo(batch, batchSize - batch.size());
+            long now = System.nanoTime();
+            long due = flushNanos - (now - lastFlush);
+            boolean full = batch.size() >= batchSize;
+            if (full || (!batch.isEmpty() && (due <= 0 || urgent || !running))) {
+                write(batch);
+                batch.clear();
+                lastFlush = now;
+                if (!full) urgent = false;
+            } else if (running) {
+                urgent = false;
+                LockSupport.parkNanos(this, batch.isEmpty() ? flushNanos : due);
+            }
+        }
+        if (!batch.isEmpty()) write(batch);
+    }
+
+    private void write(List<Pending> batch) {
+        List<AuditEvent> rows = batch.stream().map(Pending::event).toList();
+        for (int attempt = 1; ; attempt++) {
+            long started = System.nanoTime();
+            try {
+                int inserted = repo.insertIgnoringDuplicates(rows);
+                flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                written.increment(inserted);
+                batch.forEach(p -> p.done().complete(true));
+                return;
+            } catch (RuntimeException ex) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    failed.increment(batch.size());
+                    batch.forEach(p -> p.done().complete(false));
+                    log.error("dropping {} audit row(s) after {} attempts: {}", batch.size(), attempt, ex.getMessage());
+                    return;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(100L << attempt));
+            }
+        }
+    }
+}
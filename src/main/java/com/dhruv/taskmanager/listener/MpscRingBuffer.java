@@ -0,0 +1,81 @@
+package com.dhruv.taskmanager.listener;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer / single-consumer queue (Vyukov's sequenced ring).
+ * Producers claim a slot with one CAS on the tail; each slot's sequence number says whether
+ * it is free for the producer lap or filled for the consumer lap. {@link #poll} and
+ * {@link #drainTo} must only be called from one thread.
+ */
+final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("capacity must be at least 2");
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+    }
+
+    /** @return false when full */
+    boolean offer(E e) {
+        long pos = tail.get();
+        while (true) {
+            int i = (int) (pos & mask);
+            long diff = sequences.get(i) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    slots.lazySet(i, e);
+                    sequences.set(i, pos + 1); // publishes the element
+                    return true;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false; // the consumer has not freed this slot yet
+            } else {
+                pos = tail.get(); // another producer took it
+            }
+        }
+    }
+
+    E poll() {
+        long pos = head;
+        int i = (int) (pos & mask);
+        if (sequences.get(i) != pos + 1) return null;
+        E e = slots.get(i);
+        slots.lazySet(i, null);
+        sequences.set(i, pos + mask + 1); // free for the next lap
+        head = pos + 1;
+        return e;
+    }
+
+    int drainTo(Collection<? super E> sink, int max) {
+        int n = 0;
+        E e;
+        while (n < max && (e = poll()) != null) {
+            sink.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    int size() {
+        long n = tail.get() - head;
+        return (int) Math.max(0, Math.min(n, capacity()));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
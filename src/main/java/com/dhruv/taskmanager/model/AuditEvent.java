@@ -3,9 +3,17 @@ package com.dhruv.taskmanager.model;
 import java.time.Instant;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document("audit_events")
+@CompoundIndexes({
+    // exports stream oldest first by (at, _id): a range or full scan reads the index in order
+    @CompoundIndex(name = "at_id", def = "{'at': 1, '_id': 1}"),
+    // one task's history
+    @CompoundIndex(name = "task_at", def = "{'taskId': 1, 'at': 1, '_id': 1}")
+})
 public class AuditEvent {
     @Id
     private String id;
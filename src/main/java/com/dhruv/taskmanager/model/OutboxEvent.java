@@ -0,0 +1,88 @@
+package com.dhruv.taskmanager.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+
+/**
+ * A domain event written together with the task change it describes. The id is an ObjectId
+ * (so ids sort in write order) and doubles as the idempotency key consumers dedupe on.
+ * Each consumer's progress is kept under {@code consumers.<name>}; the event counts as dispatched,
+ * and expires a week later, once every consumer has accepted it or given up on it ({@code deadAt}).
+ */
+@Document("domain_outbox")
+@CompoundIndex(name = "pending", def = "{'dispatchedAt': 1, '_id': 1}")
+public class OutboxEvent {
+
+    public static final String BATCH = "TASKS_BATCH";
+
+    @Id private String id;
+    private String type;    // TASK_CREATED, TASK_UPDATED, TASK_DELETED or TASKS_BATCH
+    private String actor;
+    private String origin;  // ClusterNode that wrote it
+    private Instant at;
+    private List<Change> changes;
+    @Indexed(name = "dispatched_ttl", expireAfter = "7d")
+    private Instant dispatchedAt;
+    private Map<String, Delivery> consumers; // by OutboxConsumer name, absent until it was tried
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getActor() { return actor; }
+    public void setActor(String actor) { this.actor = actor; }
+
+    public String getOrigin() { return origin; }
+    public void setOrigin(String origin) { this.origin = origin; }
+
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+
+    public List<Change> getChanges() { return changes; }
+    public void setChanges(List<Change> changes) { this.changes = changes; }
+
+    public Instant getDispatchedAt() { return dispatchedAt; }
+    public void setDispatchedAt(Instant dispatchedAt) { this.dispatchedAt = dispatchedAt; }
+
+    public Map<String, Delivery> getConsumers() { return consumers; }
+    public void setConsumers(Map<String, Delivery> consumers) { this.consumers = consumers; }
+
+    /** {@code consumer}'s progress, or null when it has not been tried yet. */
+    public Delivery delivery(String consumer) {
+        return consumers == null ? null : consumers.get(consumer);
+    }
+
+    /** One consumer's progress on the event. */
+    public static class Delivery {
+        private Instant at;            // accepted, or given up on
+        private int attempts;          // failed attempts
+        private String lastError;
+        private Instant nextAttemptAt; // null until the first failure
+        private Instant deadAt;
+
+        public Instant getAt() { return at; }
+        public void setAt(Instant at) { this.at = at; }
+
+        public int getAttempts() { return attempts; }
+        public void setAttempts(int attempts) { this.attempts = attempts; }
+
+        public String getLastError() { return lastError; }
+        public void setLastError(String lastError) { this.lastError = lastError; }
+
+        public Instant getNextAttemptAt() { return nextAttemptAt; }
+        public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+        public Instant getDeadAt() { return deadAt; }
+        public void setDeadAt(Instant deadAt) { this.deadAt = deadAt; }
+    }
+}
@@ -0,0 +1,26 @@
+package com.dhruv.taskmanager.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/** A named lease; expired leases can be taken over and are eventually removed by the TTL index. */
+@Document("scheduler_locks")
+public class SchedulerLock {
+
+    @Id private String id;      // lock name
+    private String owner;       // ClusterNode id
+    @Indexed(name = "lease_ttl", expireAfter = "0s")
+    private Instant lockedUntil;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public Instant getLockedUntil() { return lockedUntil; }
+    public void setLockedUntil(Instant lockedUntil) { this.lockedUntil = lockedUntil; }
+}
@@ -1,16 +1,47 @@
 package com.dhruv.taskmanager.model;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+
 @Document("tasks")
+@CompoundIndexes({
+    // keyset listing: equality filters first, then the sort key and the _id tie-breaker. Other
+    // combinations use the equality prefix of one of these and sort one owner's/assignee's tasks in memory.
+    @CompoundIndex(name = "owner_updated", def = "{'owner': 1, 'updatedAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "assignee_status_updated", def = "{'assignee': 1, 'status': 1, 'updatedAt': -1, '_id': -1}"),
+    // admin listings across all owners and delta sync: the sort alone has to come from an index
+    @CompoundIndex(name = "updated", def = "{'updatedAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "created", def = "{'createdAt': -1, '_id': -1}"),
+    @CompoundIndex(name = "due", def = "{'dueDate': 1, '_id': 1}"),
+    // overdue / due soon: open statuses with a dueDate bound, read in dueDate order and counted on the index
+    @CompoundIndex(name = "status_due", def = "{'status': 1, 'dueDate': 1, '_id': 1}"),
+    @CompoundIndex(name = "owner_status_due", def = "{'owner': 1, 'status': 1, 'dueDate': 1, '_id': 1}"),
+    // escalation scans: one priority, open statuses, a dueDate range
+    @CompoundIndex(name = "priority_status_due", def = "{'priority': 1, 'status': 1, 'dueDate': 1, '_id': 1}"),
+    // title search (q): anchored prefixes of the title's words, so a search reads only the tasks it matches
+    @CompoundIndex(name = "title_words", def = "{'titleWords': 1}")
+})
 public class Task {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
     @Id private String id;
     private String title;
+    private List<String> titleWords; // lower-cased words of title, kept by setTitle; not part of the API
     private String description;
-    private String status;   // OPEN, IN_PROGRESS, DONE
-    private String priority; // LOW, MEDIUM, HIGH
+    private TaskStatus status;     // stored by name, see TaskEnumConverters
+    private TaskPriority priority;
     private Instant dueDate;
     private String assignee;
     private String owner;    // username who created
@@ -19,20 +50,26 @@ public class Task {
     private Instant createdAt;
     private Instant updatedAt;
 
+    // bumped by every write; updates compare-and-set on it. null on documents written before it existed
+    @Version private Long version;
+
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
 
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) {
+        this.title = title;
+        this.titleWords = title == null ? null : titleWords(title);
+    }
 
     public String getDescription() { return description; }
     public void setDescription(String description) { this.description = description; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
 
-    public String getPriority() { return priority; }
-    public void setPriority(String priority) { this.priority = priority; }
+    public TaskPriority getPriority() { return priority; }
+    public void setPriority(TaskPriority priority) { this.priority = priority; }
 
     public Instant getDueDate() { return dueDate; }
     public void setDueDate(Instant dueDate) { this.dueDate = dueDate; }
@@ -48,4 +85,12 @@ public class Task {
 
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
-}
\ No newline at end of file
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    /** Distinct lower-cased runs of letters and digits, in order: what title search matches against. */
+    public static List<String> titleWords(String text) {
+        return Arrays.stream(NON_WORD.split(text.toLowerCase(Locale.ROOT))).filter(w -> !w.isEmpty()).distinct().toList();
+    }
+}
@@ -0,0 +1,45 @@
+package com.dhruv.taskmanager.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Records that a task left {@code owner}'s list: it was deleted ({@code gone}) or reassigned to
+ * someone else. Delta syncs read these to report removals; they expire after 30 days.
+ */
+@Document("task_tombstones")
+@CompoundIndexes({
+    @CompoundIndex(name = "owner_at", def = "{'owner': 1, 'at': 1}"),
+    @CompoundIndex(name = "gone_at", def = "{'gone': 1, 'at': 1}")
+})
+public class TaskTombstone {
+
+    public static final String RETENTION = "30d";
+
+    @Id private String id;
+    private String taskId;
+    private String owner;     // owner before the change
+    private boolean gone;     // deleted, rather than reassigned
+    @Indexed(name = "tombstone_ttl", expireAfter = RETENTION)
+    private Instant at;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTaskId() { return taskId; }
+    public void setTaskId(String taskId) { this.taskId = taskId; }
+
+    public String getOwner() { return owner; }
+    public void setOwner(String owner) { this.owner = owner; }
+
+    public boolean isGone() { return gone; }
+    public void setGone(boolean gone) { this.gone = gone; }
+
+    public Instant getAt() { return at; }
+    public void setAt(Instant at) { this.at = at; }
+}
@@ -0,0 +1,65 @@
+package com.dhruv.taskmanager.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/** One pending webhook call for one endpoint. Moved to {@code webhook_dead_letters} when it gives up. */
+@Document("webhook_outbox")
+@CompoundIndex(name = "endpoint_due", def = "{'endpoint': 1, 'status': 1, 'nextAttemptAt': 1}")
+public class WebhookDelivery {
+
+    public enum Status { PENDING, IN_FLIGHT }
+
+    @Id private String id;
+    private String endpoint;
+    private String type;
+    private Map<String, Object> body;
+    private Instant createdAt;
+    private Status status;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private Instant leaseUntil; // IN_FLIGHT rows past this are reclaimed (sender died mid-call)
+    private String claimToken; // set by the poll that leased the row
+    private String lastError;
+    private Instant deadAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Map<String, Object> getBody() { return body; }
+    public void setBody(Map<String, Object> body) { this.body = body; }
+
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public Instant getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(Instant nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public Instant getLeaseUntil() { return leaseUntil; }
+    public void setLeaseUntil(Instant leaseUntil) { this.leaseUntil = leaseUntil; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public Instant getDeadAt() { return deadAt; }
+    public void setDeadAt(Instant deadAt) { this.deadAt = deadAt; }
+}
@@ -4,5 +4,5 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import com.dhruv.taskmanager.model.AuditEvent;
 
-public interface AuditEventRepository extends MongoRepository<AuditEvent, String> {
+public interface AuditEventRepository extends MongoRepository<AuditEvent, String>, AuditEventRepositoryCustom {
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.dhruv.taskmanager.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.lang.Nullable;
+
+import com.dhruv.taskmanager.model.AuditEvent;
+
+public interface AuditEventRepositoryCustom {
+
+    /** Events in {@code [from, to)} oldest first, as a server-side cursor; null bounds/filters are not applied. */
+    Stream<AuditEvent> streamMatching(@Nullable Instant from, @Nullable Instant to,
+                                      @Nullable String type, @Nullable String actor, @Nullable String taskId);
+
+    /** Unordered {@code insertMany} that skips rows whose id already exists; returns how many were new. */
+    int insertIgnoringDuplicates(List<AuditEvent> rows);
+}
@@ -0,0 +1,59 @@
+package com.dhruv.taskmanager.repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
+
+import com.dhruv.taskmanager.model.AuditEvent;
+import com.mongodb.bulk.BulkWriteError;
+
+class AuditEventRepositoryImpl implements AuditEventRepositoryCustom {
+
+    private final MongoTemplate mongo;
+
+    AuditEventRepositoryImpl(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    @Override
+    public Stream<AuditEvent> streamMatching(@Nullable Instant from, @Nullable Instant to,
+                                             @Nullable String type, @Nullable String actor, @Nullable String taskId) {
+        List<Criteria> and = new ArrayList<>();
+        if (from != null || to != null) {
+            Criteria at = Criteria.where("at");
+            if (from != null) at = at.gte(from);
+            if (to != null) at = at.lt(to);
+            and.add(at);
+        }
+        if (type != null) and.add(Criteria.where("type").is(type));
+        if (actor != null) and.add(Criteria.where("actor").is(actor));
+        if (taskId != null) and.add(Criteria.where("taskId").is(taskId));
+
+        Query q = new Query();
+        if (!and.isEmpty()) q.addCriteria(new Criteria().andOperator(and));
+        q.with(Sort.by(Sort.Direction.ASC, "at", "_id")).cursorBatchSize(TaskRepositoryImpl.STREAM_BATCH_SIZE);
+        return mongo.stream(q, AuditEvent.class);
+    }
+
+    @Override
+    public int insertIgnoringDuplicates(List<AuditEvent> rows) {
+        if (rows.isEmpty()) return 0;
+        try {
+            return mongo.bulkOps(BulkMode.UNORDERED, AuditEvent.class).insert(rows).execute().getInsertedCount();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError err : ex.getErrors()) {
+                if (err.getCode() != 11000) throw ex;
+            }
+            return ex.getResult().getInsertedCount();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.dhruv.taskmanager.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import com.dhruv.taskmanager.model.Task;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, String> {
+    Flux<Task> findByOwner(String owner);
+
+    // overdue: served in dueDate order by the status_due / owner_status_due indexes
+    Flux<Task> findByStatusInAndDueDateBeforeOrderByDueDateAscIdAsc(Collection<String> statuses, Instant before);
+    Flux<Task> findByOwnerAndStatusInAndDueDateBeforeOrderByDueDateAscIdAsc(String owner, Collection<String> statuses, Instant before);
+}
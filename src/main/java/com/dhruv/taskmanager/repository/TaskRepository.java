@@ -4,6 +4,6 @@ import java.util.List;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import com.dhruv.taskmanager.model.Task;
 
-public interface TaskRepository extends MongoRepository<Task, String> {
+public interface TaskRepository extends MongoRepository<Task, String>, TaskRepositoryCustom {
     List<Task> findByOwner(String owner);
 }
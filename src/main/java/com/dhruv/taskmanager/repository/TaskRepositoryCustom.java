@@ -0,0 +1,48 @@
+package com.dhruv.taskmanager.repository;
+
+import java.time.Instant;
+import java.util.stream.Stream;
+
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
+
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskPage;
+import com.dhruv.taskmanager.model.Task;
+
+public interface TaskRepositoryCustom {
+
+    /**
+     * Keyset page: filters, sort and limit run in Mongo and the cursor carries the
+     * last (sort value, id) seen, so every page costs an index seek, not a skip.
+     */
+    TaskPage findPage(TaskFilter filter, TaskSort sort, @Nullable String cursor, int limit);
+
+    /**
+     * Keyset page of the tasks not yet DONE with a dueDate in {@code [from, to)}, soonest first;
+     * {@code owner} null means every owner. Served by the status/dueDate indexes.
+     */
+    TaskPage findOpenDue(@Nullable String owner, @Nullable Instant from, Instant to, @Nullable String cursor, int limit);
+
+    /** How many tasks {@link #findOpenDue} pages through; counted server-side without loading them. */
+    long countOpenDue(@Nullable String owner, @Nullable Instant from, Instant to);
+
+    /** All matches as a server-side cursor; the caller must close the stream. */
+    Stream<Task> streamMatching(TaskFilter filter, TaskSort sort);
+
+    /**
+     * Replaces the task only while its stored version is still {@code expected} ({@code null} for
+     * documents written before versions existed) and bumps the version; returns the stored task,
+     * or null when another write got there first.
+     */
+    @Nullable
+    Task replaceIfVersion(Task task, @Nullable Long expected);
+
+    /** Like {@link #replaceIfVersion} for a targeted update of some fields; the version is bumped here. */
+    @Nullable
+    Task updateIfVersion(String id, @Nullable Long expected, Update update);
+
+    /** Deletes the task and returns the document that was removed, or null when there was none. */
+    @Nullable
+    Task removeById(String id);
+}
@@ -0,0 +1,171 @@
+package com.dhruv.taskmanager.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
+
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskPage;
+import com.dhruv.taskmanager.model.Task;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private final MongoTemplate mongo;
+
+    TaskRepositoryImpl(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    static final int STREAM_BATCH_SIZE = 500;
+
+    @Override
+    public TaskPage findPage(TaskFilter filter, TaskSort sort, @Nullable String cursor, int limit) {
+        return page(criteria(filter), sort, cursor, limit);
+    }
+
+    @Override
+    public TaskPage findOpenDue(@Nullable String owner, @Nullable Instant from, Instant to, @Nullable String cursor, int limit) {
+        return page(openDue(owner, from, to), TaskSort.DUE_ASC, cursor, limit);
+    }
+
+    @Override
+    public long countOpenDue(@Nullable String owner, @Nullable Instant from, Instant to) {
+        return mongo.count(Query.query(new Criteria().andOperator(openDue(owner, from, to))), Task.class);
+    }
+
+    private TaskPage page(List<Criteria> and, TaskSort sort, @Nullable String cursor, int limit) {
+        if (cursor != null) and.add(after(sort, Cursor.decode(cursor, sort)));
+
+        Query q = new Query();
+        if (!and.isEmpty()) q.addCriteria(new Criteria().andOperator(and));
+        q.with(Sort.by(sort.direction, sort.field, "_id")).limit(limit + 1);
+
+        List<Task> rows = mongo.find(q, Task.class);
+        if (rows.size() <= limit) return new TaskPage(rows, null);
+        List<Task> page = rows.subList(0, limit);
+        Task last = page.get(limit - 1);
+        return new TaskPage(List.copyOf(page), new Cursor(sort, sort.value.apply(last), last.getId()).encode());
+    }
+
+    @Override
+    public Stream<Task> streamMatching(TaskFilter filter, TaskSort sort) {
+        List<Criteria> and = criteria(filter);
+        Query q = new Query();
+        if (!and.isEmpty()) q.addCriteria(new Criteria().andOperator(and));
+        q.with(Sort.by(sort.direction, sort.field, "_id")).cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongo.stream(q, Task.class);
+    }
+
+    @Override
+    @Nullable
+    public Task replaceIfVersion(Task task, @Nullable Long expected) {
+        task.setVersion(expected == null ? 1 : expected + 1);
+        Query q = Query.query(Criteria.where("_id").is(task.getId()).and("version").is(expected));
+        return mongo.findAndReplace(q, task, FindAndReplaceOptions.options().returnNew());
+    }
+
+    @Override
+    @Nullable
+    public Task updateIfVersion(String id, @Nullable Long expected, Update update) {
+        if (update.modifies("title")) {
+            Document set = update.getUpdateObject().get("$set", Document.class);
+            if (set != null && set.get("title") instanceof String title) update.set("titleWords", Task.titleWords(title));
+            else update.unset("titleWords");
+        }
+        Query q = Query.query(Criteria.where("_id").is(id).and("version").is(expected));
+        return mongo.findAndModify(q, update.inc("version", 1), FindAndModifyOptions.options().returnNew(true), Task.class);
+    }
+
+    @Override
+    @Nullable
+    public Task removeById(String id) {
+        return mongo.findAndRemove(Query.query(Criteria.where("_id").is(id)), Task.class);
+    }
+
+    // $in rather than $ne DONE: point intervals on status let the index return dueDate order
+    private static List<Criteria> openDue(@Nullable String owner, @Nullable Instant from, Instant to) {
+        List<Criteria> and = new ArrayList<>();
+        if (owner != null) and.add(Criteria.where("owner").is(owner));
+        and.add(Criteria.where("status").in(TaskStatus.ACTIVE));
+        Criteria due = Criteria.where("dueDate").lt(to); // type bracketing: missing/null dueDates never match
+        if (from != null) due = due.gte(from);
+        and.add(due);
+        return and;
+    }
+
+    private static List<Criteria> criteria(TaskFilter filter) {
+        List<Criteria> and = new ArrayList<>();
+        if (filter.owner() != null) and.add(Criteria.where("owner").is(filter.owner()));
+        if (filter.status() != null) and.add(Criteria.where("status").is(filter.status().name()));
+        if (filter.priority() != null) and.add(Criteria.where("priority").is(filter.priority().name()));
+        if (filter.assignee() != null) and.add(Criteria.where("assignee").is(filter.assignee()));
+        if (filter.dueFrom() != null || filter.dueTo() != null) {
+            Criteria due = Criteria.where("dueDate");
+            if (filter.dueFrom() != null) due = due.gte(filter.dueFrom());
+            if (filter.dueTo() != null) due = due.lt(filter.dueTo());
+            and.add(due);
+        }
+        if (filter.text() != null && !filter.text().isBlank()) {
+            // every word of q starts a word of the title; letters and digits only, so a plain anchored prefix
+            List<String> words = Task.titleWords(filter.text());
+            if (words.isEmpty()) and.add(Criteria.where("_id").in(List.of())); // only punctuation: no title can match
+            for (String word : words) and.add(Criteria.where("titleWords").regex("^" + word));
+        }
+        return and;
+    }
+
+    /**
+     * Rows strictly after (value, id) in sort order. Missing/null values sort
+     * first ascending and last descending, as Mongo orders them.
+     */
+    private static Criteria after(TaskSort sort, Cursor c) {
+        boolean asc = sort.direction == Sort.Direction.ASC;
+        Criteria idAfter = asc ? Criteria.where("_id").gt(c.id()) : Criteria.where("_id").lt(c.id());
+        Criteria sameValue = Criteria.where(sort.field).is(c.value());
+        if (c.value() == null) {
+            return asc
+                ? new Criteria().orOperator(new Criteria().andOperator(sameValue, idAfter), Criteria.where(sort.field).ne(null))
+                : new Criteria().andOperator(sameValue, idAfter);
+        }
+        Criteria beyond = asc ? Criteria.where(sort.field).gt(c.value()) : Criteria.where(sort.field).lt(c.value());
+        List<Criteria> or = new ArrayList<>(List.of(beyond, new Criteria().andOperator(sameValue, idAfter)));
+        if (!asc) or.add(Criteria.where(sort.field).is(null));
+        return new Criteria().orOperator(or);
+    }
+
+    /** Opaque position: {@code sort|epochMillis|id}, base64url. */
+    record Cursor(TaskSort sort, @Nullable Instant value, String id) {
+
+        String encode() {
+            String raw = sort.name() + "|" + (value == null ? "" : value.toEpochMilli()) + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String s, TaskSort expected) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(s), StandardCharsets.UTF_8).split("\\|", 3);
+                if (parts.length != 3 || !expected.name().equals(parts[0]) || parts[2].isEmpty()) {
+                    throw new IllegalArgumentException("cursor does not match this sort");
+                }
+                Instant v = parts[1].isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(parts[1]));
+                return new Cursor(expected, v, parts[2]);
+            } catch (IllegalArgumentException ex) { // also covers bad base64 and NumberFormatException
+                throw new IllegalArgumentException("invalid cursor");
+            }
+        }
+    }
+}
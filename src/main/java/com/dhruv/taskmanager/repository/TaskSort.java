@@ -0,0 +1,40 @@
+package com.dhruv.taskmanager.repository;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+
+import com.dhruv.taskmanager.model.Task;
+
+/** Sort orders supported by keyset listing. Ties are broken on {@code _id} in the same direction. */
+public enum TaskSort {
+    UPDATED_DESC("updatedAt", Sort.Direction.DESC, Task::getUpdatedAt),
+    UPDATED_ASC("updatedAt", Sort.Direction.ASC, Task::getUpdatedAt),
+    CREATED_DESC("createdAt", Sort.Direction.DESC, Task::getCreatedAt),
+    CREATED_ASC("createdAt", Sort.Direction.ASC, Task::getCreatedAt),
+    DUE_ASC("dueDate", Sort.Direction.ASC, Task::getDueDate),
+    DUE_DESC("dueDate", Sort.Direction.DESC, Task::getDueDate);
+
+    final String field;
+    final Sort.Direction direction;
+    final Function<Task, Instant> value;
+
+    TaskSort(String field, Sort.Direction direction, Function<Task, Instant> value) {
+        this.field = field;
+        this.direction = direction;
+        this.value = value;
+    }
+
+    /** Parses {@code field} (ascending) or {@code -field} (descending); null means {@code -updatedAt}. */
+    public static TaskSort parse(String s) {
+        if (s == null || s.isBlank()) return UPDATED_DESC;
+        String v = s.trim();
+        boolean desc = v.startsWith("-");
+        String f = desc ? v.substring(1) : v;
+        for (TaskSort ts : values()) {
+            if (ts.field.equals(f) && (ts.direction == Sort.Direction.DESC) == desc) return ts;
+        }
+        throw new IllegalArgumentException("sort must be one of updatedAt, createdAt, dueDate (prefix - for descending)");
+    }
+}
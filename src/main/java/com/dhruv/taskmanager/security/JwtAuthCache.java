@@ -0,0 +1,101 @@
+package com.dhruv.taskmanager.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Verified tokens, keyed by the SHA-256 of the token so raw tokens are not kept in memory.
+ * A token is parsed and its signature checked once; the resulting {@link Authentication} is
+ * reused until the token's {@code exp}. Invalid tokens are never cached. Metrics are published
+ * as {@code cache.*{cache=jwt}}.
+ */
+@Component
+public class JwtAuthCache {
+
+    private record Entry(Authentication auth, long expiresAtMillis) {}
+
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private final JwtSecurity jwt;
+    private final Cache<String, Entry> cache;
+
+    public JwtAuthCache(JwtSecurity jwt, MeterRegistry meters,
+                        @Value("${app.jwt.cache.max-entries:10000}") long maxEntries) {
+        this.jwt = jwt;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String key, Entry e, long currentTime) {
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, e.expiresAtMillis() - System.currentTimeMillis()));
+                }
+
+                @Override
+                public long expireAfterUpdate(String key, Entry e, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String key, Entry e, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "jwt");
+    }
+
+    /** The authentication for a valid token; throws {@link JwtException} (or a runtime error) otherwise. */
+    public Authentication authenticate(String token) {
+        String key = digest(token);
+        Entry hit = cache.getIfPresent(key);
+        if (hit != null && hit.expiresAtMillis() > System.currentTimeMillis()) return hit.auth();
+
+        Claims c = jwt.parse(token);
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) c.get("roles");
+        Authentication auth = new UsernamePasswordAuthenticationToken(c.getSubject(), null, authorities(roles));
+        if (c.getExpiration() != null) cache.put(key, new Entry(auth, c.getExpiration().getTime()));
+        return auth;
+    }
+
+    static List<GrantedAuthority> authorities(List<String> roles) {
+        return roles.stream().map(r -> AUTHORITIES.computeIfAbsent(r, n -> new SimpleGrantedAuthority("ROLE_" + n))).toList();
+    }
+
+    long size() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] d = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(d);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE ships SHA-256
+        }
+    }
+}
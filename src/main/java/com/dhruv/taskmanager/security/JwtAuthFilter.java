@@ -1,24 +1,19 @@
 package com.dhruv.taskmanager.security;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.lang.NonNull;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import io.jsonwebtoken.Claims;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
-    private final JwtSecurity jwt;
-    public JwtAuthFilter(JwtSecurity jwt) { this.jwt = jwt; }
+    private final JwtAuthCache tokens;
+    public JwtAuthFilter(JwtAuthCache tokens) { this.tokens = tokens; }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest req,
@@ -28,13 +23,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String h = req.getHeader("Authorization");
         if (h != null && h.startsWith("Bearer ")) {
             try {
-                Claims c = jwt.parse(h.substring(7));
-                String user = c.getSubject();
-                @SuppressWarnings("unchecked")
-                List<String> roles = (List<String>) c.get("roles");
-                var auth = new UsernamePasswordAuthenticationToken(
-                    user, null, roles.stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r)).collect(Collectors.toList()));
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                SecurityContextHolder.getContext().setAuthentication(tokens.authenticate(h.substring(7)));
             } catch (Exception ignored) { }
         }
         chain.doFilter(req, res);
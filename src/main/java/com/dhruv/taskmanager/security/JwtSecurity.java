@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -18,6 +19,7 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtSecurity {
     private final SecretKey key;
+    private final JwtParser parser; // immutable and thread-safe, so built once
     private final long expMillis;
 
     public JwtSecurity(@Value("${app.jwt.secret}") String secret,
@@ -29,6 +31,7 @@ public class JwtSecurity {
         } catch (Exception e) {
             throw new IllegalStateException("Failed to initialize JWT key", e);
         }
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
         this.expMillis = expMin * 60_000;
     }
 
@@ -44,7 +47,6 @@ public class JwtSecurity {
     }
 
     public Claims parse(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build()
-            .parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 }
\ No newline at end of file
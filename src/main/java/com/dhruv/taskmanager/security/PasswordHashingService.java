@@ -0,0 +1,104 @@
+package com.dhruv.taskmanager.security;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs password hashing on its own small pool so a burst of logins cannot take every core from
+ * ordinary API requests. The pool has {@code threads} workers and a queue of {@code queue}; work
+ * beyond that is refused at once with a {@link RejectedExecutionException} (the controller answers
+ * 503) instead of piling up behind the hashes already waiting.
+ *
+ * <p>Unknown users are checked against a dummy hash of the current algorithm and cost, so a login
+ * costs the same whether or not the username exists. With {@code upgrade-on-login}, a successful
+ * login whose stored hash is older than the configured encoding gets a fresh hash in the same task.
+ *
+ * <p>Metrics: {@code auth.hash.queue} (wait before a worker picks the hash up), {@code auth.hash}
+ * (hashing time), {@code auth.hash.rejected} and {@code auth.hash.pending}.
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+    /** Outcome of a login check; {@code upgradedHash} is set when the stored hash should be replaced. */
+    public record Verification(boolean matches, @Nullable String upgradedHash) {}
+
+    private final PasswordEncoder encoder;
+    private final boolean upgradeOnLogin;
+    private final String dummyHash;
+    private final ThreadPoolExecutor pool;
+
+    private final Timer queued;
+    private final Timer hashing;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder encoder, MeterRegistry meters,
+                                  @Value("${app.auth.hash.threads:0}") int threads,
+                                  @Value("${app.auth.hash.queue:64}") int queue,
+                                  @Value("${app.auth.hash.upgrade-on-login:false}") boolean upgradeOnLogin) {
+        this.encoder = encoder;
+        this.upgradeOnLogin = upgradeOnLogin;
+        this.dummyHash = encoder.encode(UUID.randomUUID().toString());
+
+        int workers = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queue), r -> {
+            Thread t = new Thread(r, "password-hash-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.queued = Timer.builder("auth.hash.queue").publishPercentiles(0.5, 0.99).register(meters);
+        this.hashing = Timer.builder("auth.hash").publishPercentiles(0.5, 0.99).register(meters);
+        this.rejected = meters.counter("auth.hash.rejected");
+        Gauge.builder("auth.hash.pending", pool, p -> p.getQueue().size()).register(meters);
+    }
+
+    /** Checks {@code raw} against {@code encoded}, or against the dummy hash when there is no such user. */
+    public CompletableFuture<Verification> verify(@Nullable String raw, @Nullable String encoded) {
+        String password = raw == null ? "" : raw;
+        return submit(() -> {
+            boolean ok = encoder.matches(password, encoded == null ? dummyHash : encoded) && encoded != null;
+            String upgraded = ok && upgradeOnLogin && encoder.upgradeEncoding(encoded) ? encoder.encode(password) : null;
+            return new Verification(ok, upgraded);
+        });
+    }
+
+    public CompletableFuture<String> encode(String raw) {
+        return submit(() -> encoder.encode(raw));
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        long enqueued = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                queued.record(System.nanoTime() - enqueued, TimeUnit.NANOSECONDS);
+                return hashing.record(work);
+            }, pool);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+}
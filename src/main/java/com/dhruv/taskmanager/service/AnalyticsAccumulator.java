@@ -0,0 +1,243 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TrendDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.UserProductivityDto;
+import com.dhruv.taskmanager.model.Task;
+
+/**
+ * One-pass analytics over a task list. Counters are primitive arrays indexed by
+ * {@link TaskStatus}/{@link TaskPriority} ordinal, the weekly trend is bucketed by
+ * epoch day and per-user counters live in an open-addressing table.
+ * Accumulators are mergeable, so large lists are reduced in parallel on the common
+ * fork-join pool. Not thread-safe; each fork works on its own instance.
+ */
+public final class AnalyticsAccumulator {
+
+    static final int WEEKS = 8;
+    static final int PARALLEL_THRESHOLD = 50_000;
+
+    private static final int STATUSES = TaskStatus.values().length;
+    private static final int PRIORITIES = TaskPriority.values().length;
+    private static final int DONE = TaskStatus.DONE.ordinal();
+
+    private final Instant now;
+    private final long firstWeekEpochDay;
+    private final ZoneRules zone;
+
+    private long total;
+    private long overdue;
+    private final long[] status = new long[STATUSES];
+    private final long[] priority = new long[PRIORITIES];
+    private final long[] weekly = new long[WEEKS * STATUSES]; // [week * STATUSES + status]
+    private final UserCounters owners = new UserCounters();
+    private final UserCounters assignees = new UserCounters();
+
+    public AnalyticsAccumulator(Instant now, ZoneId zone) {
+        this.now = now;
+        this.zone = zone.getRules();
+        LocalDate today = LocalDate.ofInstant(now, zone);
+        this.firstWeekEpochDay = today.minusWeeks(WEEKS - 1).with(DayOfWeek.MONDAY).toEpochDay();
+    }
+
+    private AnalyticsAccumulator(AnalyticsAccumulator template) {
+        this.now = template.now;
+        this.firstWeekEpochDay = template.firstWeekEpochDay;
+        this.zone = template.zone;
+    }
+
+    public static TaskAnalyticsDto compute(List<Task> tasks, Instant now, ZoneId zone) {
+        AnalyticsAccumulator seed = new AnalyticsAccumulator(now, zone);
+        if (tasks.size() < PARALLEL_THRESHOLD) {
+            for (Task t : tasks) seed.add(t);
+            return seed.toDto();
+        }
+        return tasks.parallelStream()
+            .collect(() -> new AnalyticsAccumulator(seed), AnalyticsAccumulator::add, AnalyticsAccumulator::merge)
+            .toDto();
+    }
+
+    public void add(Task t) {
+        int st = t.getStatus() == null ? -1 : t.getStatus().ordinal();
+        int pr = t.getPriority() == null ? -1 : t.getPriority().ordinal();
+        Instant due = t.getDueDate();
+
+        total++;
+        if (st >= 0) status[st]++;
+        if (pr >= 0) priority[pr]++;
+
+        boolean done = st == DONE;
+        boolean late = false;
+        if (due != null) {
+            late = !done && due.isBefore(now);
+            if (st >= 0) {
+                long week = Math.floorDiv(localEpochDay(due, zone) - firstWeekEpochDay, 7L);
+                if (week >= 0 && week < WEEKS) weekly[(int) week * STATUSES + st]++;
+            }
+        }
+        if (late) overdue++;
+
+        owners.add(String.valueOf(t.getOwner()), done, late);
+        assignees.add(AnalyticsService.assigneeKey(t.getAssignee()), done, late);
+    }
+
+    public void merge(AnalyticsAccumulator other) {
+        total += other.total;
+        overdue += other.overdue;
+        for (int i = 0; i < status.length; i++) status[i] += other.status[i];
+        for (int i = 0; i < priority.length; i++) priority[i] += other.priority[i];
+        for (int i = 0; i < weekly.length; i++) weekly[i] += other.weekly[i];
+        owners.merge(other.owners);
+        assignees.merge(other.assignees);
+    }
+
+    public TaskAnalyticsDto toDto() {
+        long done = status[DONE];
+        Map<String, Long> distribution = Map.of(
+            "OPEN", status[TaskStatus.OPEN.ordinal()],
+            "IN_PROGRESS", status[TaskStatus.IN_PROGRESS.ordinal()],
+            "DONE", done
+        );
+        Map<String, Long> priorities = Map.of(
+            "LOW", priority[TaskPriority.LOW.ordinal()],
+            "MEDIUM", priority[TaskPriority.MEDIUM.ordinal()],
+            "HIGH", priority[TaskPriority.HIGH.ordinal()]
+        );
+
+        List<String> labels = new ArrayList<>(WEEKS);
+        Long[] open = new Long[WEEKS];
+        Long[] inProgress = new Long[WEEKS];
+        Long[] doneByWeek = new Long[WEEKS];
+        for (int w = 0; w < WEEKS; w++) {
+            labels.add(LocalDate.ofEpochDay(firstWeekEpochDay + 7L * w).toString());
+            open[w] = weekly[w * STATUSES + TaskStatus.OPEN.ordinal()];
+            inProgress[w] = weekly[w * STATUSES + TaskStatus.IN_PROGRESS.ordinal()];
+            doneByWeek[w] = weekly[w * STATUSES + DONE];
+        }
+        TrendDto trend = new TrendDto(labels, Arrays.asList(open), Arrays.asList(inProgress), Arrays.asList(doneByWeek));
+
+        double completionRate = total == 0 ? 0.0 : (double) done / (double) total;
+        return new TaskAnalyticsDto(total, done, total - done, overdue, completionRate,
+            distribution, priorities, trend, owners.toDtos(), assignees.toDtos());
+    }
+
+    static long localEpochDay(Instant instant, ZoneRules zone) {
+        return Math.floorDiv(instant.getEpochSecond() + zone.getOffset(instant).getTotalSeconds(), 86_400L);
+    }
+
+    /** Epoch day of the Monday starting the (local) week that contains {@code instant}. */
+    static long weekStartEpochDay(Instant instant, ZoneRules zone) {
+        long day = localEpochDay(instant, zone);
+        return day - Math.floorMod(day + 3, 7L); // epoch day 0 was a Thursday
+    }
+
+    // snapshots carry the stored names; exact, case-sensitive match
+    static int statusIndex(String s) {
+        if (s == null) return -1;
+        return switch (s) {
+            case "OPEN" -> TaskStatus.OPEN.ordinal();
+            case "IN_PROGRESS" -> TaskStatus.IN_PROGRESS.ordinal();
+            case "DONE" -> TaskStatus.DONE.ordinal();
+            default -> -1;
+        };
+    }
+
+    static int priorityIndex(String p) {
+        if (p == null) return -1;
+        return switch (p) {
+            case "LOW" -> TaskPriority.LOW.ordinal();
+            case "MEDIUM" -> TaskPriority.MEDIUM.ordinal();
+            case "HIGH" -> TaskPriority.HIGH.ordinal();
+            default -> -1;
+        };
+    }
+
+    /** Linear-probing String -> (total, done, overdue) table. */
+    static final class UserCounters {
+        private String[] keys = new String[16];
+        private long[] counts = new long[16 * 3];
+        private int size;
+
+        void add(String key, boolean done, boolean late) {
+            int slot = slot(key);
+            int base = slot * 3;
+            counts[base]++;
+            if (done) counts[base + 1]++;
+            if (late) counts[base + 2]++;
+        }
+
+        void merge(UserCounters other) {
+            for (int i = 0; i < other.keys.length; i++) {
+                String k = other.keys[i];
+                if (k == null) continue;
+                int base = slot(k) * 3;
+                counts[base] += other.counts[i * 3];
+                counts[base + 1] += other.counts[i * 3 + 1];
+                counts[base + 2] += other.counts[i * 3 + 2];
+            }
+        }
+
+        List<UserProductivityDto> toDtos() {
+            List<UserProductivityDto> out = new ArrayList<>(size);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    out.add(new UserProductivityDto(keys[i], counts[i * 3], counts[i * 3 + 1], counts[i * 3 + 2]));
+                }
+            }
+            out.sort(AnalyticsService.PRODUCTIVITY_ORDER);
+            return out;
+        }
+
+        private int slot(String key) {
+            int mask = keys.length - 1;
+            int i = mix(key.hashCode()) & mask;
+            while (true) {
+                String k = keys[i];
+                if (k == null) {
+                    if ((size + 1) * 2 > keys.length) {
+                        grow();
+                        return slot(key);
+                    }
+                    keys[i] = key;
+                    size++;
+                    return i;
+                }
+                if (k.equals(key)) return i;
+                i = (i + 1) & mask;
+            }
+        }
+
+        private void grow() {
+            String[] oldKeys = keys;
+            long[] oldCounts = counts;
+            keys = new String[oldKeys.length * 2];
+            counts = new long[keys.length * 3];
+            int mask = keys.length - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                String k = oldKeys[j];
+                if (k == null) continue;
+                int i = mix(k.hashCode()) & mask;
+                while (keys[i] != null) i = (i + 1) & mask;
+                keys[i] = k;
+                System.arraycopy(oldCounts, j * 3, counts, i * 3, 3);
+            }
+        }
+
+        private static int mix(int h) {
+            h *= 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
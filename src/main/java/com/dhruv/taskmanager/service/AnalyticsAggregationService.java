@@ -0,0 +1,186 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TrendDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.UserProductivityDto;
+import com.dhruv.taskmanager.model.Task;
+
+/**
+ * Computes {@link TaskAnalyticsDto} inside MongoDB with a single {@code $facet} pipeline,
+ * so only the aggregated counters travel over the wire.
+ * Mirrors the semantics of {@link AnalyticsService#compute(List, Instant)}.
+ */
+@Service
+public class AnalyticsAggregationService {
+
+    private final MongoTemplate mongo;
+
+    public AnalyticsAggregationService(MongoTemplate mongo) {
+        this.mongo = mongo;
+    }
+
+    /** The {@code $facet} pipeline plus what is needed to read its single result document. */
+    record Plan(List<Document> pipeline, List<LocalDate> weekStarts, List<Date> boundaries) {}
+
+    /** @param owner restrict to tasks of this owner, or {@code null} for all tasks */
+    public TaskAnalyticsDto compute(@Nullable String owner, Instant now) {
+        Plan plan = plan(owner, now);
+        Document result = mongo.getCollection(mongo.getCollectionName(Task.class))
+            .aggregate(plan.pipeline())
+            .allowDiskUse(true)
+            .first();
+        return read(plan, result);
+    }
+
+    static Plan plan(@Nullable String owner, Instant now) {
+        ZoneId zone = ZoneId.systemDefault();
+        List<LocalDate> weekStarts = AnalyticsService.weekStarts(LocalDate.ofInstant(now, zone));
+        List<Date> boundaries = new ArrayList<>(weekStarts.size() + 1);
+        for (LocalDate wk : weekStarts) boundaries.add(Date.from(wk.atStartOfDay(zone).toInstant()));
+        boundaries.add(Date.from(weekStarts.get(weekStarts.size() - 1).plusWeeks(1).atStartOfDay(zone).toInstant()));
+
+        Date nowDate = Date.from(now);
+        Document overdueExpr = new Document("$and", List.of(
+            new Document("$ne", List.of("$status", "DONE")),
+            new Document("$gt", Arrays.asList("$dueDate", null)),
+            new Document("$lt", List.of("$dueDate", nowDate))
+        ));
+
+        Document facets = new Document()
+            .append("total", List.of(new Document("$count", "n")))
+            .append("status", List.of(new Document("$group", new Document("_id", "$status").append("n", sum1()))))
+            .append("priority", List.of(new Document("$group", new Document("_id", "$priority").append("n", sum1()))))
+            .append("overdue", List.of(
+                new Document("$match", new Document("status", new Document("$ne", "DONE"))
+                    .append("dueDate", new Document("$lt", nowDate))),
+                new Document("$count", "n")))
+            .append("weekly", List.of(
+                new Document("$match", new Document("dueDate", new Document("$gte", boundaries.get(0))
+                    .append("$lt", boundaries.get(boundaries.size() - 1)))),
+                new Document("$bucket", new Document("groupBy", "$dueDate")
+                    .append("boundaries", boundaries)
+                    .append("output", new Document()
+                        .append("open", sumIf(statusIs("OPEN")))
+                        .append("inProgress", sumIf(statusIs("IN_PROGRESS")))
+                        .append("done", sumIf(statusIs("DONE")))))))
+            .append("byOwner", List.of(productivityGroup("$owner", overdueExpr)))
+            .append("byAssignee", List.of(productivityGroup("$assignee", overdueExpr)));
+
+        List<Document> pipeline = new ArrayList<>();
+        if (owner != null) pipeline.add(new Document("$match", new Document("owner", owner)));
+        pipeline.add(new Document("$facet", facets));
+        return new Plan(pipeline, weekStarts, boundaries);
+    }
+
+    static TaskAnalyticsDto read(Plan plan, @Nullable Document result) {
+        if (result == null) result = new Document();
+
+        long total = firstCount(result, "total");
+        Map<Object, Long> byStatus = counts(result, "status");
+        Map<Object, Long> byPriority = counts(result, "priority");
+        long done = byStatus.getOrDefault("DONE", 0L);
+        long overdue = firstCount(result, "overdue");
+
+        Map<String, Long> distribution = Map.of(
+            "OPEN", byStatus.getOrDefault("OPEN", 0L),
+            "IN_PROGRESS", byStatus.getOrDefault("IN_PROGRESS", 0L),
+            "DONE", done
+        );
+        Map<String, Long> priorities = Map.of(
+            "LOW", byPriority.getOrDefault("LOW", 0L),
+            "MEDIUM", byPriority.getOrDefault("MEDIUM", 0L),
+            "HIGH", byPriority.getOrDefault("HIGH", 0L)
+        );
+
+        double completionRate = total == 0 ? 0.0 : (double) done / (double) total;
+
+        return new TaskAnalyticsDto(total, done, total - done, overdue, completionRate, distribution, priorities,
+            weekly(result, plan.weekStarts(), plan.boundaries()),
+            productivity(result, "byOwner", String::valueOf),
+            productivity(result, "byAssignee", AnalyticsService::assigneeKey));
+    }
+
+    private static TrendDto weekly(Document result, List<LocalDate> weekStarts, List<Date> boundaries) {
+        int n = weekStarts.size();
+        long[] open = new long[n];
+        long[] inProgress = new long[n];
+        long[] done = new long[n];
+        for (Document b : result.getList("weekly", Document.class, List.of())) {
+            int i = boundaries.indexOf(b.getDate("_id"));
+            if (i < 0 || i >= n) continue;
+            open[i] = num(b, "open");
+            inProgress[i] = num(b, "inProgress");
+            done[i] = num(b, "done");
+        }
+        return new TrendDto(
+            weekStarts.stream().map(LocalDate::toString).toList(),
+            Arrays.stream(open).boxed().toList(),
+            Arrays.stream(inProgress).boxed().toList(),
+            Arrays.stream(done).boxed().toList()
+        );
+    }
+
+    // raw keys are folded in Java (e.g. " bob " and "bob") so the grouping matches the in-memory engine exactly
+    private static List<UserProductivityDto> productivity(Document result, String facet, Function<String, String> keyFn) {
+        Map<String, long[]> merged = new HashMap<>();
+        for (Document d : result.getList(facet, Document.class, List.of())) {
+            Object raw = d.get("_id");
+            long[] acc = merged.computeIfAbsent(keyFn.apply(raw == null ? null : raw.toString()), k -> new long[3]);
+            acc[0] += num(d, "total");
+            acc[1] += num(d, "done");
+            acc[2] += num(d, "overdue");
+        }
+        return merged.entrySet().stream()
+            .map(e -> new UserProductivityDto(e.getKey(), e.getValue()[0], e.getValue()[1], e.getValue()[2]))
+            .sorted(AnalyticsService.PRODUCTIVITY_ORDER)
+            .toList();
+    }
+
+    private static Document productivityGroup(Object key, Document overdueExpr) {
+        return new Document("$group", new Document("_id", key)
+            .append("total", sum1())
+            .append("done", sumIf(statusIs("DONE")))
+            .append("overdue", sumIf(overdueExpr)));
+    }
+
+    private static Document statusIs(String status) {
+        return new Document("$eq", List.of("$status", status));
+    }
+
+    private static Document sum1() {
+        return new Document("$sum", 1);
+    }
+
+    private static Document sumIf(Document condition) {
+        return new Document("$sum", new Document("$cond", List.of(condition, 1, 0)));
+    }
+
+    private static Map<Object, Long> counts(Document result, String facet) {
+        Map<Object, Long> out = new HashMap<>();
+        for (Document d : result.getList(facet, Document.class, List.of())) {
+            out.put(d.get("_id"), num(d, "n"));
+        }
+        return out;
+    }
+
+    private static long firstCount(Document result, String facet) {
+        List<Document> docs = result.getList(facet, Document.class, List.of());
+        return docs.isEmpty() ? 0L : num(docs.get(0), "n");
+    }
+
+    private static long num(Document d, String field) {
+        Object v = d.get(field);
+        return v instanceof Number n ? n.longValue() : 0L;
+    }
+}
@@ -1,36 +1,90 @@
 package com.dhruv.taskmanager.service;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
-import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Analytics DTOs keyed by scope ({@code admin} or {@code me:<user>}). Values are
+ * computed only on a miss, concurrent misses for the same key share one computation,
+ * and task events evict the scopes they touch. Hit/miss/load metrics are published
+ * as {@code cache.*{cache=analytics}}.
+ */
 @Service
 public class AnalyticsCacheService {
 
     public record Cached<T>(T value, Instant computedAt) {}
 
-    private final AnalyticsService analytics;
-    private final Map<String, Cached<TaskAnalyticsDto>> cache = new ConcurrentHashMap<>();
+    static final String ADMIN_KEY = "admin";
+
+    private final LoadingCache<String, Cached<TaskAnalyticsDto>> cache;
 
-    public AnalyticsCacheService(AnalyticsService analytics) {
-        this.analytics = analytics;
+    public AnalyticsCacheService(AnalyticsService analytics, Caffeine<Object, Object> analyticsCacheSpec, MeterRegistry meters) {
+        this.cache = analyticsCacheSpec.build(key -> new Cached<>(analytics.computeFor(ownerOf(key)), Instant.now()));
+        CaffeineCacheMetrics.monitor(meters, cache, "analytics");
     }
 
-    public Cached<TaskAnalyticsDto> getOrCompute(String key, List<Task> tasks) {
-        return cache.compute(key, (k, old) -> new Cached<>(analytics.compute(tasks), Instant.now()));
+    /** Analytics for all tasks ({@code owner == null}) or one owner. */
+    public Cached<TaskAnalyticsDto> get(@Nullable String owner) {
+        return cache.get(keyFor(owner));
     }
 
     public void evict(String key) {
-        cache.remove(key);
+        cache.invalidate(key);
     }
 
     public void clear() {
-        cache.clear();
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onCreated(TaskCreatedEvent e) {
+        evictFor(e.after());
+    }
+
+    @EventListener
+    public void onUpdated(TaskUpdatedEvent e) {
+        evictFor(e.before());
+        evictFor(e.after());
+    }
+
+    @EventListener
+    public void onDeleted(TaskDeletedEvent e) {
+        evictFor(e.before());
+    }
+
+    @EventListener
+    public void onBatch(TaskBatchEvent e) {
+        for (TaskBatchEvent.Change c : e.changes()) {
+            evictFor(c.before());
+            evictFor(c.after());
+        }
+    }
+
+    private void evictFor(@Nullable TaskSnapshot t) {
+        cache.invalidate(ADMIN_KEY);
+        if (t != null && t.owner() != null) cache.invalidate(keyFor(t.owner()));
+    }
+
+    static String keyFor(@Nullable String owner) {
+        return owner == null ? ADMIN_KEY : "me:" + owner;
+    }
+
+    private static String ownerOf(String key) {
+        return ADMIN_KEY.equals(key) ? null : key.substring("me:".length());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,345 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TrendDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.UserProductivityDto;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.Task;
+
+/**
+ * Analytics counters (global and per owner) kept up to date from task events, so
+ * reads cost O(users + weeks) instead of a scan. Each event subtracts its {@code before}
+ * snapshot and adds its {@code after}; these deltas commute, so events may arrive in any
+ * order and no per-task state is kept. A periodic reconciliation rebuilds the counters
+ * from Mongo, reports drift against the live copy and swaps it in.
+ *
+ * <p>Overdue counts depend on the clock, not only on events: not-done due dates sit
+ * in a sorted map and move into the overdue counter as time passes them.
+ */
+@Service
+public class AnalyticsMaterializedView {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsMaterializedView.class);
+
+    /** {@code drifted} counts the owners whose live counters differed from the rebuilt ones. */
+    public record ReconcileReport(Instant at, long tasks, long drifted, Duration took) {}
+
+    private final MongoTemplate mongo;
+    private final boolean enabled;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private final ZoneRules zone = zoneId.getRules();
+
+    // guarded by this
+    private State state;
+    private List<TaskBatchEvent.Change> pendingDuringRebuild;
+    private ReconcileReport lastReconcile;
+
+    public AnalyticsMaterializedView(MongoTemplate mongo,
+                                     @Value("${app.analytics.view.enabled:true}") boolean enabled) {
+        this.mongo = mongo;
+        this.enabled = enabled;
+    }
+
+    /** Current analytics for all tasks ({@code owner == null}) or one owner; empty until the first build completes. */
+    public synchronized Optional<TaskAnalyticsDto> snapshot(@Nullable String owner) {
+        if (state == null) return Optional.empty();
+        Instant now = Instant.now();
+        Slice slice = owner == null ? state.global : state.owners.get(owner);
+        if (slice == null) slice = new Slice();
+        return Optional.of(slice.toDto(now, firstWeekEpochDay(now)));
+    }
+
+    public synchronized ReconcileReport lastReconcile() {
+        return lastReconcile;
+    }
+
+    @EventListener
+    public void onCreated(TaskCreatedEvent e) {
+        if (enabled) apply(new TaskBatchEvent.Change(e.taskId(), null, e.after()));
+    }
+
+    @EventListener
+    public void onUpdated(TaskUpdatedEvent e) {
+        if (enabled) apply(new TaskBatchEvent.Change(e.taskId(), e.before(), e.after()));
+    }
+
+    @EventListener
+    public void onDeleted(TaskDeletedEvent e) {
+        if (enabled && e.before() != null) apply(new TaskBatchEvent.Change(e.taskId(), e.before(), null));
+    }
+
+    @EventListener
+    public void onBatch(TaskBatchEvent e) {
+        if (enabled) e.changes().forEach(this::apply);
+    }
+
+    private synchronized void apply(TaskBatchEvent.Change c) {
+        if (pendingDuringRebuild != null) pendingDuringRebuild.add(c);
+        if (state != null) state.apply(c);
+    }
+
+    @Async
+    @Scheduled(initialDelayString = "${app.analytics.view.initial-delay-ms:0}",
+               fixedDelayString = "${app.analytics.view.reconcile-ms:900000}") // default 15 min
+    public void reconcile() {
+        if (!enabled) return;
+        long started = System.nanoTime();
+        synchronized (this) {
+            if (pendingDuringRebuild != null) return; // a rebuild is already running
+            pendingDuringRebuild = new ArrayList<>();
+        }
+
+        State fresh = new State();
+        // The only per-task data, and it lives for the length of the rebuild: which version of each
+        // task the stream counted, to tell the changes it already reflected from those it missed.
+        Map<String, Instant> streamed = new HashMap<>();
+        try {
+            Query q = new Query();
+            q.fields().include("status", "priority", "dueDate", "owner", "assignee", "updatedAt");
+            try (Stream<Task> all = mongo.stream(q, Task.class)) {
+                for (Iterator<Task> it = all.iterator(); it.hasNext(); ) {
+                    Task task = it.next();
+                    TaskSnapshot t = TaskSnapshot.of(task);
+                    fresh.add(t, +1);
+                    streamed.put(task.getId(), t.updatedAt() == null ? Instant.MIN : t.updatedAt());
+                }
+            }
+        } catch (RuntimeException ex) {
+            synchronized (this) { pendingDuringRebuild = null; }
+            log.warn("analytics view rebuild failed: {}", ex.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            replay(fresh, streamed, pendingDuringRebuild);
+            pendingDuringRebuild = null;
+
+            Instant now = Instant.now();
+            long drifted = state == null ? 0 : state.drifted(fresh, now);
+            if (drifted > 0) {
+                log.warn("analytics view drifted from Mongo for {} owner(s); replaced with rebuilt counters", drifted);
+            }
+            state = fresh;
+            lastReconcile = new ReconcileReport(now, streamed.size(), drifted, Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    /**
+     * Applies the changes that arrived while streaming, skipping those the stream already counted.
+     * A streamed task counted the version it was read at, so only its newer changes apply. A task
+     * the stream did not see was either created after its position was read (apply everything
+     * from the create on) or deleted before (apply nothing).
+     */
+    private static void replay(State fresh, Map<String, Instant> streamed, List<TaskBatchEvent.Change> changes) {
+        Set<String> createdLate = new HashSet<>();
+        Set<String> goneEarly = new HashSet<>();
+        for (TaskBatchEvent.Change c : changes) {
+            String id = c.taskId();
+            Instant read = streamed.get(id);
+            if (read != null) {
+                if (c.after() == null || isNewer(c.after(), read)) fresh.apply(c);
+            } else if (!goneEarly.contains(id)) {
+                if (c.before() == null) createdLate.add(id);
+                if (createdLate.contains(id)) fresh.apply(c);
+                else goneEarly.add(id);
+            }
+        }
+    }
+
+    private static boolean isNewer(TaskSnapshot after, Instant read) {
+        return after.updatedAt() != null && after.updatedAt().isAfter(read);
+    }
+
+    private long firstWeekEpochDay(Instant now) {
+        return LocalDate.ofInstant(now, zoneId).minusWeeks(AnalyticsAccumulator.WEEKS - 1).with(DayOfWeek.MONDAY).toEpochDay();
+    }
+
+    private final class State {
+        final Slice global = new Slice();
+        final Map<String, Slice> owners = new HashMap<>();
+
+        void apply(TaskBatchEvent.Change c) {
+            if (c.before() != null) add(c.before(), -1);
+            if (c.after() != null) add(c.after(), +1);
+        }
+
+        void add(TaskSnapshot t, int sign) {
+            global.apply(t, sign);
+            String owner = String.valueOf(t.owner());
+            if (owners.computeIfAbsent(owner, k -> new Slice()).apply(t, sign) == 0) owners.remove(owner);
+        }
+
+        long drifted(State other, Instant now) {
+            long drifted = 0;
+            for (Map.Entry<String, Slice> e : owners.entrySet()) {
+                Slice o = other.owners.get(e.getKey());
+                if (o == null || !e.getValue().sameAs(o, now)) drifted++;
+            }
+            for (String owner : other.owners.keySet()) {
+                if (!owners.containsKey(owner)) drifted++;
+            }
+            return drifted;
+        }
+    }
+
+    /** Counters for one scope (all tasks, or one owner's tasks). */
+    private final class Slice {
+        long total;
+        final long[] status = new long[TaskStatus.values().length];
+        final long[] priority = new long[TaskPriority.values().length];
+        final DeadlineCounter overdue = new DeadlineCounter();
+        final Map<Long, long[]> weeks = new HashMap<>(); // week-start epoch day -> per-status counts
+        final Map<String, UserCounter> byOwner = new HashMap<>();
+        final Map<String, UserCounter> byAssignee = new HashMap<>();
+
+        /** @return the remaining task count */
+        long apply(TaskSnapshot t, int sign) {
+            int st = AnalyticsAccumulator.statusIndex(t.status());
+            int pr = AnalyticsAccumulator.priorityIndex(t.priority());
+            boolean done = st == TaskStatus.DONE.ordinal();
+
+            total += sign;
+            if (st >= 0) status[st] += sign;
+            if (pr >= 0) priority[pr] += sign;
+            if (t.dueDate() != null) {
+                if (!done) overdue.add(t.dueDate(), sign);
+                if (st >= 0) {
+                    long wk = AnalyticsAccumulator.weekStartEpochDay(t.dueDate(), zone);
+                    long[] c = weeks.computeIfAbsent(wk, k -> new long[status.length]);
+                    c[st] += sign;
+                    if (Arrays.stream(c).allMatch(n -> n == 0)) weeks.remove(wk);
+                }
+            }
+            applyUser(byOwner, String.valueOf(t.owner()), t, done, sign);
+            applyUser(byAssignee, AnalyticsService.assigneeKey(t.assignee()), t, done, sign);
+            return total;
+        }
+
+        boolean sameAs(Slice o, Instant now) {
+            return total == o.total && Arrays.equals(status, o.status) && Arrays.equals(priority, o.priority)
+                && overdue.sameAs(o.overdue, now)
+                && weeks.size() == o.weeks.size()
+                && weeks.entrySet().stream().allMatch(e -> Arrays.equals(e.getValue(), o.weeks.get(e.getKey())))
+                && sameUsers(byOwner, o.byOwner, now) && sameUsers(byAssignee, o.byAssignee, now);
+        }
+
+        private static boolean sameUsers(Map<String, UserCounter> a, Map<String, UserCounter> b, Instant now) {
+            if (a.size() != b.size()) return false;
+            for (Map.Entry<String, UserCounter> e : a.entrySet()) {
+                UserCounter u = e.getValue(), v = b.get(e.getKey());
+                if (v == null || u.total != v.total || u.done != v.done || !u.overdue.sameAs(v.overdue, now)) return false;
+            }
+            return true;
+        }
+
+        private void applyUser(Map<String, UserCounter> map, String key, TaskSnapshot t, boolean done, int sign) {
+            UserCounter u = map.computeIfAbsent(key, k -> new UserCounter());
+            u.total += sign;
+            if (done) u.done += sign;
+            if (!done && t.dueDate() != null) u.overdue.add(t.dueDate(), sign);
+            if (u.total == 0) map.remove(key);
+        }
+
+        TaskAnalyticsDto toDto(Instant now, long firstWeekEpochDay) {
+            int weeksN = AnalyticsAccumulator.WEEKS;
+            List<String> labels = new ArrayList<>(weeksN);
+            List<Long> open = new ArrayList<>(weeksN);
+            List<Long> inProgress = new ArrayList<>(weeksN);
+            List<Long> doneByWeek = new ArrayList<>(weeksN);
+            for (int w = 0; w < weeksN; w++) {
+                long day = firstWeekEpochDay + 7L * w;
+                long[] c = weeks.getOrDefault(day, new long[status.length]);
+                labels.add(LocalDate.ofEpochDay(day).toString());
+                open.add(c[TaskStatus.OPEN.ordinal()]);
+                inProgress.add(c[TaskStatus.IN_PROGRESS.ordinal()]);
+                doneByWeek.add(c[TaskStatus.DONE.ordinal()]);
+            }
+
+            long done = status[TaskStatus.DONE.ordinal()];
+            double completionRate = total == 0 ? 0.0 : (double) done / (double) total;
+            return new TaskAnalyticsDto(total, done, total - done, overdue.overdue(now), completionRate,
+                Map.of(
+                    "OPEN", status[TaskStatus.OPEN.ordinal()],
+                    "IN_PROGRESS", status[TaskStatus.IN_PROGRESS.ordinal()],
+                    "DONE", done),
+                Map.of(
+                    "LOW", priority[TaskPriority.LOW.ordinal()],
+                    "MEDIUM", priority[TaskPriority.MEDIUM.ordinal()],
+                    "HIGH", priority[TaskPriority.HIGH.ordinal()]),
+                new TrendDto(labels, open, inProgress, doneByWeek),
+                users(byOwner, now),
+                users(byAssignee, now));
+        }
+
+        private List<UserProductivityDto> users(Map<String, UserCounter> map, Instant now) {
+            List<UserProductivityDto> out = new ArrayList<>(map.size());
+            map.forEach((k, u) -> out.add(new UserProductivityDto(k, u.total, u.done, u.overdue.overdue(now))));
+            out.sort(AnalyticsService.PRODUCTIVITY_ORDER);
+            return out;
+        }
+    }
+
+    private static final class UserCounter {
+        long total;
+        long done;
+        final DeadlineCounter overdue = new DeadlineCounter();
+    }
+
+    /**
+     * Counts not-done due dates that lie before "now". Due dates still in the future
+     * wait in a sorted map and are folded into {@code passed} as the clock moves past them.
+     */
+    static final class DeadlineCounter {
+        private final TreeMap<Instant, Long> pending = new TreeMap<>();
+        private Instant watermark = Instant.MIN;
+        private long passed;
+
+        void add(Instant due, int sign) {
+            if (due.isBefore(watermark)) {
+                passed += sign;
+            } else {
+                pending.merge(due, (long) sign, (a, b) -> a + b == 0 ? null : a + b);
+            }
+        }
+
+        long overdue(Instant now) {
+            if (now.isAfter(watermark)) {
+                var head = pending.headMap(now, false);
+                for (long n : head.values()) passed += n;
+                head.clear();
+                watermark = now;
+            }
+            return passed;
+        }
+
+        boolean sameAs(DeadlineCounter o, Instant now) {
+            return overdue(now) == o.overdue(now) && pending.equals(o.pending);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.dhruv.taskmanager.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Caps how many calls of one kind run at once. A caller waits up to {@code maxWaitMs} for a slot and
+ * then gets a {@link RejectedExecutionException}. With virtual threads, waiting here is what keeps a
+ * slow dependency from holding every connection or worker the others need.
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    Bulkhead(String name, int maxConcurrent, long maxWaitMs, MeterRegistry meters) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.rejected = Counter.builder("bulkhead.rejected").tag("name", name).register(meters);
+        Gauge.builder("bulkhead.active", permits, p -> maxConcurrent - p.availablePermits()).tag("name", name).register(meters);
+    }
+
+    public <T> T call(Callable<T> work) throws Exception {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new RejectedExecutionException("bulkhead " + name + " is full (" + maxConcurrent + " running)");
+        }
+        try {
+            return work.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+}
@@ -0,0 +1,36 @@
+package com.dhruv.taskmanager.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link Bulkhead} per kind of background work (today the webhook HTTP calls, {@code webhook-http}),
+ * sized by {@code app.bulkheads.<name>.max-concurrent} and {@code app.bulkheads.<name>.max-wait-ms}.
+ */
+@Component
+public class Bulkheads {
+
+    static final int DEFAULT_MAX_CONCURRENT = 8;
+    static final long DEFAULT_MAX_WAIT_MS = 5000;
+
+    private final Environment env;
+    private final MeterRegistry meters;
+    private final Map<String, Bulkhead> byName = new ConcurrentHashMap<>();
+
+    public Bulkheads(Environment env, MeterRegistry meters) {
+        this.env = env;
+        this.meters = meters;
+    }
+
+    public Bulkhead get(String name) {
+        return byName.computeIfAbsent(name, n -> new Bulkhead(n,
+            env.getProperty("app.bulkheads." + n + ".max-concurrent", Integer.class, DEFAULT_MAX_CONCURRENT),
+            env.getProperty("app.bulkheads." + n + ".max-wait-ms", Long.class, DEFAULT_MAX_WAIT_MS),
+            meters));
+    }
+}
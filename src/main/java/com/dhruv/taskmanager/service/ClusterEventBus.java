@@ -0,0 +1,89 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.model.OutboxEvent;
+
+/**
+ * Replays task changes written by other replicas as local {@link TaskBatchEvent}s, so their
+ * analytics view, caches and escalation timer follow writes they did not make. The feed is
+ * {@code domain_outbox} itself: every poll reads events from other origins newer than the last
+ * poll minus {@code lookback} (ObjectIds from different hosts are only roughly ordered) and skips
+ * the ones it already replayed. Anything missed is corrected by the periodic view reconcile.
+ */
+@Component
+public class ClusterEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterEventBus.class);
+
+    private static final int MAX_REMEMBERED = 100_000;
+
+    private final MongoTemplate mongo;
+    private final ClusterNode node;
+    private final ApplicationEventPublisher events;
+    private final Duration lookback;
+
+    private Instant polledAt = Instant.now(); // views are built from Mongo at startup; only newer changes matter
+    private final Map<String, Instant> replayed = new LinkedHashMap<>();
+
+    public ClusterEventBus(MongoTemplate mongo, ClusterNode node, ApplicationEventPublisher events,
+                           @Value("${app.cluster.events.lookback:PT10S}") Duration lookback) {
+        this.mongo = mongo;
+        this.node = node;
+        this.events = events;
+        this.lookback = lookback;
+    }
+
+    @Scheduled(initialDelayString = "${app.cluster.events.poll-interval-ms:1000}",
+               fixedDelayString = "${app.cluster.events.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        Instant now = Instant.now();
+        Instant from = polledAt.minus(lookback);
+        Query q = Query.query(Criteria.where("_id").gte(new ObjectId(Date.from(from))).and("origin").ne(node.id()))
+            .with(Sort.by("_id"));
+        q.fields().include("type", "actor", "at", "changes");
+        List<OutboxEvent> batch = mongo.find(q, OutboxEvent.class);
+
+        int applied = 0;
+        for (OutboxEvent e : batch) {
+            if (replayed.putIfAbsent(e.getId(), now) != null) continue;
+            try {
+                events.publishEvent(new TaskBatchEvent(e.getActor(), e.getChanges()));
+                applied++;
+            } catch (RuntimeException ex) {
+                log.warn("replaying event {} from another node failed: {}", e.getId(), ex.toString());
+            }
+        }
+        polledAt = now;
+        forgetBefore(from);
+        if (applied > 0) log.debug("replayed {} event(s) from other nodes", applied);
+    }
+
+    /** Ids older than the lookback window can no longer come back from the query. */
+    private void forgetBefore(Instant cutoff) {
+        var it = replayed.entrySet().iterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (entry.getValue().isAfter(cutoff) && replayed.size() <= MAX_REMEMBERED) break;
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.dhruv.taskmanager.service;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/** Identity of this replica: owner of leases and origin of the domain events it writes. */
+@Component
+public class ClusterNode {
+
+    private final String id;
+
+    public ClusterNode(@Value("${app.cluster.node-id:}") String configured) {
+        this.id = configured == null || configured.isBlank() ? generate() : configured.trim();
+    }
+
+    public String id() {
+        return id;
+    }
+
+    private static String generate() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception ex) {
+            host = "node";
+        }
+        return host + "-" + ProcessHandle.current().pid() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
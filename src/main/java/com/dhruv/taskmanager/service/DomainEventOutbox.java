@@ -0,0 +1,83 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.model.OutboxEvent;
+import com.dhruv.taskmanager.model.TaskTombstone;
+
+/**
+ * Writes domain events to {@code domain_outbox} next to the task write they describe. By default
+ * ({@code app.outbox.transactional=true}) both writes share one Mongo transaction, so an event
+ * exists exactly when its change committed. Operators who opt out (standalone mongod) get the
+ * event written right after the task, which leaves a small crash window between the two writes.
+ *
+ * <p>Deletes and reassignments also leave a {@link TaskTombstone} here, in the same transaction,
+ * so delta syncs can tell clients which tasks dropped out of their list.
+ */
+@Service
+public class DomainEventOutbox {
+
+    private final MongoTemplate mongo;
+    private final ClusterNode node;
+    private final TransactionTemplate tx; // null when transactions are off
+
+    public DomainEventOutbox(MongoTemplate mongo, ClusterNode node, Optional<PlatformTransactionManager> txManager) {
+        this.mongo = mongo;
+        this.node = node;
+        this.tx = txManager.map(TransactionTemplate::new).orElse(null);
+    }
+
+    public boolean transactional() {
+        return tx != null;
+    }
+
+    /** Runs {@code work} in a transaction when enabled; call {@link #record} inside it. */
+    public <T> T inTransaction(Supplier<T> work) {
+        return tx == null ? work.get() : tx.execute(status -> work.get());
+    }
+
+    public OutboxEvent record(String type, String actor, List<Change> changes) {
+        OutboxEvent e = new OutboxEvent();
+        e.setId(new ObjectId().toHexString());
+        e.setType(type);
+        e.setActor(actor);
+        e.setOrigin(node.id());
+        e.setAt(Instant.now());
+        e.setChanges(List.copyOf(changes));
+        OutboxEvent saved = mongo.insert(e);
+        tombstones(changes, e.getAt());
+        return saved;
+    }
+
+    public OutboxEvent record(String actor, Change change) {
+        return record(change.type(), actor, List.of(change));
+    }
+
+    private void tombstones(List<Change> changes, Instant at) {
+        List<TaskTombstone> removed = new ArrayList<>();
+        for (Change c : changes) {
+            if (c.before() == null || c.before().owner() == null) continue;
+            boolean gone = c.after() == null;
+            if (!gone && Objects.equals(c.before().owner(), c.after().owner())) continue;
+            TaskTombstone t = new TaskTombstone();
+            t.setTaskId(c.taskId());
+            t.setOwner(c.before().owner());
+            t.setGone(gone);
+            t.setAt(at);
+            removed.add(t);
+        }
+        if (!removed.isEmpty()) mongo.insertAll(removed);
+    }
+}
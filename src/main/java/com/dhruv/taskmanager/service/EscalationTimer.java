@@ -0,0 +1,243 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.Task;
+
+/**
+ * Escalates each task at the moment it crosses an escalation threshold (entering the 24h window,
+ * becoming overdue) instead of waiting for the next sweep. Deadlines live in a min-heap with one
+ * live entry per task; superseded entries stay in the heap and are skipped when they surface.
+ *
+ * <p>Only deadlines within {@code horizon} are kept: the heap is seeded at startup from one range
+ * query on {@code priority_status_due}, topped up every {@code reseed-ms}, and kept current by task
+ * events. Firing runs {@link TaskMaintenanceScheduler#escalate} for the due task ids.
+ */
+@Component
+public class EscalationTimer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EscalationTimer.class);
+
+    private record Deadline(Instant at, String taskId) {}
+
+    private final MongoTemplate mongo;
+    private final TaskMaintenanceScheduler maintenance;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration horizon;
+
+    private final PriorityQueue<Deadline> heap = new PriorityQueue<>((a, b) -> a.at().compareTo(b.at()));
+    private final Map<String, Instant> live = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> wakeup;
+    private Instant wakeupAt;
+    private volatile boolean running;
+
+    public EscalationTimer(MongoTemplate mongo, TaskMaintenanceScheduler maintenance, Clock clock,
+                           @Value("${app.escalation.timer.enabled:true}") boolean enabled,
+                           @Value("${app.escalation.timer.horizon:PT48H}") Duration horizon) {
+        this.mongo = mongo;
+        this.maintenance = maintenance;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.horizon = horizon;
+    }
+
+    /**
+     * Next moment the escalation rules change their answer for this task, or null if they never will:
+     * the first millisecond with {@code due - t < 25h}, then {@code due + 1h}.
+     */
+    @Nullable
+    static Instant nextThreshold(@Nullable TaskSnapshot t, Instant after) {
+        if (!escalatable(t)) return null;
+        Instant window = t.dueDate().minus(TaskMaintenanceScheduler.SOON).plusMillis(1);
+        if (window.isAfter(after)) return window;
+        Instant overdue = t.dueDate().plus(TaskMaintenanceScheduler.OVERDUE);
+        return overdue.isAfter(after) ? overdue : null;
+    }
+
+    private static boolean escalatable(@Nullable TaskSnapshot t) {
+        return t != null && t.dueDate() != null
+            && ("LOW".equals(t.priority()) || "MEDIUM".equals(t.priority()))
+            && !TaskStatus.DONE.name().equals(t.status());
+    }
+
+    /** Reads every task with a threshold inside the horizon; returns how many are scheduled. */
+    public int seed() {
+        Instant now = clock.instant();
+        Query q = Query.query(new Criteria().andOperator(
+            Criteria.where("priority").in("LOW", "MEDIUM"),
+            Criteria.where("status").in(TaskStatus.OPEN.name(), TaskStatus.IN_PROGRESS.name()),
+            Criteria.where("dueDate").lt(now.plus(horizon).plus(TaskMaintenanceScheduler.SOON))));
+        q.fields().include("status", "priority", "dueDate");
+        List<Task> tasks = mongo.find(q, Task.class);
+        synchronized (this) {
+            for (Task t : tasks) schedule(t.getId(), TaskSnapshot.of(t), now);
+            arm();
+            return live.size();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.escalation.timer.reseed-ms:3600000}",
+               fixedDelayString = "${app.escalation.timer.reseed-ms:3600000}")
+    public void reseed() {
+        if (running) seed();
+    }
+
+    @EventListener
+    public void onCreated(TaskCreatedEvent e) {
+        update(e.taskId(), e.after());
+    }
+
+    @EventListener
+    public void onUpdated(TaskUpdatedEvent e) {
+        update(e.taskId(), e.after());
+    }
+
+    @EventListener
+    public void onDeleted(TaskDeletedEvent e) {
+        update(e.taskId(), null);
+    }
+
+    /**
+     * Our own escalations come back here too and are treated like any other change: a task still
+     * LOW or MEDIUM inside the window is due again right away, exactly as the sweep would take it.
+     */
+    @EventListener
+    public void onBatch(TaskBatchEvent e) {
+        for (TaskBatchEvent.Change c : e.changes()) update(c.taskId(), c.after());
+    }
+
+    private void update(String taskId, @Nullable TaskSnapshot after) {
+        if (!enabled) return;
+        synchronized (this) {
+            schedule(taskId, after, clock.instant());
+            arm();
+        }
+    }
+
+    /**
+     * A task whose window already started is due right away: whatever put it there (a user edit, the
+     * seed, or our own LOW to MEDIUM step) the rules still have a step for it, and the sweep would take it.
+     */
+    private void schedule(String taskId, @Nullable TaskSnapshot t, Instant now) {
+        boolean inWindow = escalatable(t) && now.isAfter(t.dueDate().minus(TaskMaintenanceScheduler.SOON));
+        Instant at = inWindow ? now : nextThreshold(t, now);
+        if (at == null || at.isAfter(now.plus(horizon))) {
+            live.remove(taskId); // the reseed picks far deadlines up later
+            return;
+        }
+        if (at.equals(live.put(taskId, at))) return;
+        heap.add(new Deadline(at, taskId));
+    }
+
+    /** Escalates every task whose deadline has passed; returns how many deadlines fired. */
+    public int fireDue() {
+        Instant now = clock.instant();
+        List<String> due = new ArrayList<>();
+        synchronized (this) {
+            while (!heap.isEmpty() && !heap.peek().at().isAfter(now)) {
+                Deadline d = heap.poll();
+                if (d.at().equals(live.get(d.taskId()))) {
+                    live.remove(d.taskId());
+                    due.add(d.taskId());
+                }
+            }
+        }
+        if (!due.isEmpty()) {
+            try {
+                maintenance.escalate(now, due); // events from this call reschedule the next thresholds
+            } catch (RuntimeException ex) {
+                log.warn("escalation of {} task(s) failed, the sweep will retry: {}", due.size(), ex.toString());
+            }
+        }
+        synchronized (this) {
+            arm();
+        }
+        return due.size();
+    }
+
+    /** Earliest live deadline, skipping superseded heap entries. */
+    @Nullable
+    synchronized Instant nextDeadline() {
+        while (!heap.isEmpty() && !heap.peek().at().equals(live.get(heap.peek().taskId()))) heap.poll();
+        return heap.isEmpty() ? null : heap.peek().at();
+    }
+
+    private void arm() {
+        if (executor == null) return;
+        Instant next = nextDeadline();
+        if (next == null || next.equals(wakeupAt)) return;
+        if (wakeup != null) wakeup.cancel(false);
+        long delay = Math.max(0, Duration.between(clock.instant(), next).toMillis());
+        wakeupAt = next;
+        wakeup = executor.schedule(() -> {
+            synchronized (this) {
+                wakeupAt = null;
+            }
+            fireDue();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) return;
+        synchronized (this) {
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "escalation-timer");
+                t.setDaemon(true);
+                return t;
+            });
+            running = true;
+        }
+        long started = System.nanoTime();
+        int n = seed();
+        log.info("escalation timer seeded with {} deadline(s) in {} ms", n, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        synchronized (this) {
+            if (executor != null) executor.shutdownNow();
+            executor = null;
+            wakeup = null;
+            wakeupAt = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
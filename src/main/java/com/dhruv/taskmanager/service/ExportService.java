@@ -0,0 +1,138 @@
+package com.dhruv.taskmanager.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.model.AuditEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.repository.AuditEventRepository;
+import com.dhruv.taskmanager.repository.TaskSort;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Streams tasks and audit events from a Mongo cursor straight to an output stream,
+ * one row at a time. Memory stays flat regardless of the row count: the cursor only
+ * fetches the next batch once the previous rows have been written, so a slow client
+ * throttles the read, and a disconnect closes the cursor.
+ */
+@Service
+public class ExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        public final String contentType;
+        public final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public static Format parse(@Nullable String s) {
+            if (s == null || s.isBlank()) return NDJSON;
+            try {
+                return valueOf(s.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("format must be ndjson or csv");
+            }
+        }
+    }
+
+    static final int FLUSH_EVERY = 1_000;
+
+    private static final String[] TASK_COLUMNS =
+        { "id", "title", "description", "status", "priority", "dueDate", "assignee", "owner", "createdAt", "updatedAt" };
+    private static final String[] AUDIT_COLUMNS = { "id", "at", "type", "actor", "taskId", "details" };
+
+    private final TaskService repoService;
+    private final AuditEventRepository audit;
+    private final ObjectWriter json;
+
+    public ExportService(TaskService repoService, AuditEventRepository audit, ObjectMapper mapper) {
+        this.repoService = repoService;
+        this.audit = audit;
+        // one value per line: no space between root values, and flushing is ours (every FLUSH_EVERY rows)
+        this.json = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE).withRootValueSeparator("");
+    }
+
+    /** Non-admins only export their own tasks. Validation happens here, before any byte is written. */
+    public TaskFilter scopeTasks(String principalName, boolean isAdmin, TaskFilter filter) {
+        Objects.requireNonNull(principalName, "principal required");
+        TaskQueryService.checkRange(filter);
+        return isAdmin ? filter : filter.withOwner(principalName);
+    }
+
+    public void writeTasks(TaskFilter filter, TaskSort sort, Format format, OutputStream out) throws IOException {
+        try (Stream<Task> rows = repoService.stream(filter, sort)) {
+            write(rows.iterator(), format, out, TASK_COLUMNS, t -> new Object[] {
+                t.getId(), t.getTitle(), t.getDescription(), t.getStatus(), t.getPriority(), t.getDueDate(),
+                t.getAssignee(), t.getOwner(), t.getCreatedAt(), t.getUpdatedAt() });
+        }
+    }
+
+    public void writeAudit(@Nullable Instant from, @Nullable Instant to, @Nullable String type, @Nullable String actor,
+                           @Nullable String taskId, Format format, OutputStream out) throws IOException {
+        try (Stream<AuditEvent> rows = audit.streamMatching(from, to, type, actor, taskId)) {
+            write(rows.iterator(), format, out, AUDIT_COLUMNS, e -> new Object[] {
+                e.getId(), e.getAt(), e.getType(), e.getActor(), e.getTaskId(), e.getDetails() });
+        }
+    }
+
+    private <T> void write(Iterator<T> rows, Format format, OutputStream out, String[] columns,
+                           Function<T, Object[]> cells) throws IOException {
+        if (format == Format.NDJSON) {
+            try (JsonGenerator gen = json.getFactory().createGenerator(out)) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gen.setRootValueSeparator(null);
+                for (long n = 1; rows.hasNext(); n++) {
+                    json.writeValue(gen, rows.next());
+                    gen.writeRaw('\n');
+                    if (n % FLUSH_EVERY == 0) gen.flush();
+                }
+            }
+            return;
+        }
+        Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRow(w, columns);
+        for (long n = 1; rows.hasNext(); n++) {
+            writeCsvRow(w, cells.apply(rows.next()));
+            if (n % FLUSH_EVERY == 0) w.flush();
+        }
+        w.flush();
+    }
+
+    static void writeCsvRow(Writer w, Object[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) w.write(',');
+            Object c = cells[i];
+            if (c != null) w.write(csvCell(c.toString()));
+        }
+        w.write("\r\n");
+    }
+
+    // RFC 4180 quoting; a leading formula character is neutralised for spreadsheet imports
+    static String csvCell(String v) {
+        if (!v.isEmpty() && "=+-@".indexOf(v.charAt(0)) >= 0) v = "'" + v;
+        boolean quote = v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0;
+        return quote ? '"' + v.replace("\"", "\"\"") + '"' : v;
+    }
+}
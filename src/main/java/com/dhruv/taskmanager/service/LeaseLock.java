@@ -0,0 +1,50 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.model.SchedulerLock;
+
+/**
+ * Cluster-wide leases in {@code scheduler_locks}. {@link #tryAcquire} takes a free or expired lease
+ * and renews one this node already holds, so calling it on every run of a job keeps one leader
+ * until that node stops renewing. Leases expire on their own; nothing has to clean up after a crash.
+ */
+@Service
+public class LeaseLock {
+
+    private final MongoTemplate mongo;
+    private final ClusterNode node;
+    private final Clock clock;
+
+    public LeaseLock(MongoTemplate mongo, ClusterNode node, Clock clock) {
+        this.mongo = mongo;
+        this.node = node;
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = clock.instant();
+        Query q = Query.query(Criteria.where("_id").is(name).orOperator(
+            Criteria.where("lockedUntil").lt(now), Criteria.where("owner").is(node.id())));
+        Update u = new Update().set("owner", node.id()).set("lockedUntil", now.plus(ttl));
+        try {
+            return mongo.findAndModify(q, u, FindAndModifyOptions.options().upsert(true).returnNew(true), SchedulerLock.class) != null;
+        } catch (DuplicateKeyException ex) {
+            return false; // held by another node: the upsert collided with its lease
+        }
+    }
+
+    public void release(String name) {
+        mongo.remove(Query.query(Criteria.where("_id").is(name).and("owner").is(node.id())), SchedulerLock.class);
+    }
+}
@@ -0,0 +1,216 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.dhruv.taskmanager.events.OutboxConsumer;
+import com.dhruv.taskmanager.model.OutboxEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Moves {@code domain_outbox} events to every {@link OutboxConsumer}, oldest first. Each consumer
+ * has its own lane: it reads the events it has not accepted yet ({@code consumers.<name>.at}),
+ * advances and retries on its own, so a slow or failing webhook consumer does not hold back audit
+ * rows. An event is marked dispatched once every consumer is done with it. One replica relays at a
+ * time: it holds the {@value #LEASE} lease and renews it on every batch.
+ *
+ * <p>When a batch fails, its events are handed to that consumer one at a time so a single bad event
+ * cannot hold back the rest; each event that still fails is retried at its
+ * {@code consumers.<name>.nextAttemptAt} with exponential backoff (at-least-once; consumers dedupe on
+ * the event id, and a retried event may arrive after later ones). After {@code max-attempts} the
+ * consumer gives up on it and records {@code deadAt}.
+ *
+ * <p>Metrics, tagged {@code consumer}: {@code outbox.dispatched}, {@code outbox.failed},
+ * {@code outbox.dead}, {@code outbox.lag} (commit to acceptance) and {@code outbox.pending.age}
+ * (age of the oldest event due, in seconds).
+ */
+@Component
+public class OutboxRelay implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    static final String LEASE = "outbox-relay";
+    private static final Duration LEASE_TTL = Duration.ofSeconds(15);
+
+    private final MongoTemplate mongo;
+    private final LeaseLock locks;
+    private final List<Lane> lanes;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OutboxRelay(MongoTemplate mongo, List<OutboxConsumer> consumers, LeaseLock locks, MeterRegistry meters,
+                       @Value("${app.outbox.batch-size:200}") int batchSize,
+                       @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${app.outbox.backoff-base:PT1S}") Duration backoffBase,
+                       @Value("${app.outbox.backoff-max:PT10M}") Duration backoffMax) {
+        this.mongo = mongo;
+        this.locks = locks;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.lanes = consumers.stream().map(c -> new Lane(c, meters)).toList();
+    }
+
+    /** Wakes every idle lane; a lane still working through its backlog keeps going on its own. */
+    @Scheduled(initialDelayString = "${app.outbox.poll-interval-ms:500}", fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        if (!locks.tryAcquire(LEASE, LEASE_TTL)) return;
+        for (Lane lane : lanes) {
+            if (!lane.busy.compareAndSet(false, true)) continue;
+            workers.execute(() -> {
+                try {
+                    while (lane.dispatchOnce() == batchSize && locks.tryAcquire(LEASE, LEASE_TTL)) {
+                        // keep going while full batches are waiting
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("outbox lane {} failed: {}", lane.name, ex.toString());
+                } finally {
+                    lane.busy.set(false);
+                }
+            });
+        }
+    }
+
+    /** Runs one batch on every lane, one after the other; returns how many events each accepted. */
+    List<Integer> dispatchOnce() {
+        return lanes.stream().map(Lane::dispatchOnce).toList();
+    }
+
+    /** One consumer's position in the outbox. */
+    final class Lane {
+        final OutboxConsumer consumer;
+        final String name;
+        final String field;
+        final AtomicBoolean busy = new AtomicBoolean();
+        final Counter dispatched;
+        final Counter failed;
+        final Counter dead;
+        final Timer lag;
+        final AtomicLong oldestPendingMillis = new AtomicLong();
+
+        Lane(OutboxConsumer consumer, MeterRegistry meters) {
+            this.consumer = consumer;
+            this.name = consumer.name();
+            this.field = "consumers." + name;
+            this.dispatched = meters.counter("outbox.dispatched", "consumer", name);
+            this.failed = meters.counter("outbox.failed", "consumer", name);
+            this.dead = meters.counter("outbox.dead", "consumer", name);
+            this.lag = Timer.builder("outbox.lag").tag("consumer", name).publishPercentiles(0.5, 0.99).register(meters);
+            Gauge.builder("outbox.pending.age", oldestPendingMillis, v -> v.get() / 1000.0).tag("consumer", name).register(meters);
+        }
+
+        /** Hands over one batch; returns how many of its events were accepted (0 when nothing was due). */
+        int dispatchOnce() {
+            Instant now = Instant.now();
+            Query due = Query.query(Criteria.where("dispatchedAt").is(null).and(field + ".at").is(null).orOperator(
+                    Criteria.where(field + ".nextAttemptAt").is(null), Criteria.where(field + ".nextAttemptAt").lte(now)))
+                .with(Sort.by("_id")).limit(batchSize);
+            List<OutboxEvent> batch = mongo.find(due, OutboxEvent.class);
+            oldestPendingMillis.set(batch.isEmpty() ? 0 : Duration.between(batch.get(0).getAt(), now).toMillis());
+            if (batch.isEmpty()) return 0;
+
+            String error = deliver(batch);
+            if (error == null) {
+                accepted(batch);
+                return batch.size();
+            }
+            if (batch.size() == 1) {
+                retryLater(batch.get(0), error);
+                return 0;
+            }
+            int sent = 0;
+            for (OutboxEvent e : batch) {
+                String own = deliver(List.of(e));
+                if (own == null) {
+                    accepted(List.of(e));
+                    sent++;
+                } else {
+                    retryLater(e, own);
+                }
+            }
+            return sent;
+        }
+
+        /** Returns the failure, or null when the consumer accepted {@code events}. */
+        private String deliver(List<OutboxEvent> events) {
+            try {
+                consumer.accept(events);
+                return null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return name + ": " + ex;
+            } catch (Exception ex) {
+                log.warn("outbox consumer {} failed on {} event(s): {}", name, events.size(), ex.toString());
+                return name + ": " + ex;
+            }
+        }
+
+        private void accepted(List<OutboxEvent> events) {
+            Instant done = Instant.now();
+            List<String> ids = events.stream().map(OutboxEvent::getId).toList();
+            mongo.updateMulti(Query.query(Criteria.where("_id").in(ids)), new Update().set(field + ".at", done), OutboxEvent.class);
+            for (OutboxEvent e : events) lag.record(Duration.between(e.getAt(), done));
+            dispatched.increment(events.size());
+            markDispatched(ids, done);
+        }
+
+        private void retryLater(OutboxEvent e, String error) {
+            OutboxEvent.Delivery d = e.delivery(name);
+            int attempts = (d == null ? 0 : d.getAttempts()) + 1;
+            Instant now = Instant.now();
+            Update update = new Update().set(field + ".attempts", attempts).set(field + ".lastError", error);
+            failed.increment();
+            if (attempts >= maxAttempts) {
+                update.set(field + ".at", now).set(field + ".deadAt", now).unset(field + ".nextAttemptAt");
+                dead.increment();
+                log.error("outbox consumer {} gave up on event {} ({}) after {} attempt(s): {}", name, e.getId(), e.getType(), attempts, error);
+            } else {
+                update.set(field + ".nextAttemptAt", now.plus(backoff(attempts)));
+            }
+            mongo.updateFirst(Query.query(Criteria.where("_id").is(e.getId())), update, OutboxEvent.class);
+            if (attempts >= maxAttempts) markDispatched(List.of(e.getId()), now);
+        }
+    }
+
+    /** Sets {@code dispatchedAt} on those of {@code ids} that every consumer is done with. */
+    private void markDispatched(List<String> ids, Instant done) {
+        Criteria all = Criteria.where("_id").in(ids).and("dispatchedAt").is(null);
+        for (Lane lane : lanes) all = all.and(lane.field + ".at").ne(null);
+        mongo.updateMulti(Query.query(all), new Update().set("dispatchedAt", done), OutboxEvent.class);
+    }
+
+    /** base * 2^(attempts-1), capped at max. */
+    Duration backoff(int attempts) {
+        return Duration.ofMillis(Math.min(backoffMax.toMillis(), backoffBase.toMillis() << Math.min(attempts - 1, 30)));
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+    }
+}
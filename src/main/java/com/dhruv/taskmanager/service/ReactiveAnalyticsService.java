@@ -0,0 +1,44 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Instant;
+
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.model.Task;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Analytics without blocking a thread: the materialized view when it is built, otherwise the
+ * {@link AnalyticsAggregationService} pipeline run through the reactive driver.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveAnalyticsService {
+
+    private final ReactiveMongoTemplate mongo;
+    private final AnalyticsMaterializedView view;
+
+    public ReactiveAnalyticsService(ReactiveMongoTemplate mongo, AnalyticsMaterializedView view) {
+        this.mongo = mongo;
+        this.view = view;
+    }
+
+    /** @param owner restrict to tasks of this owner, or {@code null} for all tasks */
+    public Mono<TaskAnalyticsDto> computeFor(@Nullable String owner) {
+        return view.snapshot(owner).map(Mono::just).orElseGet(() -> aggregate(owner, Instant.now()));
+    }
+
+    Mono<TaskAnalyticsDto> aggregate(@Nullable String owner, Instant now) {
+        AnalyticsAggregationService.Plan plan = AnalyticsAggregationService.plan(owner, now);
+        return mongo.getCollection(mongo.getCollectionName(Task.class))
+            .flatMap(c -> Mono.from(c.aggregate(plan.pipeline()).allowDiskUse(true).first()))
+            .defaultIfEmpty(new Document())
+            .map(result -> AnalyticsAggregationService.read(plan, result));
+    }
+}
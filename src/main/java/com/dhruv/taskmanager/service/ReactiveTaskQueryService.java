@@ -0,0 +1,53 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.repository.ReactiveTaskRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the reads in {@link TaskQueryService}: same visibility rules and
+ * queries, but results come from the reactive driver as they arrive.
+ */
+@Service
+@ConditionalOnProperty(name = "app.reactive.enabled", havingValue = "true")
+public class ReactiveTaskQueryService {
+
+    private final ReactiveTaskRepository tasks;
+
+    public ReactiveTaskQueryService(ReactiveTaskRepository tasks) {
+        this.tasks = tasks;
+    }
+
+    public Flux<Task> list(String principalName, boolean isAdmin) {
+        Objects.requireNonNull(principalName, "principal required");
+        return isAdmin ? tasks.findAll() : tasks.findByOwner(principalName);
+    }
+
+    /** Empty when the task does not exist; fails with {@link SecurityException} when it is not visible. */
+    public Mono<Task> get(String id, String principalName, boolean isAdmin) {
+        Objects.requireNonNull(principalName, "principal required");
+        return tasks.findById(id).flatMap(t -> isAdmin || principalName.equals(t.getOwner())
+            ? Mono.just(t)
+            : Mono.error(new SecurityException("forbidden")));
+    }
+
+    /** Open tasks past their due date, most overdue first. */
+    public Flux<Task> overdue(String principalName, boolean isAdmin) {
+        Objects.requireNonNull(principalName, "principal required");
+        return Flux.defer(() -> {
+            Instant now = Instant.now();
+            return isAdmin
+                ? tasks.findByStatusInAndDueDateBeforeOrderByDueDateAscIdAsc(TaskStatus.ACTIVE, now)
+                : tasks.findByOwnerAndStatusInAndDueDateBeforeOrderByDueDateAscIdAsc(principalName, TaskStatus.ACTIVE, now);
+        });
+    }
+}
@@ -0,0 +1,264 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.dto.TaskDtos.BulkItemResult;
+import com.dhruv.taskmanager.dto.TaskDtos.BulkOp;
+import com.dhruv.taskmanager.dto.TaskDtos.BulkResult;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.model.OutboxEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+
+/**
+ * Bulk create/update/delete with the same rules as {@link TaskCommandService}, applied per item.
+ * Each chunk costs one read (existing tasks for updates/deletes), one unordered bulk write
+ * and one {@link TaskBatchEvent}; a failing item never fails the rest of the batch, except in
+ * transactional outbox mode, where a write error rolls the whole chunk back (reported as 500).
+ *
+ * <p>Updates and deletes compare-and-set on the task version like single updates: a task changed
+ * since it was read, or whose {@code task.version} in the request is not the current one, is
+ * reported as 409, and one deleted meanwhile as 404.
+ */
+@Service
+public class TaskBulkService {
+
+    private final MongoTemplate mongo;
+    private final TaskPolicyService policy;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher events;
+    private final int maxOps;
+    private final int chunkSize;
+
+    public TaskBulkService(MongoTemplate mongo, TaskPolicyService policy, DomainEventOutbox outbox,
+                           ApplicationEventPublisher events,
+                           @Value("${app.tasks.bulk.max-ops:10000}") int maxOps,
+                           @Value("${app.tasks.bulk.chunk-size:1000}") int chunkSize) {
+        this.mongo = mongo;
+        this.policy = policy;
+        this.outbox = outbox;
+        this.events = events;
+        this.maxOps = maxOps;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkResult apply(List<BulkOp> ops, String principalName, boolean isAdmin) {
+        Objects.requireNonNull(principalName, "principal required");
+        if (ops == null || ops.isEmpty()) throw new IllegalArgumentException("no operations");
+        if (ops.size() > maxOps) throw new IllegalArgumentException("at most " + maxOps + " operations per request");
+
+        BulkItemResult[] results = new BulkItemResult[ops.size()];
+        Set<String> seenIds = new HashSet<>();
+        for (int from = 0; from < ops.size(); from += chunkSize) {
+            applyChunk(ops, from, Math.min(from + chunkSize, ops.size()), principalName, isAdmin, seenIds, results);
+        }
+
+        int ok = 0;
+        for (BulkItemResult r : results) if (r.status() < 300) ok++;
+        return new BulkResult(ok, results.length - ok, Arrays.asList(results));
+    }
+
+    private void applyChunk(List<BulkOp> ops, int from, int to, String actor, boolean isAdmin,
+                            Set<String> seenIds, BulkItemResult[] results) {
+        Set<String> lookup = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            BulkOp op = ops.get(i);
+            if (op != null && op.id() != null && !"create".equalsIgnoreCase(op.op())) lookup.add(op.id());
+        }
+        Map<String, Task> existing = new HashMap<>();
+        if (!lookup.isEmpty()) {
+            for (Task t : mongo.find(Query.query(Criteria.where("_id").in(lookup)), Task.class)) existing.put(t.getId(), t);
+        }
+
+        BulkOperations bulk = mongo.bulkOps(BulkMode.UNORDERED, Task.class);
+        List<Integer> writeIndex = new ArrayList<>(); // bulk write position -> op index
+        Map<Integer, TaskBatchEvent.Change> changes = new LinkedHashMap<>();
+        Map<Integer, Task> replaced = new HashMap<>(); // op index -> replacement, for conflict checks
+        Map<Integer, Task> removed = new HashMap<>(); // op index -> task as read, for conflict checks
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS); // Mongo precision, so writes can be matched back
+
+        for (int i = from; i < to; i++) {
+            BulkOp op = ops.get(i);
+            try {
+                if (op == null) throw new IllegalArgumentException("operation is required");
+                String kind = op.op() == null ? "" : op.op().trim().toLowerCase(Locale.ROOT);
+                if (!kind.equals("create")) {
+                    if (op.id() == null || op.id().isBlank()) throw new IllegalArgumentException("id is required");
+                    if (!seenIds.add(op.id())) throw new IllegalArgumentException("id appears more than once in this request");
+                }
+                switch (kind) {
+                    case "create" -> {
+                        Task t = prepareCreate(op.task(), actor, now);
+                        bulk.insert(t);
+                        changes.put(i, new TaskBatchEvent.Change(t.getId(), null, TaskSnapshot.of(t)));
+                        results[i] = new BulkItemResult(i, t.getId(), 201, null);
+                    }
+                    case "update" -> {
+                        Task before = existing.get(op.id());
+                        if (before == null) { results[i] = new BulkItemResult(i, op.id(), 404, "not found"); continue; }
+                        if (!isAdmin && !actor.equals(before.getOwner())) throw new SecurityException("forbidden");
+                        if (op.task() != null && op.task().getVersion() != null
+                                && op.task().getVersion() != TaskCommandService.version(before)) {
+                            results[i] = new BulkItemResult(i, op.id(), 409, "task is at version " + TaskCommandService.version(before));
+                            continue;
+                        }
+                        Task t = prepareUpdate(before, op.task(), actor, isAdmin, now);
+                        bulk.replaceOne(Query.query(Criteria.where("_id").is(t.getId()).and("version").is(before.getVersion())), t);
+                        replaced.put(i, t);
+                        changes.put(i, new TaskBatchEvent.Change(t.getId(), TaskSnapshot.of(before), TaskSnapshot.of(t)));
+                        results[i] = new BulkItemResult(i, t.getId(), 200, null);
+                    }
+                    case "delete" -> {
+                        if (!isAdmin) throw new SecurityException("admin only");
+                        Task before = existing.get(op.id());
+                        if (before == null) { results[i] = new BulkItemResult(i, op.id(), 404, "not found"); continue; }
+                        if (op.task() != null && op.task().getVersion() != null
+                                && op.task().getVersion() != TaskCommandService.version(before)) {
+                            results[i] = new BulkItemResult(i, op.id(), 409, "task is at version " + TaskCommandService.version(before));
+                            continue;
+                        }
+                        bulk.remove(Query.query(Criteria.where("_id").is(op.id()).and("version").is(before.getVersion())));
+                        removed.put(i, before);
+                        changes.put(i, new TaskBatchEvent.Change(op.id(), TaskSnapshot.of(before), null));
+                        results[i] = new BulkItemResult(i, op.id(), 204, null);
+                    }
+                    default -> throw new IllegalArgumentException("op must be create, update or delete");
+                }
+                writeIndex.add(i);
+            } catch (SecurityException ex) {
+                results[i] = new BulkItemResult(i, op.id(), 403, ex.getMessage());
+            } catch (IllegalArgumentException ex) {
+                results[i] = new BulkItemResult(i, op == null ? null : op.id(), 400, ex.getMessage());
+            }
+        }
+        if (writeIndex.isEmpty()) return;
+
+        List<BulkWriteError> errors = List.of();
+        try {
+            outbox.inTransaction(() -> {
+                dropConflicts(bulk.execute(), replaced, removed, changes, results);
+                if (!changes.isEmpty()) outbox.record(OutboxEvent.BATCH, actor, new ArrayList<>(changes.values()));
+                return null;
+            });
+        } catch (BulkOperationException ex) {
+            errors = ex.getErrors();
+            dropConflicts(ex.getResult(), replaced, removed, changes, results);
+        }
+        if (!errors.isEmpty()) {
+            for (BulkWriteError err : errors) {
+                int i = writeIndex.get(err.getIndex());
+                results[i] = new BulkItemResult(i, results[i].id(), err.getCode() == 11000 ? 409 : 500, err.getMessage());
+                changes.remove(i);
+            }
+            if (outbox.transactional()) {
+                // the transaction aborted, so nothing in this chunk was written
+                for (int i : changes.keySet()) results[i] = new BulkItemResult(i, results[i].id(), 500, "rolled back with its chunk");
+                changes.clear();
+            } else if (!changes.isEmpty()) {
+                outbox.record(OutboxEvent.BATCH, actor, new ArrayList<>(changes.values()));
+            }
+        }
+        if (!changes.isEmpty()) events.publishEvent(new TaskBatchEvent(actor, new ArrayList<>(changes.values())));
+    }
+
+    /**
+     * Replacements whose version predicate matched nothing lost to a concurrent write: 409, no event.
+     * Only looked up when the matched count is short. A write of ours already overwritten again by
+     * the time of the lookup is reported as a conflict too. Deletes are checked the same way against
+     * the deleted count, see {@link #dropDeleteConflicts}.
+     */
+    private void dropConflicts(BulkWriteResult result, Map<Integer, Task> replaced, Map<Integer, Task> removed,
+                               Map<Integer, TaskBatchEvent.Change> changes, BulkItemResult[] results) {
+        dropDeleteConflicts(result, removed, changes, results);
+        replaced.keySet().retainAll(changes.keySet());
+        if (replaced.isEmpty() || result.getMatchedCount() >= replaced.size()) return;
+        Set<String> ids = new HashSet<>();
+        for (Task t : replaced.values()) ids.add(t.getId());
+        Query q = Query.query(Criteria.where("_id").in(ids));
+        q.fields().include("version", "updatedAt");
+        Map<String, Task> stored = new HashMap<>();
+        for (Task t : mongo.find(q, Task.class)) stored.put(t.getId(), t);
+        for (var e : replaced.entrySet()) {
+            Task mine = e.getValue(), now = stored.get(mine.getId());
+            boolean applied = now != null && Objects.equals(now.getVersion(), mine.getVersion())
+                && Objects.equals(now.getUpdatedAt(), mine.getUpdatedAt());
+            if (applied) continue;
+            int i = e.getKey();
+            results[i] = new BulkItemResult(i, mine.getId(), 409, "task was modified concurrently");
+            changes.remove(i);
+        }
+    }
+
+    /**
+     * A delete whose task is still there lost its version predicate to a concurrent write: 409. One
+     * whose task is gone was ours when exactly as many are gone as we deleted; with more gone, some
+     * were deleted by someone else and the bulk result cannot say which, so all of those are
+     * reported 404 without an event rather than risk counting a delete twice (the analytics
+     * reconciliation corrects the counters for the ones that were in fact ours).
+     */
+    private void dropDeleteConflicts(BulkWriteResult result, Map<Integer, Task> removed,
+                                     Map<Integer, TaskBatchEvent.Change> changes, BulkItemResult[] results) {
+        removed.keySet().retainAll(changes.keySet());
+        if (removed.isEmpty() || result.getDeletedCount() >= removed.size()) return;
+        Set<String> ids = new HashSet<>();
+        for (Task t : removed.values()) ids.add(t.getId());
+        Query q = Query.query(Criteria.where("_id").in(ids));
+        q.fields().include("_id");
+        Set<String> present = new HashSet<>();
+        for (Task t : mongo.find(q, Task.class)) present.add(t.getId());
+        boolean othersDeleted = removed.size() - present.size() > result.getDeletedCount();
+        for (var e : removed.entrySet()) {
+            int i = e.getKey();
+            String id = e.getValue().getId();
+            if (present.contains(id)) {
+                results[i] = new BulkItemResult(i, id, 409, "task was modified concurrently");
+            } else if (othersDeleted) {
+                results[i] = new BulkItemResult(i, id, 404, "task was deleted concurrently");
+            } else {
+                continue;
+            }
+            changes.remove(i);
+        }
+    }
+
+    private Task prepareCreate(Task incoming, String actor, Instant now) {
+        if (incoming == null) throw new IllegalArgumentException("task is required");
+        Task t = policy.normalize(incoming);
+        t.setId(new ObjectId().toHexString()); // assigned up front so results and events carry it
+        t.setVersion(0L);
+        t.setOwner(actor);
+        policy.applyDefaults(t);
+        policy.validateForCreate(t);
+        t.setCreatedAt(now);
+        t.setUpdatedAt(now);
+        return t;
+    }
+
+    private Task prepareUpdate(Task existing, Task incoming, String actor, boolean isAdmin, Instant now) {
+        if (incoming == null) throw new IllegalArgumentException("task is required");
+        Task t = policy.normalize(incoming);
+        t.setId(existing.getId());
+        t.setVersion(TaskCommandService.version(existing) + 1);
+        if (!isAdmin) t.setOwner(actor);
+        policy.applyDefaults(t);
+        policy.validateForUpdate(existing, t);
+        if (existing.getCreatedAt() != null) t.setCreatedAt(existing.getCreatedAt());
+        t.setUpdatedAt(now);
+        return t;
+    }
+}
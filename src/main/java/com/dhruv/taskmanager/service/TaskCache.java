@@ -0,0 +1,173 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Tasks by id in front of {@link TaskService#get}. Writes through {@link TaskService} put the
+ * stored task (after commit when a transaction is open); a lost compare-and-set drops the entry so
+ * the retry reads Mongo. Misses are cached for {@code negative-ttl}. Task events drop entries whose
+ * {@code updatedAt} differs from the change, which covers bulk writes, escalations and, through
+ * {@link ClusterEventBus}, writes on other replicas. {@code ttl} bounds anything else.
+ *
+ * <p>Entries are copies, truncated to Mongo's millisecond precision, and every read gets its own
+ * copy. Hit/miss metrics are {@code cache.*{cache=tasks}}; entries found out of date by an event
+ * count in {@code tasks.cache.stale}, and {@code tasks.cache.staleness} times how long after the
+ * write that happened.
+ */
+@Component
+public class TaskCache {
+
+    private record Entry(@Nullable Task task) {}
+
+    private static final Entry MISSING = new Entry(null);
+
+    private final Cache<String, Entry> cache;
+    private final Counter stale;
+    private final Timer staleness;
+
+    public TaskCache(MeterRegistry meters,
+                     @Value("${app.tasks.cache.max-entries:10000}") long maxEntries,
+                     @Value("${app.tasks.cache.ttl:PT1M}") Duration ttl,
+                     @Value("${app.tasks.cache.negative-ttl:PT5S}") Duration negativeTtl) {
+        long found = ttl.toNanos(), missing = negativeTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfter(new Expiry<String, Entry>() {
+                @Override
+                public long expireAfterCreate(String id, Entry e, long currentTime) {
+                    return e.task() == null ? missing : found;
+                }
+
+                @Override
+                public long expireAfterUpdate(String id, Entry e, long currentTime, long currentDuration) {
+                    return expireAfterCreate(id, e, currentTime);
+                }
+
+                @Override
+                public long expireAfterRead(String id, Entry e, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meters, cache, "tasks");
+        this.stale = Counter.builder("tasks.cache.stale").register(meters);
+        this.staleness = Timer.builder("tasks.cache.staleness").register(meters);
+    }
+
+    /** The task, loaded with {@code loader} on a miss; null when there is none. */
+    @Nullable
+    public Task get(String id, Function<String, Task> loader) {
+        Entry e = cache.get(id, k -> entry(loader.apply(k)));
+        return e.task() == null ? null : TaskFields.copy(e.task());
+    }
+
+    /** Records {@code saved} as the stored state of its task. */
+    public void put(Task saved) {
+        String id = Objects.requireNonNull(saved.getId(), "id");
+        Entry e = entry(saved);
+        afterCommit(id, () -> cache.put(id, e));
+    }
+
+    /** Records that the task no longer exists. */
+    public void putMissing(String id) {
+        afterCommit(id, () -> cache.put(id, MISSING));
+    }
+
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onCreated(TaskCreatedEvent e) {
+        apply(e.taskId(), e.after());
+    }
+
+    @EventListener
+    public void onUpdated(TaskUpdatedEvent e) {
+        apply(e.taskId(), e.after());
+    }
+
+    @EventListener
+    public void onDeleted(TaskDeletedEvent e) {
+        apply(e.taskId(), null);
+    }
+
+    @EventListener
+    public void onBatch(TaskBatchEvent e) {
+        for (TaskBatchEvent.Change c : e.changes()) apply(c.taskId(), c.after());
+    }
+
+    // the write path has usually cached this very version already; only drop what differs
+    private void apply(String id, @Nullable TaskSnapshot after) {
+        Entry e = cache.getIfPresent(id);
+        if (e == null) return;
+        Task t = e.task();
+        boolean current = after == null ? t == null : t != null && Objects.equals(after.updatedAt(), t.getUpdatedAt());
+        if (current) return;
+        cache.asMap().remove(id, e);
+        stale.increment();
+        if (after != null && after.updatedAt() != null) {
+            staleness.record(Duration.between(after.updatedAt(), Instant.now()).abs());
+        }
+    }
+
+    /** In a transaction the entry is dropped now and set on commit, so a rollback never shows. */
+    private void afterCommit(String id, Runnable write) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.run();
+            return;
+        }
+        cache.invalidate(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) write.run();
+                else cache.invalidate(id);
+            }
+        });
+    }
+
+    private static Entry entry(@Nullable Task t) {
+        if (t == null) return MISSING;
+        Task c = TaskFields.copy(t);
+        c.setDueDate(millis(c.getDueDate()));
+        c.setCreatedAt(millis(c.getCreatedAt()));
+        c.setUpdatedAt(millis(c.getUpdatedAt()));
+        return new Entry(c);
+    }
+
+    private static Instant millis(@Nullable Instant i) {
+        return i == null ? null : i.truncatedTo(ChronoUnit.MILLIS);
+    }
+}
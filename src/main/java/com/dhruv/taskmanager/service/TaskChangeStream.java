@@ -0,0 +1,336 @@
+package com.dhruv.taskmanager.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.Task;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pushes task changes to dashboards over Server-Sent Events. Task events are collected for
+ * {@code coalesce-ms}, the changed tasks are loaded once, and every subscriber gets the ones it may
+ * see: {@code task} (the full task), {@code deleted} ({@code {"id"}}) and then, for subscribers that
+ * asked for it, {@code analytics} with its refreshed counters from the {@link AnalyticsMaterializedView}.
+ * The counters are only computed for subscribers that want them.
+ *
+ * <p>Event ids are {@code <epoch>-<seq>}; the last {@code replay} changes are kept so a client that
+ * reconnects with {@code Last-Event-ID} receives what it missed. When that is no longer possible
+ * (older id, or an id from before a restart) it gets {@code resync} and reloads. Each subscriber has a
+ * bounded buffer drained by its own virtual thread, the only thread that touches its emitter; a
+ * subscriber whose buffer fills up is disconnected rather than slowing anyone else down, and catches
+ * up through the same resume path.
+ */
+@Service
+public class TaskChangeStream implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeStream.class);
+
+    /** One change as sent: {@code task} is null for a delete. */
+    record Delta(long seq, String taskId, @Nullable Task task, Set<String> owners) {}
+
+    record Message(@Nullable String id, String name, Object data) {}
+
+    final class Subscriber {
+        final String user;
+        final boolean admin;
+        final boolean analytics;
+        final SseEmitter emitter;
+        final BlockingQueue<Message> buffer;
+        volatile boolean closed;
+        volatile Thread drainer;
+
+        Subscriber(String user, boolean admin, boolean analytics, SseEmitter emitter) {
+            this.user = user;
+            this.admin = admin;
+            this.analytics = analytics;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean sees(Delta d) {
+            return admin || d.owners().contains(user);
+        }
+
+        /** Never blocks: a full buffer only marks the subscriber closed, its drain thread completes the emitter. */
+        void offer(Message m) {
+            if (closed) return;
+            if (!buffer.offer(m)) {
+                dropped.increment();
+                log.debug("disconnecting slow stream subscriber {}", user);
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+        }
+
+        void drain() {
+            try {
+                while (!closed) {
+                    Message m = buffer.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (m == null) {
+                        emitter.send(SseEmitter.event().comment("keep-alive"));
+                        continue;
+                    }
+                    SseEmitter.SseEventBuilder e = SseEmitter.event().name(m.name()).data(m.data(), MediaType.APPLICATION_JSON);
+                    if (m.id() != null) e.id(m.id());
+                    emitter.send(e);
+                }
+                emitter.complete(); // dropped for falling behind; a no-op when the client already left
+            } catch (IOException | IllegalStateException ex) {
+                close(); // client went away
+            } catch (InterruptedException ex) { // shutdown
+                close();
+                emitter.complete();
+            }
+        }
+    }
+
+    private final MongoTemplate mongo;
+    private final AnalyticsMaterializedView view;
+    private final int bufferSize;
+    private final int replaySize;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final long coalesceMillis;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<Change> pending = new LinkedBlockingQueue<>();
+    private final Counter dropped;
+
+    // guarded by this
+    private final ArrayDeque<Delta> replay = new ArrayDeque<>();
+    private long seq;
+
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    public TaskChangeStream(MongoTemplate mongo, AnalyticsMaterializedView view, MeterRegistry meters,
+                            @Value("${app.stream.buffer:256}") int bufferSize,
+                            @Value("${app.stream.replay:1024}") int replaySize,
+                            @Value("${app.stream.heartbeat:PT15S}") Duration heartbeat,
+                            @Value("${app.stream.timeout:PT30M}") Duration timeout,
+                            @Value("${app.stream.coalesce-ms:50}") long coalesceMillis) {
+        this.mongo = mongo;
+        this.view = view;
+        this.bufferSize = bufferSize;
+        this.replaySize = replaySize;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.coalesceMillis = coalesceMillis;
+        this.dropped = meters.counter("stream.dropped");
+        Gauge.builder("stream.subscribers", subscribers, List::size).register(meters);
+    }
+
+    /**
+     * Registers a subscriber; with {@code lastEventId}, first replays what it missed (or asks it to resync).
+     * {@code analytics} adds the refreshed counters after each batch of changes.
+     */
+    public SseEmitter subscribe(String user, boolean admin, boolean analytics, @Nullable String lastEventId) {
+        return subscribe(user, admin, analytics, lastEventId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(String user, boolean admin, boolean analytics, @Nullable String lastEventId, SseEmitter emitter) {
+        Objects.requireNonNull(user, "user");
+        Subscriber s = new Subscriber(user, admin, analytics, emitter);
+        emitter.onCompletion(s::close);
+        emitter.onTimeout(s::close);
+        emitter.onError(ex -> s.close());
+
+        synchronized (this) {
+            Long after = resumeFrom(lastEventId);
+            List<Message> missed = new ArrayList<>();
+            if (after != null) {
+                for (Delta d : replay) {
+                    if (d.seq() > after && s.sees(d)) missed.add(message(d, s));
+                }
+            }
+            if (lastEventId != null && (after == null || missed.size() >= bufferSize)) {
+                s.offer(new Message(null, "resync", Map.of()));
+            } else {
+                missed.forEach(s::offer);
+            }
+            s.offer(new Message(id(seq), "ready", Map.of("id", id(seq))));
+            subscribers.add(s);
+        }
+        s.drainer = Thread.ofVirtual().name("task-stream-" + user).start(s::drain);
+        return emitter;
+    }
+
+    /** Sequence to resume after, or null when the id is missing, foreign, or older than the replay window. */
+    @Nullable
+    private Long resumeFrom(@Nullable String lastEventId) {
+        if (lastEventId == null || !lastEventId.startsWith(epoch + "-")) return null;
+        long last;
+        try {
+            last = Long.parseLong(lastEventId.substring(epoch.length() + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        long oldest = replay.isEmpty() ? seq + 1 : replay.peekFirst().seq();
+        return last > seq || last < oldest - 1 ? null : last;
+    }
+
+    private String id(long s) {
+        return epoch + "-" + s;
+    }
+
+    private Message message(Delta d, Subscriber s) {
+        boolean visible = d.task() != null && (s.admin || s.user.equals(d.task().getOwner()));
+        return visible ? new Message(id(d.seq()), "task", d.task())
+            : new Message(id(d.seq()), "deleted", Map.of("id", d.taskId()));
+    }
+
+    @EventListener
+    public void onCreated(TaskCreatedEvent e) {
+        enqueue(new Change(e.taskId(), null, e.after()));
+    }
+
+    @EventListener
+    public void onUpdated(TaskUpdatedEvent e) {
+        enqueue(new Change(e.taskId(), e.before(), e.after()));
+    }
+
+    @EventListener
+    public void onDeleted(TaskDeletedEvent e) {
+        if (e.before() != null) enqueue(new Change(e.taskId(), e.before(), null));
+    }
+
+    @EventListener
+    public void onBatch(TaskBatchEvent e) {
+        e.changes().forEach(this::enqueue);
+    }
+
+    private void enqueue(Change c) {
+        if (running) pending.add(c);
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Change first = pending.take();
+                if (coalesceMillis > 0) Thread.sleep(coalesceMillis);
+                List<Change> changes = new ArrayList<>();
+                changes.add(first);
+                pending.drainTo(changes);
+                publish(changes);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("task stream dispatch failed: {}", ex.toString());
+            }
+        }
+    }
+
+    /** Loads the changed tasks once and fans the deltas and refreshed analytics out to subscribers. */
+    void publish(List<Change> changes) {
+        Set<String> ids = new HashSet<>();
+        for (Change c : changes) if (c.after() != null) ids.add(c.taskId());
+        Map<String, Task> loaded = new HashMap<>();
+        if (!ids.isEmpty()) {
+            mongo.find(Query.query(Criteria.where("_id").in(ids)), Task.class).forEach(t -> loaded.put(t.getId(), t));
+        }
+
+        Set<String> owners = new HashSet<>();
+        synchronized (this) {
+            List<Delta> deltas = new ArrayList<>(changes.size());
+            for (Change c : changes) {
+                Set<String> audience = new HashSet<>(2);
+                if (c.before() != null && c.before().owner() != null) audience.add(c.before().owner());
+                if (c.after() != null && c.after().owner() != null) audience.add(c.after().owner());
+                owners.addAll(audience);
+                Delta d = new Delta(++seq, c.taskId(), c.after() == null ? null : loaded.get(c.taskId()), Set.copyOf(audience));
+                deltas.add(d);
+                replay.addLast(d);
+                if (replay.size() > replaySize) replay.removeFirst();
+            }
+            for (Subscriber s : subscribers) {
+                for (Delta d : deltas) if (s.sees(d)) s.offer(message(d, s));
+            }
+        }
+        pushAnalytics(owners);
+    }
+
+    private void pushAnalytics(Set<String> owners) {
+        Map<String, TaskAnalyticsDto> perOwner = new HashMap<>();
+        TaskAnalyticsDto global = null;
+        for (Subscriber s : subscribers) {
+            if (!s.analytics) continue;
+            TaskAnalyticsDto dto;
+            if (s.admin) {
+                if (global == null) global = view.snapshot(null).orElse(null);
+                dto = global;
+            } else if (owners.contains(s.user)) {
+                dto = perOwner.computeIfAbsent(s.user, u -> view.snapshot(u).orElse(null));
+            } else {
+                continue;
+            }
+            if (dto != null) s.offer(new Message(null, "analytics", dto));
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        dispatcher = Thread.ofVirtual().name("task-stream-dispatcher").start(this::dispatchLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (dispatcher != null) dispatcher.interrupt();
+        for (Subscriber s : subscribers) {
+            s.close();
+            Thread t = s.drainer;
+            if (t != null) t.interrupt(); // wakes it from the heartbeat wait to complete the emitter
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
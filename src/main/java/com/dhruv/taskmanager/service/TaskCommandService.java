@@ -1,13 +1,25 @@
 package com.dhruv.taskmanager.service;
 
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
 import com.dhruv.taskmanager.events.TaskCreatedEvent;
 import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
 import com.dhruv.taskmanager.events.TaskUpdatedEvent;
 import com.dhruv.taskmanager.model.Task;
 
@@ -16,18 +28,25 @@ public class TaskCommandService {
 
     private final TaskService repoService;
     private final TaskPolicyService policy;
+    private final DomainEventOutbox outbox;
     private final ApplicationEventPublisher events;
+    private final int mergeAttempts;
 
-    public TaskCommandService(TaskService repoService, TaskPolicyService policy, ApplicationEventPublisher events) {
+    public TaskCommandService(TaskService repoService, TaskPolicyService policy, DomainEventOutbox outbox,
+                              ApplicationEventPublisher events,
+                              @Value("${app.tasks.update.merge-attempts:3}") int mergeAttempts) {
         this.repoService = repoService;
         this.policy = policy;
+        this.outbox = outbox;
         this.events = events;
+        this.mergeAttempts = Math.max(1, mergeAttempts);
     }
 
     public Task create(Task incoming, String principalName) {
         Objects.requireNonNull(principalName, "principal required");
         Task t = policy.normalize(incoming);
         t.setId(null);
+        t.setVersion(null);
         t.setOwner(principalName);
 
         policy.applyDefaults(t);
@@ -37,12 +56,28 @@ public class TaskCommandService {
         t.setCreatedAt(now);
         t.setUpdatedAt(now);
 
-        Task saved = repoService.save(t);
-        events.publishEvent(new TaskCreatedEvent(saved.getId(), principalName));
+        Task saved = outbox.inTransaction(() -> {
+            Task s = repoService.save(t);
+            outbox.record(principalName, new Change(s.getId(), null, TaskSnapshot.of(s)));
+            return s;
+        });
+        events.publishEvent(new TaskCreatedEvent(saved.getId(), principalName, TaskSnapshot.of(saved)));
         return saved;
     }
 
     public Task update(String id, Task incoming, String principalName, boolean isAdmin) {
+        return update(id, incoming, principalName, isAdmin, null);
+    }
+
+    /**
+     * Replaces the task's fields with compare-and-set on its version, so a concurrent edit or
+     * escalation is never silently overwritten. {@code expectedVersion} (from {@code If-Match})
+     * must be the current version, and stays pinned: losing the compare-and-set is then a conflict.
+     * Without it, when another write lands between our read and our write, the edit is re-applied
+     * on top of it if the two touched different fields, up to {@code merge-attempts} times;
+     * otherwise {@link OptimisticLockingFailureException}.
+     */
+    public Task update(String id, Task incoming, String principalName, boolean isAdmin, @Nullable Long expectedVersion) {
         Objects.requireNonNull(principalName, "principal required");
         Task existing = repoService.get(id);
         if (existing == null) return null;
@@ -50,6 +85,9 @@ public class TaskCommandService {
         if (!isAdmin && !principalName.equals(existing.getOwner())) {
             throw new SecurityException("forbidden");
         }
+        if (expectedVersion != null && expectedVersion != version(existing)) {
+            throw new OptimisticLockingFailureException("task is at version " + version(existing));
+        }
 
         Task t = policy.normalize(incoming);
         t.setId(id);
@@ -62,16 +100,150 @@ public class TaskCommandService {
 
         // keep timestamps
         if (existing.getCreatedAt() != null) t.setCreatedAt(existing.getCreatedAt());
-        t.setUpdatedAt(Instant.now());
 
-        Task saved = repoService.save(t);
-        events.publishEvent(new TaskUpdatedEvent(saved.getId(), principalName, existing.getStatus(), saved.getStatus()));
-        return saved;
+        Task base = existing;
+        for (int attempt = 1; ; attempt++) {
+            t.setUpdatedAt(Instant.now());
+            Task before = base, candidate = t;
+            Task saved = outbox.inTransaction(() -> {
+                Task s = repoService.replace(candidate, before.getVersion());
+                if (s != null) outbox.record(principalName, new Change(id, TaskSnapshot.of(before), TaskSnapshot.of(s)));
+                return s;
+            });
+            if (saved != null) {
+                events.publishEvent(new TaskUpdatedEvent(saved.getId(), principalName, TaskSnapshot.of(before), TaskSnapshot.of(saved),
+                    TaskFields.diff(before, saved)));
+                return saved;
+            }
+            if (expectedVersion != null) {
+                // the version the client named is gone (or the read came from a stale cache entry)
+                throw new OptimisticLockingFailureException("task was modified concurrently");
+            }
+
+            Task current = repoService.get(id);
+            if (current == null) return null; // deleted meanwhile
+            if (!isAdmin && !principalName.equals(current.getOwner())) throw new SecurityException("forbidden");
+            Task merged = attempt < mergeAttempts ? TaskFields.merge(base, t, current) : null;
+            if (merged == null) {
+                throw new OptimisticLockingFailureException("task was modified concurrently, now at version " + version(current));
+            }
+            policy.validateForUpdate(current, merged);
+            t = merged;
+            base = current;
+        }
+    }
+
+    /**
+     * JSON Merge Patch (RFC 7396) of the editable fields: a value sets the field, {@code null} removes
+     * it, absent fields are left alone. Only the touched fields are validated (the status transition
+     * against the stored status) and only the ones that actually change are written, as one
+     * {@code $set}/{@code $unset} guarded by the version. Losing that race re-applies the patch to the
+     * new version, unless {@code expectedVersion} pinned it, in which case it is a conflict.
+     */
+    public Task patch(String id, Map<String, Object> patch, String principalName, boolean isAdmin,
+                      @Nullable Long expectedVersion) {
+        Objects.requireNonNull(principalName, "principal required");
+        if (patch == null || patch.isEmpty()) throw new IllegalArgumentException("patch is empty");
+        Task values = patchValues(patch, principalName, isAdmin);
+
+        Task existing = repoService.get(id);
+        for (int attempt = 1; ; attempt++) {
+            if (existing == null) return null;
+            if (!isAdmin && !principalName.equals(existing.getOwner())) throw new SecurityException("forbidden");
+            if (expectedVersion != null && expectedVersion != version(existing)) {
+                throw new OptimisticLockingFailureException("task is at version " + version(existing));
+            }
+
+            Task after = TaskFields.copy(existing);
+            for (String name : patch.keySet()) {
+                TaskFields.Field f = TaskFields.named(name).orElseThrow();
+                f.set().accept(after, f.get().apply(values));
+            }
+            validatePatch(existing, after, patch.keySet());
+            Map<String, Object> diff = TaskFields.diff(existing, after);
+            if (diff.isEmpty()) return existing; // nothing to write
+
+            Update update = new Update().set("updatedAt", Instant.now());
+            diff.forEach((field, value) -> {
+                if (value == null) update.unset(field);
+                else update.set(field, value);
+            });
+            Task before = existing;
+            Task saved = outbox.inTransaction(() -> {
+                Task s = repoService.update(id, before.getVersion(), update);
+                if (s != null) outbox.record(principalName, new Change(id, TaskSnapshot.of(before), TaskSnapshot.of(s)));
+                return s;
+            });
+            if (saved != null) {
+                events.publishEvent(new TaskUpdatedEvent(id, principalName, TaskSnapshot.of(before), TaskSnapshot.of(saved), diff));
+                return saved;
+            }
+            if (expectedVersion != null || attempt >= mergeAttempts) {
+                throw new OptimisticLockingFailureException("task was modified concurrently");
+            }
+            existing = repoService.get(id);
+        }
+    }
+
+    /** The patched values, normalized like a full update; rejects fields that cannot be patched. */
+    private Task patchValues(Map<String, Object> patch, String principalName, boolean isAdmin) {
+        Task values = new Task();
+        for (Map.Entry<String, Object> e : patch.entrySet()) {
+            TaskFields.Field f = TaskFields.named(e.getKey())
+                .orElseThrow(() -> new IllegalArgumentException("cannot patch field " + e.getKey()));
+            Object v = e.getValue();
+            if (v != null && !(v instanceof String)) throw new IllegalArgumentException(f.name() + " must be a string");
+            if (f.name().equals("owner") && !isAdmin && !principalName.equals(v)) {
+                throw new SecurityException("only admins can reassign tasks");
+            }
+            if (f.name().equals("dueDate") && v != null) {
+                try {
+                    v = Instant.parse((String) v);
+                } catch (DateTimeParseException ex) {
+                    throw new IllegalArgumentException("dueDate must be an ISO-8601 instant");
+                }
+            }
+            if (f.name().equals("status")) v = TaskStatus.from((String) v);
+            if (f.name().equals("priority")) v = TaskPriority.from((String) v);
+            f.set().accept(values, v);
+        }
+        return policy.normalize(values);
+    }
+
+    private void validatePatch(Task existing, Task after, Set<String> touched) {
+        for (String required : List.of("title", "status", "priority", "owner")) {
+            if (touched.contains(required) && TaskFields.named(required).orElseThrow().get().apply(after) == null) {
+                throw new IllegalArgumentException(required + " cannot be removed");
+            }
+        }
+        if (touched.contains("title") && after.getTitle().isBlank()) throw new IllegalArgumentException("title is required");
+        if (touched.contains("dueDate")) policy.validateDueDate(after.getDueDate());
+        if (touched.contains("status")) {
+            TaskStatus from = existing.getStatus();
+            TaskStatus to = after.getStatus();
+            if (!policy.validTransition(from, to)) {
+                throw new IllegalArgumentException("invalid status transition " + from + " -> " + to);
+            }
+        }
+    }
+
+    /** Documents written before versions existed count as version 0. */
+    static long version(Task t) {
+        return t.getVersion() == null ? 0 : t.getVersion();
     }
 
+    /**
+     * The snapshot recorded and published is the document the delete actually removed, so a change
+     * that lands just before it is not lost from the counters or the tombstone; deleting a task
+     * that is already gone records nothing.
+     */
     public void delete(String id, String principalName, boolean isAdmin) {
         if (!isAdmin) throw new SecurityException("admin only");
-        repoService.delete(id);
-        events.publishEvent(new TaskDeletedEvent(id, principalName));
+        Task removed = outbox.inTransaction(() -> {
+            Task r = repoService.delete(id);
+            if (r != null) outbox.record(principalName, new Change(id, TaskSnapshot.of(r), null));
+            return r;
+        });
+        if (removed != null) events.publishEvent(new TaskDeletedEvent(id, principalName, TaskSnapshot.of(removed)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.dhruv.taskmanager.dto.TaskDtos.TaskDelta;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.model.TaskTombstone;
+
+/**
+ * Changes to the visible task list since a client's last sync: tasks updated after {@code since}
+ * and the ids that dropped out of the list (tombstones written by {@link DomainEventOutbox}).
+ * {@code asOf} trails the clock by {@code overlap} so writes still committing when the delta was
+ * read show up again next time; clients apply the delta idempotently by id.
+ */
+@Service
+public class TaskDeltaService {
+
+    private static final Duration RETENTION = DurationStyle.detectAndParse(TaskTombstone.RETENTION);
+
+    private final MongoTemplate mongo;
+    private final int maxChanges;
+    private final Duration overlap;
+
+    public TaskDeltaService(MongoTemplate mongo,
+                            @Value("${app.tasks.delta.max-changes:1000}") int maxChanges,
+                            @Value("${app.tasks.delta.overlap:PT5S}") Duration overlap) {
+        this.mongo = mongo;
+        this.maxChanges = maxChanges;
+        this.overlap = overlap;
+    }
+
+    /** Too many changes, or a {@code since} older than the tombstones, answers with {@code resync}. */
+    public TaskDelta since(String principalName, boolean isAdmin, Instant since) {
+        Objects.requireNonNull(principalName, "principal required");
+        if (since == null) throw new IllegalArgumentException("since is required");
+        Instant now = Instant.now();
+        Instant asOf = now.minus(overlap);
+        if (since.isBefore(now.minus(RETENTION))) return TaskDelta.resync(asOf);
+
+        Criteria changed = Criteria.where("updatedAt").gt(since);
+        if (!isAdmin) changed = changed.and("owner").is(principalName);
+        List<Task> tasks = mongo.find(Query.query(changed)
+            .with(Sort.by(Sort.Direction.DESC, "updatedAt", "_id"))
+            .limit(maxChanges + 1), Task.class);
+        if (tasks.size() > maxChanges) return TaskDelta.resync(asOf);
+
+        Criteria removed = Criteria.where("at").gt(since);
+        removed = isAdmin ? removed.and("gone").is(true) : removed.and("owner").is(principalName);
+        Query q = Query.query(removed).limit(maxChanges + 1);
+        q.fields().include("taskId");
+        List<TaskTombstone> tombstones = mongo.find(q, TaskTombstone.class);
+        if (tombstones.size() > maxChanges) return TaskDelta.resync(asOf);
+
+        Set<String> present = new HashSet<>();
+        for (Task t : tasks) present.add(t.getId());
+        Set<String> deleted = new LinkedHashSet<>();
+        for (TaskTombstone t : tombstones) {
+            if (!present.contains(t.getTaskId())) deleted.add(t.getTaskId()); // reassigned back since
+        }
+        return new TaskDelta(tasks, List.copyOf(deleted), asOf, false);
+    }
+}
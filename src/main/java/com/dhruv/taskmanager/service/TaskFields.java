@@ -0,0 +1,80 @@
+package com.dhruv.taskmanager.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.model.Task;
+
+/** The user-editable task fields, for comparing and merging versions of a task field by field. */
+final class TaskFields {
+
+    record Field(String name, Function<Task, Object> get, BiConsumer<Task, Object> set) {}
+
+    static final List<Field> EDITABLE = List.of(
+        new Field("title", Task::getTitle, (t, v) -> t.setTitle((String) v)),
+        new Field("description", Task::getDescription, (t, v) -> t.setDescription((String) v)),
+        new Field("status", Task::getStatus, (t, v) -> t.setStatus((TaskStatus) v)),
+        new Field("priority", Task::getPriority, (t, v) -> t.setPriority((TaskPriority) v)),
+        new Field("dueDate", Task::getDueDate, (t, v) -> t.setDueDate((Instant) v)),
+        new Field("assignee", Task::getAssignee, (t, v) -> t.setAssignee((String) v)),
+        new Field("owner", Task::getOwner, (t, v) -> t.setOwner((String) v)));
+
+    private TaskFields() {}
+
+    /** The diff from {@code before} to {@code after}: changed field names with their new values. */
+    static Map<String, Object> diff(Task before, Task after) {
+        Map<String, Object> d = new LinkedHashMap<>();
+        for (Field f : EDITABLE) {
+            Object a = f.get().apply(after);
+            if (!same(f.get().apply(before), a)) d.put(f.name(), a);
+        }
+        return d;
+    }
+
+    static Optional<Field> named(String name) {
+        for (Field f : EDITABLE) if (f.name().equals(name)) return Optional.of(f);
+        return Optional.empty();
+    }
+
+    static Task copy(Task source) {
+        Task t = new Task();
+        t.setId(source.getId());
+        for (Field f : EDITABLE) f.set().accept(t, f.get().apply(source));
+        t.setCreatedAt(source.getCreatedAt());
+        t.setUpdatedAt(source.getUpdatedAt());
+        t.setVersion(source.getVersion());
+        return t;
+    }
+
+    /**
+     * Three-way merge: {@code mine} and {@code theirs} were both derived from {@code base}. Returns
+     * {@code theirs} with my changes applied, or null when we changed the same field differently.
+     */
+    static Task merge(Task base, Task mine, Task theirs) {
+        Task merged = copy(theirs);
+        for (Field f : EDITABLE) {
+            Object b = f.get().apply(base), m = f.get().apply(mine), t = f.get().apply(theirs);
+            if (same(m, b)) continue;
+            if (!same(t, b) && !same(t, m)) return null;
+            f.set().accept(merged, m);
+        }
+        return merged;
+    }
+
+    // stored instants have millisecond precision, incoming ones may not
+    private static boolean same(Object a, Object b) {
+        if (a instanceof Instant x && b instanceof Instant y) {
+            return x.truncatedTo(ChronoUnit.MILLIS).equals(y.truncatedTo(ChronoUnit.MILLIS));
+        }
+        return Objects.equals(a, b);
+    }
+}
@@ -1,47 +1,143 @@
 package com.dhruv.taskmanager.service;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.lang.Nullable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.model.OutboxEvent;
 import com.dhruv.taskmanager.model.Task;
 
+/**
+ * Applies {@link TaskPolicyService#escalatedPriority} as targeted queries instead of a full scan:
+ * each rule selects one priority among open tasks in a dueDate range (index
+ * {@code priority_status_due}), walks it in chunks behind a (dueDate, _id) watermark and
+ * {@code $set}s only {@code priority} and {@code updatedAt}. Escalated tasks leave the rule's
+ * range, so a run only reads tasks that actually escalate. {@link EscalationTimer} calls the same
+ * rules for the tasks whose threshold just passed; this periodic sweep is the safety net.
+ */
 @Component
 public class TaskMaintenanceScheduler {
 
-    private final TaskService repoService;
-    private final TaskPolicyService policy;
-    private final AnalyticsCacheService cache;
+    static final String SYSTEM_ACTOR = "system";
 
-    public TaskMaintenanceScheduler(TaskService repoService, TaskPolicyService policy, AnalyticsCacheService cache) {
-        this.repoService = repoService;
-        this.policy = policy;
-        this.cache = cache;
+    // escalatedPriority truncates to whole hours: "< 24h" covers due < now+25h, "overdue" due <= now-1h
+    static final Duration SOON = Duration.ofHours(25);
+    static final Duration OVERDUE = Duration.ofHours(1);
+
+    static final String LOCK = "task-maintenance";
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+
+    private final MongoTemplate mongo;
+    private final DomainEventOutbox outbox;
+    private final ApplicationEventPublisher events;
+    private final LeaseLock locks;
+    private final int chunkSize;
+
+    public TaskMaintenanceScheduler(MongoTemplate mongo, DomainEventOutbox outbox, ApplicationEventPublisher events,
+                                    LeaseLock locks, @Value("${app.jobs.escalation.chunk-size:500}") int chunkSize) {
+        this.mongo = mongo;
+        this.outbox = outbox;
+        this.events = events;
+        this.locks = locks;
+        this.chunkSize = chunkSize;
     }
 
     @Async
-    @Scheduled(fixedDelayString = "${app.jobs.maintenance-ms:600000}") // default 10 min
+    @Scheduled(fixedDelayString = "${app.jobs.maintenance-ms:3600000}") // default 1 h
     public void run() {
-        Instant now = Instant.now();
-        List<Task> all = repoService.all();
-
-        boolean changed = false;
-        for (Task t : all) {
-            TaskPriority newP = policy.escalatedPriority(t, now);
-            TaskPriority curP = TaskPriority.from(t.getPriority());
-            if (newP != null && curP != null && newP.ordinal() > curP.ordinal()) {
-                t.setPriority(newP.name());
-                t.setUpdatedAt(Instant.now());
-                repoService.save(t);
-                changed = true;
-            }
+        if (!locks.tryAcquire(LOCK, LOCK_TTL)) return; // another replica is sweeping
+        try {
+            escalate(Instant.now(), null);
+        } finally {
+            locks.release(LOCK);
         }
+    }
+
+    /**
+     * Escalates all tasks, or only {@code ids} when given, until {@link TaskPolicyService#escalatedPriority}
+     * has nothing more to do for them; returns the number of escalation steps.
+     */
+    public int escalate(Instant at, @Nullable Collection<String> ids) {
+        Instant now = at.truncatedTo(ChronoUnit.MILLIS); // Mongo precision, so updatedAt can be matched back
+        Instant soon = now.plus(SOON);
+        Instant overdue = now.minus(OVERDUE);
+
+        // LOW before MEDIUM: a task inside the window takes both steps of escalatedPriority in one
+        // run (LOW -> MEDIUM -> HIGH, one event each), the same answer the timer reaches when it fires
+        return apply(TaskPriority.LOW, TaskPriority.HIGH, Criteria.where("dueDate").lte(overdue), ids, now)
+            + apply(TaskPriority.LOW, TaskPriority.MEDIUM, Criteria.where("dueDate").gt(overdue).lt(soon), ids, now)
+            + apply(TaskPriority.MEDIUM, TaskPriority.HIGH, Criteria.where("dueDate").lt(soon), ids, now);
+    }
+
+    private int apply(TaskPriority from, TaskPriority to, Criteria due, @Nullable Collection<String> ids, Instant now) {
+        List<Criteria> and = new ArrayList<>(List.of(
+            Criteria.where("priority").is(from.name()), Criteria.where("status").in(TaskStatus.ACTIVE), due));
+        if (ids != null) and.add(Criteria.where("_id").in(ids));
+        Criteria rule = new Criteria().andOperator(and);
+        int escalated = 0;
+        Task last = null;
+        while (true) {
+            Criteria page = last == null ? rule : new Criteria().andOperator(rule, new Criteria().orOperator(
+                Criteria.where("dueDate").gt(last.getDueDate()),
+                Criteria.where("dueDate").is(last.getDueDate()).and("_id").gt(last.getId())));
+            Query q = Query.query(page).with(Sort.by("dueDate", "_id")).limit(chunkSize);
+            q.fields().include("status", "priority", "dueDate", "owner", "assignee", "updatedAt");
+            List<Task> chunk = mongo.find(q, Task.class);
+            if (chunk.isEmpty()) break;
 
-        // refresh caches (simple invalidation)
-        if (changed) cache.clear();
+            List<Change> changes = outbox.inTransaction(() -> escalateChunk(chunk, rule, to, now));
+            if (!changes.isEmpty()) events.publishEvent(new TaskBatchEvent(SYSTEM_ACTOR, changes));
+            escalated += changes.size();
+
+            if (chunk.size() < chunkSize) break;
+            last = chunk.get(chunk.size() - 1);
+        }
+        return escalated;
+    }
+
+    private List<Change> escalateChunk(List<Task> chunk, Criteria rule, TaskPriority to, Instant now) {
+        List<String> ids = chunk.stream().map(Task::getId).toList();
+        // re-check the rule so a task edited since the read is left alone; the version bump makes
+        // edits that read the task before this write fail their compare-and-set instead of undoing it
+        long modified = mongo.updateMulti(
+            Query.query(new Criteria().andOperator(Criteria.where("_id").in(ids), rule)),
+            new Update().set("priority", to.name()).set("updatedAt", now).inc("version", 1), Task.class).getModifiedCount();
+
+        Set<String> changed = modified == ids.size() ? Set.copyOf(ids) : mongo.find(
+                Query.query(Criteria.where("_id").in(ids).and("priority").is(to.name()).and("updatedAt").is(now)),
+                Task.class).stream().map(Task::getId).collect(Collectors.toSet());
+
+        List<Change> changes = new ArrayList<>(changed.size());
+        for (Task t : chunk) {
+            if (!changed.contains(t.getId())) continue;
+            TaskSnapshot before = TaskSnapshot.of(t);
+            t.setPriority(to);
+            t.setUpdatedAt(now);
+            changes.add(new Change(t.getId(), before, TaskSnapshot.of(t)));
+        }
+        if (!changes.isEmpty()) outbox.record(OutboxEvent.BATCH, SYSTEM_ACTOR, changes);
+        return changes;
     }
-}
\ No newline at end of file
+}
@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 import com.dhruv.taskmanager.domain.TaskPriority;
@@ -15,8 +16,6 @@ public class TaskPolicyService {
 
     public Task normalize(Task t) {
         if (t == null) return null;
-        if (t.getStatus() != null) t.setStatus(t.getStatus().trim().toUpperCase());
-        if (t.getPriority() != null) t.setPriority(t.getPriority().trim().toUpperCase());
         if (t.getTitle() != null) t.setTitle(t.getTitle().trim());
         if (t.getAssignee() != null) t.setAssignee(t.getAssignee().trim());
         return t;
@@ -24,8 +23,8 @@ public class TaskPolicyService {
 
     public void applyDefaults(Task t) {
         Objects.requireNonNull(t);
-        if (t.getStatus() == null) t.setStatus(TaskStatus.OPEN.name());
-        if (t.getPriority() == null) t.setPriority(TaskPriority.MEDIUM.name());
+        if (t.getStatus() == null) t.setStatus(TaskStatus.OPEN);
+        if (t.getPriority() == null) t.setPriority(TaskPriority.MEDIUM);
     }
 
     public void validateForCreate(Task t) {
@@ -34,9 +33,6 @@ public class TaskPolicyService {
             throw new IllegalArgumentException("title is required");
         }
         validateDueDate(t.getDueDate());
-        // status/priority must be valid values if present
-        TaskStatus.from(t.getStatus());
-        TaskPriority.from(t.getPriority());
     }
 
     public void validateForUpdate(Task existing, Task incoming) {
@@ -45,14 +41,11 @@ public class TaskPolicyService {
 
         validateDueDate(incoming.getDueDate());
 
-        TaskStatus from = TaskStatus.from(existing.getStatus());
-        TaskStatus to = TaskStatus.from(incoming.getStatus());
+        TaskStatus from = existing.getStatus();
+        TaskStatus to = incoming.getStatus();
         if (!validTransition(from, to)) {
             throw new IllegalArgumentException("invalid status transition " + from + " -> " + to);
         }
-
-        // ensure enums parse (throws if invalid)
-        TaskPriority.from(incoming.getPriority());
     }
 
     public boolean validTransition(TaskStatus from, TaskStatus to) {
@@ -71,9 +64,12 @@ public class TaskPolicyService {
     }
 
     public boolean isOverdue(Task t, Instant now) {
-        if (t == null || t.getDueDate() == null) return false;
-        TaskStatus st = TaskStatus.from(t.getStatus());
-        return st != TaskStatus.DONE && t.getDueDate().isBefore(now);
+        return t != null && isOverdue(t.getStatus(), t.getDueDate(), now);
+    }
+
+    /** The overdue rule on raw fields, for code that scans many tasks in memory. */
+    public static boolean isOverdue(@Nullable TaskStatus status, @Nullable Instant dueDate, Instant now) {
+        return dueDate != null && dueDate.isBefore(now) && status != TaskStatus.DONE;
     }
 
     /**
@@ -82,11 +78,10 @@ public class TaskPolicyService {
      * - overdue: at least HIGH
      */
     public TaskPriority escalatedPriority(Task t, Instant now) {
-        if (t == null || t.getDueDate() == null) return TaskPriority.from(t.getPriority());
-        TaskStatus st = TaskStatus.from(t.getStatus());
-        if (st == TaskStatus.DONE) return TaskPriority.from(t.getPriority());
+        if (t == null) return null;
+        TaskPriority current = t.getPriority();
+        if (t.getDueDate() == null || t.getStatus() == TaskStatus.DONE) return current;
 
-        TaskPriority current = TaskPriority.from(t.getPriority());
         long hoursToDue = ChronoUnit.HOURS.between(now, t.getDueDate());
 
         if (hoursToDue < 0) {
@@ -1,22 +1,30 @@
 package com.dhruv.taskmanager.service;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import com.dhruv.taskmanager.dto.TaskDtos.DuePage;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskPage;
 import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.repository.TaskSort;
 
 @Service
 public class TaskQueryService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+    static final Duration MAX_DUE_WINDOW = Duration.ofDays(90);
+
     private final TaskService repoService;
-    private final TaskPolicyService policy;
 
-    public TaskQueryService(TaskService repoService, TaskPolicyService policy) {
+    public TaskQueryService(TaskService repoService) {
         this.repoService = repoService;
-        this.policy = policy;
     }
 
     public List<Task> list(String principalName, boolean isAdmin) {
@@ -24,6 +32,28 @@ public class TaskQueryService {
         return isAdmin ? repoService.all() : repoService.byOwner(principalName);
     }
 
+    /** Keyset page of the visible tasks; non-admins are always scoped to their own tasks. */
+    public TaskPage page(String principalName, boolean isAdmin, TaskFilter filter, @Nullable String sort,
+                         @Nullable String cursor, @Nullable Integer limit) {
+        Objects.requireNonNull(principalName, "principal required");
+        int n = pageSize(limit);
+        checkRange(filter);
+        TaskFilter scoped = isAdmin ? filter : filter.withOwner(principalName);
+        return repoService.page(scoped, TaskSort.parse(sort), cursor, n);
+    }
+
+    static int pageSize(@Nullable Integer limit) {
+        int n = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (n < 1 || n > MAX_PAGE_SIZE) throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        return n;
+    }
+
+    static void checkRange(TaskFilter filter) {
+        if (filter.dueFrom() != null && filter.dueTo() != null && !filter.dueFrom().isBefore(filter.dueTo())) {
+            throw new IllegalArgumentException("dueFrom must be before dueTo");
+        }
+    }
+
     public Task get(String id, String principalName, boolean isAdmin) {
         Objects.requireNonNull(principalName, "principal required");
         Task t = repoService.get(id);
@@ -34,10 +64,27 @@ public class TaskQueryService {
         return t;
     }
 
-    public List<Task> overdue(String principalName, boolean isAdmin) {
+    /** Visible tasks not DONE and past their due date, most overdue first, paged like {@link #page}. */
+    public DuePage overdue(String principalName, boolean isAdmin, @Nullable String cursor, @Nullable Integer limit) {
+        return due(principalName, isAdmin, null, Instant.now(), cursor, limit);
+    }
+
+    /** Visible tasks not DONE and due within {@code within} from now, soonest first. */
+    public DuePage dueSoon(String principalName, boolean isAdmin, Duration within,
+                           @Nullable String cursor, @Nullable Integer limit) {
+        if (within.isNegative() || within.isZero() || within.compareTo(MAX_DUE_WINDOW) > 0) {
+            throw new IllegalArgumentException("within must be positive and at most " + MAX_DUE_WINDOW.toDays() + " days");
+        }
         Instant now = Instant.now();
-        return list(principalName, isAdmin).stream()
-            .filter(t -> policy.isOverdue(t, now))
-            .toList();
+        return due(principalName, isAdmin, now, now.plus(within), cursor, limit);
+    }
+
+    private DuePage due(String principalName, boolean isAdmin, @Nullable Instant from, Instant to,
+                        @Nullable String cursor, @Nullable Integer limit) {
+        Objects.requireNonNull(principalName, "principal required");
+        int n = pageSize(limit);
+        String owner = isAdmin ? null : principalName;
+        TaskPage page = repoService.openDue(owner, from, to, cursor, n);
+        return new DuePage(page.items(), page.nextCursor(), repoService.countOpenDue(owner, from, to));
     }
 }
\ No newline at end of file
@@ -3,27 +3,65 @@ package com.dhruv.taskmanager.service;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskPage;
 import com.dhruv.taskmanager.model.Task;
 import com.dhruv.taskmanager.repository.TaskRepository;
+import com.dhruv.taskmanager.repository.TaskSort;
 
 @Service
 public class TaskService {
 
     private final TaskRepository repo;
+    private final TaskCache cache;
 
-    public TaskService(TaskRepository repo) {
+    public TaskService(TaskRepository repo, TaskCache cache) {
         this.repo = repo;
+        this.cache = cache;
     }
 
     public List<Task> all() { return repo.findAll(); }
     public List<Task> byOwner(@NonNull String owner) { return repo.findByOwner(owner); }
-    public Task get(@NonNull String id) { return repo.findById(id).orElse(null); }
-    public Task save(@NonNull Task task) { return repo.save(task); }
-    public void delete(@NonNull String id) { repo.deleteById(id); }
+    public TaskPage page(@NonNull TaskFilter filter, @NonNull TaskSort sort, @Nullable String cursor, int limit) {
+        return repo.findPage(filter, sort, cursor, limit);
+    }
+    public TaskPage openDue(@Nullable String owner, @Nullable Instant from, @NonNull Instant to, @Nullable String cursor, int limit) {
+        return repo.findOpenDue(owner, from, to, cursor, limit);
+    }
+    public long countOpenDue(@Nullable String owner, @Nullable Instant from, @NonNull Instant to) {
+        return repo.countOpenDue(owner, from, to);
+    }
+    public Stream<Task> stream(@NonNull TaskFilter filter, @NonNull TaskSort sort) {
+        return repo.streamMatching(filter, sort);
+    }
+    public Task get(@NonNull String id) { return cache.get(id, k -> repo.findById(k).orElse(null)); }
+    public Task save(@NonNull Task task) { return written(task.getId(), repo.save(task)); }
+    public Task replace(@NonNull Task task, @Nullable Long expectedVersion) {
+        return written(task.getId(), repo.replaceIfVersion(task, expectedVersion));
+    }
+    public Task update(@NonNull String id, @Nullable Long expectedVersion, @NonNull Update update) {
+        return written(id, repo.updateIfVersion(id, expectedVersion, update));
+    }
+    /** The removed task, or null if there was none. */
+    public Task delete(@NonNull String id) {
+        Task removed = repo.removeById(id);
+        cache.putMissing(id);
+        return removed;
+    }
+
+    // null means the compare-and-set lost: what we cached is out of date, let the retry read Mongo
+    private Task written(@Nullable String id, @Nullable Task saved) {
+        if (saved != null) cache.put(saved);
+        else if (id != null) cache.invalidate(id);
+        return saved;
+    }
 
     // business validation
     public static boolean dueDateValid(Instant dueDate) {
@@ -0,0 +1,94 @@
+package com.dhruv.taskmanager.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+
+/**
+ * Version stamps for ETags. Every task event advances one counter; each owner the change touched
+ * (before and after a reassignment) takes the new value, and the counter itself is the stamp for
+ * all tasks. A response computed after reading the stamp can only be newer than it, so a matching
+ * {@code If-None-Match} means nothing in that scope changed since.
+ *
+ * <p>Stamps live in memory: the epoch in every tag changes on restart, and each replica has its own,
+ * so a client moving between replicas simply gets full responses. Writes on other replicas bump the
+ * stamps when {@link ClusterEventBus} replays them.
+ *
+ * <p>Analytics also move with the clock (overdue counts, the weekly window), are corrected by the
+ * view's reconcile and are updated by listeners that may run after this one, so their tags
+ * additionally roll over every {@code clock-window}.
+ */
+@Component
+public class TaskVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<String, Long> byOwner = new ConcurrentHashMap<>();
+    private final long clockWindowMillis;
+
+    public TaskVersions(@Value("${app.etag.clock-window:PT1M}") Duration clockWindow) {
+        this.clockWindowMillis = Math.max(1, clockWindow.toMillis());
+    }
+
+    /** @param owner one owner's tasks, or {@code null} for all tasks */
+    public long stamp(@Nullable String owner) {
+        return owner == null ? clock.get() : byOwner.getOrDefault(owner, 0L);
+    }
+
+    /**
+     * Strong ETag for {@code resource} (path, query, anything else the body depends on) as seen
+     * within {@code scope}. Read it before loading the data it describes.
+     */
+    public String etag(@Nullable String scope, String resource) {
+        CRC32 crc = new CRC32();
+        crc.update((scope == null ? "*" : "u:" + scope).getBytes(StandardCharsets.UTF_8));
+        crc.update(0);
+        crc.update(resource.getBytes(StandardCharsets.UTF_8));
+        return "\"" + epoch + "-" + Long.toString(stamp(scope), 36) + "-" + Long.toHexString(crc.getValue()) + "\"";
+    }
+
+    /** {@link #etag} for a body that also depends on the current time, like analytics. */
+    public String clockedEtag(@Nullable String scope, String resource) {
+        return etag(scope, resource + "@" + System.currentTimeMillis() / clockWindowMillis);
+    }
+
+    @EventListener
+    public void onCreated(TaskCreatedEvent e) {
+        touch(null, e.after());
+    }
+
+    @EventListener
+    public void onUpdated(TaskUpdatedEvent e) {
+        touch(e.before(), e.after());
+    }
+
+    @EventListener
+    public void onDeleted(TaskDeletedEvent e) {
+        touch(e.before(), null);
+    }
+
+    @EventListener
+    public void onBatch(TaskBatchEvent e) {
+        e.changes().forEach(c -> touch(c.before(), c.after()));
+    }
+
+    private void touch(@Nullable TaskSnapshot before, @Nullable TaskSnapshot after) {
+        long v = clock.incrementAndGet();
+        if (before != null && before.owner() != null) byOwner.merge(before.owner(), v, Math::max);
+        if (after != null && after.owner() != null) byOwner.merge(after.owner(), v, Math::max);
+    }
+}
@@ -62,6 +62,7 @@ function bindOnce(key, binder) {
 
 /** Logout */
 function doLogout() {
+  closeTaskStream();
   localStorage.removeItem('token');
   localStorage.removeItem('roles');
   localStorage.removeItem('user');
@@ -156,6 +157,11 @@ function toast(msg, type = 'error') {
 }
 
 // ===================== API =====================
+// Updates name the version they were based on; a concurrent edit of the same fields then fails with 409
+function ifMatch(task) {
+  return task && task.version != null ? { 'If-Match': `"${task.version}"` } : {};
+}
+
 async function api(path, opt = {}) {
   syncAuthFromStorage();
 
@@ -524,6 +530,169 @@ async function load() {
   else await loadEmployee();
 }
 
+// ===================== LIVE UPDATES =====================
+// Task changes are pushed over SSE (/api/tasks/stream). fetch() is used instead of EventSource so the
+// bearer token can be sent; reconnects resume from the last event id. The stream is opened before the
+// task list is loaded: changes that arrive before `ready` (or after `resync`) are held back, the list
+// is loaded once `ready` marks the position, and the held-back changes are applied on top of it.
+let streamCtrl = null;
+let streamLastId = null;
+let streamConnected = false; // `ready` seen on the current connection and the list is in step with it
+let streamReady = false;     // `ready` seen on the current connection
+let streamSynced = false;    // the list was loaded at a stream position; changes apply to it directly
+let streamBacklog = [];      // changes held back until the list is loaded
+let streamLoading = false;
+let streamLoadAgain = false;
+let streamRenderTimer = null;
+
+function refreshFromTasks() {
+  derivedTasksCache = safeRun('deriveTasks(stream)', () => deriveTasks(tasks)) || [];
+  if (isAdmin()) safeRun('renderAdminAnalytics(stream)', () => renderAdminAnalytics(derivedTasksCache));
+  else safeRun('renderEmployeeAnalytics(stream)', () => renderEmployeeAnalytics(derivedTasksCache));
+  safeRun('render(stream)', render);
+}
+
+function scheduleStreamRender() {
+  if (streamRenderTimer) return;
+  streamRenderTimer = setTimeout(() => {
+    streamRenderTimer = null;
+    refreshFromTasks();
+  }, 100);
+}
+
+function upsertTask(t) {
+  if (!t || !t.id) return;
+  const i = tasks.findIndex(x => String(x.id) === String(t.id));
+  if (i >= 0) {
+    if ((tasks[i].version ?? -1) > (t.version ?? -1)) return; // the load already saw a later write
+    tasks[i] = t;
+  } else tasks.push(t);
+  scheduleStreamRender();
+}
+
+function removeTask(id) {
+  const before = tasks.length;
+  tasks = tasks.filter(x => String(x.id) !== String(id));
+  if (tasks.length !== before) scheduleStreamRender();
+}
+
+function handleStreamFrame(frame) {
+  let event = 'message';
+  let id = null;
+  let data = '';
+  for (const line of frame.split('\n')) {
+    if (!line || line.startsWith(':')) continue;
+    const i = line.indexOf(':');
+    const field = i < 0 ? line : line.slice(0, i);
+    let value = i < 0 ? '' : line.slice(i + 1);
+    if (value.startsWith(' ')) value = value.slice(1);
+    if (field === 'event') event = value;
+    else if (field === 'id') id = value;
+    else if (field === 'data') data += (data ? '\n' : '') + value;
+  }
+  if (id) streamLastId = id;
+
+  if (event === 'task' || event === 'deleted') {
+    if (streamSynced) applyStreamChange(event, JSON.parse(data));
+    else streamBacklog.push([event, JSON.parse(data)]);
+  } else if (event === 'ready') {
+    streamReady = true;
+    if (streamSynced) streamConnected = true;
+    else loadAtStreamPosition();
+  } else if (event === 'resync') {
+    streamSynced = false; // what we hold is too old; the `ready` that follows reloads
+    streamBacklog = [];
+  }
+}
+
+function applyStreamChange(event, data) {
+  if (event === 'task') upsertTask(data);
+  else removeTask(data.id);
+}
+
+// One load at a time; a load that started before `ready` is repeated, since it may predate the position.
+function loadAtStreamPosition() {
+  if (streamLoading) {
+    streamLoadAgain = true;
+    return;
+  }
+  streamLoading = true;
+  safeRunAsync('stream/load', async () => {
+    try {
+      do {
+        streamLoadAgain = false;
+        const atReady = streamReady;
+        await load();
+        if (atReady && !streamLoadAgain && !streamSynced) {
+          const held = streamBacklog;
+          streamBacklog = [];
+          held.forEach(([event, data]) => applyStreamChange(event, data));
+          streamSynced = true;
+          streamConnected = streamReady;
+        }
+      } while (streamLoadAgain);
+    } finally {
+      streamLoading = false;
+    }
+  });
+}
+
+async function openTaskStream() {
+  if (streamCtrl || !isLogged()) return;
+  const ctrl = new AbortController();
+  streamCtrl = ctrl;
+  let retryMs = 1000;
+
+  while (!ctrl.signal.aborted && isLogged()) {
+    try {
+      const headers = { Accept: 'text/event-stream', Authorization: 'Bearer ' + token };
+      if (streamLastId) headers['Last-Event-ID'] = streamLastId;
+      const res = await fetch('/api/tasks/stream', { headers, signal: ctrl.signal });
+      if (res.status === 401 || res.status === 403) break;
+      if (!res.ok || !res.body) throw new Error('stream HTTP ' + res.status);
+      if (!streamLastId) { // a fresh subscription: the load at `ready` covers anything held
+        streamSynced = false;
+        streamBacklog = [];
+      }
+
+      retryMs = 1000;
+      const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buf = '';
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buf += value.replace(/\r\n?/g, '\n');
+        let end;
+        while ((end = buf.indexOf('\n\n')) >= 0) {
+          safeRun('stream/frame', () => handleStreamFrame(buf.slice(0, end)));
+          buf = buf.slice(end + 2);
+        }
+      }
+    } catch (e) {
+      if (ctrl.signal.aborted) break;
+    }
+    if (!streamSynced && !streamReady) loadAtStreamPosition(); // show something while we retry
+    streamConnected = false;
+    streamReady = false;
+    await new Promise(r => setTimeout(r, retryMs));
+    retryMs = Math.min(retryMs * 2, 30000);
+  }
+
+  if (!streamSynced && !ctrl.signal.aborted) loadAtStreamPosition();
+  streamConnected = false;
+  streamReady = false;
+  if (streamCtrl === ctrl) streamCtrl = null;
+}
+
+function closeTaskStream() {
+  streamCtrl?.abort();
+  streamCtrl = null;
+  streamConnected = false;
+  streamReady = false;
+  streamSynced = false;
+  streamBacklog = [];
+}
+
 // ===================== DERIVED TASKS =====================
 function createdAtFromObjectId(id) {
   if (!id || typeof id !== 'string' || id.length < 8) return null;
@@ -711,9 +880,10 @@ function initTaskCrud() {
       const body = { title, description, status, priority, dueDate, assignee };
 
       if (id) {
+        const current = (tasks || []).find(x => String(x.id) === String(id));
         await api(`/api/tasks/${encodeURIComponent(id)}`, {
           method: 'PUT',
-          headers: { 'Content-Type': 'application/json' },
+          headers: { 'Content-Type': 'application/json', ...ifMatch(current) },
           body: JSON.stringify(body)
         });
         toast('Task updated successfully', 'success');
@@ -727,7 +897,7 @@ function initTaskCrud() {
       }
 
       taskModal?.hide();
-      await load();
+      if (!streamConnected) await load(); // otherwise the change arrives on the stream
     });
   });
 }
@@ -758,23 +928,15 @@ function initInlineStatusActions() {
       const newStatus = nextStatus(t.status);
       if (newStatus === (t.status || '').toUpperCase()) return;
 
-      const body = {
-        title: t.title || '',
-        description: t.description || '',
-        status: newStatus,
-        priority: t.priority || 'MEDIUM',
-        dueDate: t.dueDate || null,
-        assignee: t.assignee || ''
-      };
-
+      // only the status changes, so send just that
       await api(`/api/tasks/${encodeURIComponent(id)}`, {
-        method: 'PUT',
-        headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify(body)
+        method: 'PATCH',
+        headers: { 'Content-Type': 'application/merge-patch+json', ...ifMatch(t) },
+        body: JSON.stringify({ status: newStatus })
       });
 
       toast(`Task moved to ${newStatus.replace('_', ' ')}`, 'success');
-      await load();
+      if (!streamConnected) await load();
     });
   });
 }
@@ -1299,5 +1461,9 @@ document.addEventListener('DOMContentLoaded', () => {
   const t = document.getElementById('darkToggle');
   if (t) t.checked = savedTheme === 'dark';
 
-  safeRunAsync('load(initial)', async () => { await load(); });
+  safeRunAsync('load(initial)', async () => {
+    syncAuthFromStorage();
+    if (isLogged()) openTaskStream(); // loads at the stream's `ready`
+    else await load();
+  });
 });
\ No newline at end of file
@@ -3,7 +3,8 @@ package com.dhruv.taskmanager;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// runs against whatever MONGODB_URI points at, which may be a standalone mongod
+@SpringBootTest(properties = "app.outbox.transactional=false")
 class TaskmanagerApplicationTests {
 
 	@Test
@@ -0,0 +1,175 @@
+package com.dhruv.taskmanager.bench;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TrendDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.UserProductivityDto;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.service.AnalyticsAccumulator;
+import com.dhruv.taskmanager.service.TaskPolicyService;
+
+/**
+ * Old stream-per-counter analytics vs. the single-pass {@link AnalyticsAccumulator}.
+ *
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.dhruv.taskmanager.bench.AnalyticsBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnalyticsBenchmark {
+
+    @Param({ "10000", "100000", "1000000" })
+    public int size;
+
+    private List<Task> tasks;
+    private Instant now;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final LegacyStreams legacy = new LegacyStreams(new TaskPolicyService());
+
+    @Setup
+    public void setUp() {
+        now = Instant.now();
+        tasks = randomTasks(new Random(7), size, now);
+    }
+
+    @Benchmark
+    public TaskAnalyticsDto legacyStreams() {
+        return legacy.compute(tasks, now);
+    }
+
+    @Benchmark
+    public TaskAnalyticsDto singlePass() {
+        AnalyticsAccumulator acc = new AnalyticsAccumulator(now, zone);
+        for (Task t : tasks) acc.add(t);
+        return acc.toDto();
+    }
+
+    @Benchmark
+    public TaskAnalyticsDto forkJoin() {
+        return AnalyticsAccumulator.compute(tasks, now, zone);
+    }
+
+    static List<Task> randomTasks(Random rnd, int n, Instant now) {
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task t = new Task();
+            t.setId(Integer.toHexString(i));
+            t.setTitle("task-" + i);
+            t.setStatus(statuses[rnd.nextInt(3)]);
+            t.setPriority(priorities[rnd.nextInt(3)]);
+            t.setOwner("user" + rnd.nextInt(200));
+            t.setAssignee(rnd.nextInt(4) == 0 ? null : "user" + rnd.nextInt(200));
+            t.setDueDate(now.plus(rnd.nextInt(24 * 140) - 24 * 70, ChronoUnit.HOURS));
+            out.add(t);
+        }
+        return out;
+    }
+
+    /** Verbatim copy of the pre-accumulator AnalyticsService.compute, kept as the baseline. */
+    static final class LegacyStreams {
+        private final TaskPolicyService policy;
+
+        LegacyStreams(TaskPolicyService policy) {
+            this.policy = policy;
+        }
+
+        TaskAnalyticsDto compute(List<Task> tasks, Instant now) {
+            long total = tasks.size();
+            long done = tasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
+            long pending = total - done;
+            long overdue = tasks.stream().filter(t -> policy.isOverdue(t, now)).count();
+
+            Map<String, Long> distribution = Map.of(
+                "OPEN", tasks.stream().filter(t -> t.getStatus() == TaskStatus.OPEN).count(),
+                "IN_PROGRESS", tasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count(),
+                "DONE", done
+            );
+            Map<String, Long> priorities = Map.of(
+                "LOW", tasks.stream().filter(t -> t.getPriority() == TaskPriority.LOW).count(),
+                "MEDIUM", tasks.stream().filter(t -> t.getPriority() == TaskPriority.MEDIUM).count(),
+                "HIGH", tasks.stream().filter(t -> t.getPriority() == TaskPriority.HIGH).count()
+            );
+
+            TrendDto weekly = weeklyTrend(tasks);
+            double completionRate = total == 0 ? 0.0 : (double) done / (double) total;
+
+            List<UserProductivityDto> byOwner = productivity(tasks, Task::getOwner, now);
+            List<UserProductivityDto> byAssignee = productivity(tasks, t -> {
+                String a = t.getAssignee();
+                return (a == null || a.isBlank()) ? "Unassigned" : a.trim();
+            }, now);
+
+            return new TaskAnalyticsDto(total, done, pending, overdue, completionRate, distribution, priorities, weekly, byOwner, byAssignee);
+        }
+
+        private TrendDto weeklyTrend(List<Task> tasks) {
+            LocalDate today = LocalDate.now();
+            List<LocalDate> weekStarts = new ArrayList<>();
+            for (int i = 7; i >= 0; i--) weekStarts.add(today.minusWeeks(i).with(DayOfWeek.MONDAY));
+            List<String> labels = weekStarts.stream().map(LocalDate::toString).toList();
+
+            long[] openArr = new long[8];
+            long[] inProgArr = new long[8];
+            long[] doneArr = new long[8];
+            Map<String, Integer> idx = new HashMap<>();
+            for (int i = 0; i < labels.size(); i++) idx.put(labels.get(i), i);
+
+            for (Task t : tasks) {
+                if (t.getDueDate() == null) continue;
+                LocalDate wk = t.getDueDate().atZone(ZoneId.systemDefault()).toLocalDate().with(DayOfWeek.MONDAY);
+                Integer i = idx.get(wk.toString());
+                if (i == null) continue;
+                switch (String.valueOf(t.getStatus())) {
+                    case "OPEN" -> openArr[i]++;
+                    case "IN_PROGRESS" -> inProgArr[i]++;
+                    case "DONE" -> doneArr[i]++;
+                }
+            }
+            return new TrendDto(labels,
+                Arrays.stream(openArr).boxed().toList(),
+                Arrays.stream(inProgArr).boxed().toList(),
+                Arrays.stream(doneArr).boxed().toList());
+        }
+
+        private <K> List<UserProductivityDto> productivity(List<Task> tasks, Function<Task, K> keyFn, Instant now) {
+            Map<K, List<Task>> groups = tasks.stream().collect(Collectors.groupingBy(keyFn));
+            return groups.entrySet().stream()
+                .map(e -> {
+                    List<Task> list = e.getValue();
+                    long done = list.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
+                    long overdue = list.stream().filter(t -> policy.isOverdue(t, now)).count();
+                    return new UserProductivityDto(String.valueOf(e.getKey()), list.size(), done, overdue);
+                })
+                .sorted(Comparator.comparingLong(UserProductivityDto::total).reversed())
+                .toList();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AnalyticsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
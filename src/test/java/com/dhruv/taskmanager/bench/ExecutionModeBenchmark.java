@@ -0,0 +1,74 @@
+package com.dhruv.taskmanager.bench;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.dhruv.taskmanager.config.AppExecutionConfig;
+
+/**
+ * {@code @Async} work that blocks on I/O (a {@code ioMillis} sleep standing in for a Mongo or HTTP
+ * round trip), submitted by 64 concurrent callers to {@link AppExecutionConfig#appTaskExecutor} in
+ * each mode. Reports calls/s and the latency distribution (submit to completion) per call. This
+ * isolates the executor only: with {@code maxConcurrent} below the 64 callers the virtual-thread
+ * throttle applies, at 64 it does not. {@link HttpLoadBenchmark} measures the whole request path.
+ *
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.dhruv.taskmanager.bench.ExecutionModeBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    @Param({ "platform", "virtual" })
+    public String mode;
+
+    @Param({ "5" })
+    public int ioMillis;
+
+    @Param({ "16", "64" })
+    public int maxConcurrent; // app.async.max-concurrent; platform mode ignores it
+
+    private TaskExecutor executor;
+
+    @Setup
+    public void setUp() {
+        executor = new AppExecutionConfig().appTaskExecutor("virtual".equals(mode), maxConcurrent);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) pool.shutdown();
+    }
+
+    @Benchmark
+    public Object blockingCall() throws Exception {
+        CompletableFuture<Object> done = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                Thread.sleep(ioMillis);
+                done.complete(Boolean.TRUE);
+            } catch (InterruptedException ex) {
+                done.completeExceptionally(ex);
+            }
+        });
+        return done.get();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExecutionModeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,157 @@
+package com.dhruv.taskmanager.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dhruv.taskmanager.TaskmanagerApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+/**
+ * End-to-end load on the running app in each execution mode: {@code clients} concurrent users
+ * against Tomcat, nine {@code GET /api/tasks?limit=20} for every {@code POST /api/tasks} (the write
+ * also runs the outbox relay, audit writer and webhook consumer in the background). Reports
+ * requests/s and p50/p99/max latency per mode. {@link ExecutionModeBenchmark} isolates the
+ * {@code @Async} executor; this one includes request threads, the Mongo driver and the listeners.
+ *
+ * <p>Uses the server at {@code MONGODB_URI} when set, otherwise an in-process mongo-java-server
+ * (which answers from memory, so requests wait less than on a real database). Tunables, as system
+ * properties: {@code clients} (400), {@code seconds} (15), {@code warmup} (5), {@code tomcat.threads}
+ * (Tomcat's default of 200 for platform mode) and {@code transactions} (false; set it to write tasks and
+ * their outbox events in one transaction, which needs {@code MONGODB_URI} to point at a replica set).
+ *
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.dhruv.taskmanager.bench.HttpLoadBenchmark
+ * </pre>
+ */
+public final class HttpLoadBenchmark {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private HttpLoadBenchmark() {}
+
+    record Result(String mode, long requests, double seconds, long errors, long[] sortedMillis) {
+        double perSecond() { return requests / seconds; }
+        long percentile(double p) {
+            return sortedMillis.length == 0 ? 0 : sortedMillis[(int) Math.min(sortedMillis.length - 1, Math.ceil(p * sortedMillis.length) - 1)];
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 400);
+        int seconds = Integer.getInteger("seconds", 15);
+        int warmup = Integer.getInteger("warmup", 5);
+        boolean transactions = Boolean.getBoolean("transactions");
+        String uri = System.getenv("MONGODB_URI");
+        MongoServer server = null;
+        if (uri == null || uri.isBlank()) {
+            server = new MongoServer(new MemoryBackend());
+            uri = "mongodb://127.0.0.1:" + server.bind().getPort() + "/taskmanager_bench";
+            transactions = false; // mongo-java-server has no transactions
+        }
+        List<Result> results = new ArrayList<>();
+        try {
+            for (String mode : List.of("platform", "virtual")) {
+                results.add(run(mode, uri, transactions, clients, warmup, seconds));
+            }
+        } finally {
+            if (server != null) server.shutdownNow();
+        }
+        System.out.printf("%n%-9s %8s %10s %8s %8s %8s %7s%n", "mode", "clients", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        for (Result r : results) {
+            System.out.printf("%-9s %8d %10.0f %8d %8d %8d %7d%n", r.mode(), clients, r.perSecond(),
+                r.percentile(0.50), r.percentile(0.99), r.percentile(1.0), r.errors());
+        }
+        System.exit(0); // mongo-java-server leaves non-daemon event loop threads behind
+    }
+
+    private static Result run(String mode, String mongoUri, boolean transactions, int clients, int warmup, int seconds)
+            throws Exception {
+        try (ConfigurableApplicationContext ctx = SpringApplication.run(TaskmanagerApplication.class,
+                "--server.port=0",
+                "--spring.data.mongodb.uri=" + mongoUri,
+                "--app.outbox.transactional=" + transactions,
+                "--spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                "--server.tomcat.threads.max=" + System.getProperty("tomcat.threads", "200"),
+                "--logging.level.root=WARN")) {
+            int port = ((ServletWebServerApplicationContext) ctx).getWebServer().getPort();
+            String base = "http://127.0.0.1:" + port;
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder().executor(pool).connectTimeout(Duration.ofSeconds(10)).build();
+                String token = signUp(http, base, mode);
+
+                AtomicLong errors = new AtomicLong();
+                long start = System.nanoTime();
+                long measureFrom = start + Duration.ofSeconds(warmup).toNanos();
+                long end = measureFrom + Duration.ofSeconds(seconds).toNanos();
+                List<Future<long[]>> runs = new ArrayList<>(clients);
+                for (int c = 0; c < clients; c++) {
+                    runs.add(pool.submit(() -> client(http, base, token, measureFrom, end, errors)));
+                }
+                List<long[]> perClient = new ArrayList<>(clients);
+                for (Future<long[]> f : runs) perClient.add(f.get());
+
+                long[] all = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+                return new Result(mode, all.length, seconds, errors.get(), all);
+            }
+        }
+    }
+
+    /** Latencies in ms of the requests completed inside the measurement window. */
+    private static long[] client(HttpClient http, String base, String token, long measureFrom, long end, AtomicLong errors) {
+        HttpRequest list = HttpRequest.newBuilder(URI.create(base + "/api/tasks?limit=20"))
+            .header("Authorization", "Bearer " + token).GET().build();
+        HttpRequest create = HttpRequest.newBuilder(URI.create(base + "/api/tasks"))
+            .header("Authorization", "Bearer " + token).header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"load\",\"status\":\"OPEN\",\"priority\":\"LOW\"}")).build();
+        long[] millis = new long[1024];
+        int n = 0;
+        for (int i = 0; ; i++) {
+            long t0 = System.nanoTime();
+            if (t0 >= end) break;
+            boolean ok;
+            try {
+                ok = http.send(i % 10 == 9 ? create : list, HttpResponse.BodyHandlers.discarding()).statusCode() < 400;
+            } catch (Exception ex) {
+                ok = false;
+            }
+            long t1 = System.nanoTime();
+            if (t0 < measureFrom || t1 > end) continue;
+            if (!ok) {
+                errors.incrementAndGet();
+                continue;
+            }
+            if (n == millis.length) millis = Arrays.copyOf(millis, n * 2);
+            millis[n++] = (t1 - t0) / 1_000_000;
+        }
+        return Arrays.copyOf(millis, n);
+    }
+
+    private static String signUp(HttpClient http, String base, String mode) throws Exception {
+        String user = "load-" + mode + "-" + System.nanoTime();
+        String body = JSON.writeValueAsString(Map.of("name", "Load", "email", user + "@example.com", "username", user, "password", "secret123"));
+        HttpResponse<String> r = http.send(HttpRequest.newBuilder(URI.create(base + "/auth/signup"))
+            .header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+            HttpResponse.BodyHandlers.ofString());
+        if (r.statusCode() != 200) throw new IllegalStateException("signup failed: " + r.statusCode() + " " + r.body());
+        return (String) JSON.readValue(r.body(), Map.class).get("token");
+    }
+}
@@ -0,0 +1,136 @@
+package com.dhruv.taskmanager.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.crypto.SecretKey;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.dhruv.taskmanager.security.JwtAuthCache;
+import com.dhruv.taskmanager.security.JwtAuthFilter;
+import com.dhruv.taskmanager.security.JwtSecurity;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Bearer-token filter throughput: the old parse-every-request filter vs. {@link JwtAuthFilter}
+ * with its {@link JwtAuthCache}. {@code users} distinct tokens are cycled through.
+ *
+ * <pre>
+ * ./mvnw test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) com.dhruv.taskmanager.bench.JwtFilterBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "bench-secret";
+
+    @Param({ "1", "1000" })
+    public int users;
+
+    private String[] headers;
+    private OncePerRequestFilter legacy;
+    private OncePerRequestFilter cached;
+    private final FilterChain chain = (req, res) -> { };
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        JwtSecurity jwt = new JwtSecurity(SECRET, 120);
+        headers = new String[users];
+        for (int i = 0; i < users; i++) headers[i] = "Bearer " + jwt.createToken("user" + i, Set.of("USER"));
+        legacy = new LegacyJwtAuthFilter(SECRET);
+        cached = new JwtAuthFilter(new JwtAuthCache(jwt, new SimpleMeterRegistry(), 10_000));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Authentication legacyFilter(Cursor c) throws Exception {
+        return run(legacy, c);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Authentication cachedFilter(Cursor c) throws Exception {
+        return run(cached, c);
+    }
+
+    private Authentication run(OncePerRequestFilter filter, Cursor c) throws Exception {
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", "/api/tasks");
+        req.addHeader("Authorization", headers[c.next++ % headers.length]);
+        try {
+            filter.doFilter(req, new MockHttpServletResponse(), chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /** The filter as it was before the cache: a new parser and new authorities on every request. */
+    static final class LegacyJwtAuthFilter extends OncePerRequestFilter {
+        private final SecretKey key;
+
+        LegacyJwtAuthFilter(String secret) {
+            try { // same key derivation as JwtSecurity
+                this.key = Keys.hmacShaKeyFor(MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+                throws ServletException, IOException {
+            String h = req.getHeader("Authorization");
+            if (h != null && h.startsWith("Bearer ")) {
+                try {
+                    Claims c = Jwts.parserBuilder().setSigningKey(key).build()
+                        .parseClaimsJws(h.substring(7)).getBody();
+                    @SuppressWarnings("unchecked")
+                    List<String> roles = (List<String>) c.get("roles");
+                    var auth = new UsernamePasswordAuthenticationToken(
+                        c.getSubject(), null, roles.stream().map(r -> new SimpleGrantedAuthority("ROLE_" + r)).collect(Collectors.toList()));
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                } catch (Exception ignored) { }
+            }
+            chain.doFilter(req, res);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
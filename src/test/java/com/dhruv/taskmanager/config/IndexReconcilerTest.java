@@ -0,0 +1,159 @@
+package com.dhruv.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexOptions;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.dhruv.taskmanager.config.IndexReconciler.Outcome;
+import com.dhruv.taskmanager.config.IndexReconciler.State;
+import com.dhruv.taskmanager.model.AuditEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.model.User;
+
+// mongo-java-server ignores non-unique indexes, so the index lists are kept here
+class IndexReconcilerTest {
+
+    private final Map<String, FakeIndexes> collections = new HashMap<>();
+    private final List<String> created = new ArrayList<>();
+    private MongoTemplate mongo;
+
+    @BeforeEach
+    void setUp() {
+        mongo = mock(MongoTemplate.class);
+        when(mongo.indexOps(anyString())).thenAnswer(inv -> indexes(inv.getArgument(0)));
+    }
+
+    @Test
+    void createsTheDeclaredIndexesOnceAndThenFindsThemPresent() {
+        List<Outcome> first = reconciler().reconcileNow();
+        assertTrue(first.stream().allMatch(o -> o.state() == State.CREATED), first::toString);
+        assertTrue(indexes("tasks").byName.keySet().containsAll(Set.of("owner_updated", "status_due", "assignee_status_updated")));
+        assertEquals(new Document("taskId", 1).append("at", 1).append("_id", 1), indexes("audit_events").byName.get("task_at").getIndexKeys());
+
+        List<Outcome> second = reconciler().reconcileNow();
+        assertEquals(first.size(), second.size());
+        assertTrue(second.stream().allMatch(o -> o.state() == State.PRESENT), second::toString);
+    }
+
+    @Test
+    void uniqueIndexesAreBuiltFirstAndTheRestInTheBackground() {
+        reconciler().reconcileNow();
+        assertEquals("users.username", created.get(0));
+        IndexDefinition username = indexes("users").byName.get("username");
+        assertEquals(true, username.getIndexOptions().get("unique"));
+        assertNull(username.getIndexOptions().get("background"));
+        assertEquals(true, indexes("tasks").byName.get("owner_updated").getIndexOptions().get("background"));
+    }
+
+    @Test
+    void aClashingIndexIsReportedAndTheRestStillBuilt() {
+        indexes("tasks").createIndex(definition(new Document("title", 1), new Document("name", "status_due")));
+        indexes("tasks").createIndex(definition(new Document("owner", 1).append("updatedAt", -1).append("_id", -1),
+            new Document("name", "legacy")));
+
+        List<Outcome> outcomes = reconciler().reconcileNow();
+        assertTrue(outcomes.contains(new Outcome("tasks", "status_due", State.CONFLICT)), outcomes::toString);
+        assertTrue(outcomes.contains(new Outcome("tasks", "owner_updated", State.CONFLICT)), outcomes::toString);
+        assertTrue(outcomes.contains(new Outcome("tasks", "owner_status_due", State.CREATED)));
+        assertEquals(new Document("title", 1), indexes("tasks").byName.get("status_due").getIndexKeys());
+    }
+
+    @Test
+    void unnamedIndexesGetMongosDefaultName() {
+        assertEquals("owner_1_updatedAt_-1",
+            IndexReconciler.name(definition(new Document("owner", 1).append("updatedAt", -1), new Document())));
+    }
+
+    private IndexReconciler reconciler() {
+        MongoMappingContext mapping = new MongoMappingContext();
+        mapping.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mapping.setInitialEntitySet(Set.of(Task.class, User.class, AuditEvent.class));
+        mapping.afterPropertiesSet();
+        return new IndexReconciler(mongo, mapping, true);
+    }
+
+    private FakeIndexes indexes(String collection) {
+        return collections.computeIfAbsent(collection, FakeIndexes::new);
+    }
+
+    private static IndexDefinition definition(Document keys, Document options) {
+        return new IndexDefinition() {
+            @Override
+            public Document getIndexKeys() {
+                return keys;
+            }
+
+            @Override
+            public Document getIndexOptions() {
+                return options;
+            }
+        };
+    }
+
+    /** createIndex by MongoDB's rules: an identical index is a no-op, a name or key clash fails. */
+    private class FakeIndexes implements IndexOperations {
+
+        final String collection;
+        final Map<String, IndexDefinition> byName = new LinkedHashMap<>();
+
+        FakeIndexes(String collection) {
+            this.collection = collection;
+        }
+
+        @Override
+        public String createIndex(IndexDefinition def) {
+            String name = IndexReconciler.name(def);
+            IndexDefinition same = byName.get(name);
+            if (same != null) {
+                if (!same.getIndexKeys().equals(def.getIndexKeys())) throw new DataIntegrityViolationException("IndexKeySpecsConflict");
+                return name;
+            }
+            for (IndexDefinition other : byName.values()) {
+                if (other.getIndexKeys().equals(def.getIndexKeys())) throw new DataIntegrityViolationException("IndexOptionsConflict");
+            }
+            byName.put(name, def);
+            created.add(collection + "." + name);
+            return name;
+        }
+
+        @Override
+        public List<IndexInfo> getIndexInfo() {
+            return byName.keySet().stream().map(n -> new IndexInfo(List.of(), n, false, false, null)).toList();
+        }
+
+        @Override
+        public void alterIndex(String name, IndexOptions options) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void dropIndex(String name) {
+            byName.remove(name);
+        }
+
+        @Override
+        public void dropAllIndexes() {
+            byName.clear();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.dhruv.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class LegacyTaskValuesMigrationTest {
+
+    private TestMongo db;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        db.template().getCollection("tasks").insertMany(List.of(
+            raw("t1", "OPEN", "HIGH"),
+            raw("t2", "in progress", "low"),
+            raw("t3", " Done", "Medium"),
+            raw("t4", "archived", "HIGH")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void legacyValuesReadAsTheEnumAndUnknownOnesAsNull() {
+        Task t2 = db.template().findById("t2", Task.class);
+        assertEquals(TaskStatus.IN_PROGRESS, t2.getStatus());
+        assertEquals(TaskPriority.LOW, t2.getPriority());
+        assertEquals(TaskStatus.DONE, db.template().findById("t3", Task.class).getStatus());
+        assertNull(db.template().findById("t4", Task.class).getStatus());
+    }
+
+    @Test
+    void enumsAreStoredByName() {
+        Task t = new Task();
+        t.setId("t5");
+        t.setTitle("t5");
+        t.setStatus(TaskStatus.IN_PROGRESS);
+        t.setPriority(TaskPriority.HIGH);
+        db.template().insert(t);
+
+        Document stored = stored("t5");
+        assertEquals("IN_PROGRESS", stored.get("status"));
+        assertEquals("HIGH", stored.get("priority"));
+    }
+
+    @Test
+    void migrationRewritesLegacyValuesOnlyOnce() {
+        LegacyTaskValuesMigration migration = new LegacyTaskValuesMigration(db.template(), true);
+
+        assertEquals(Map.of("status", 2L, "priority", 2L, "titleWords", 4L), migration.migrateNow());
+        assertEquals("IN_PROGRESS", stored("t2").get("status"));
+        assertEquals("LOW", stored("t2").get("priority"));
+        assertEquals("DONE", stored("t3").get("status"));
+        assertEquals("archived", stored("t4").get("status")); // left for a person to look at
+        assertEquals(3L, stored("t2").get("version"));
+        assertEquals(List.of("t2"), stored("t2").getList("titleWords", String.class));
+
+        assertEquals(Map.of("status", 0L, "priority", 0L, "titleWords", 0L), migration.migrateNow());
+    }
+
+    private Document stored(String id) {
+        return db.template().getCollection("tasks").find(new Document("_id", id)).first();
+    }
+
+    private static Document raw(String id, String status, String priority) {
+        return new Document("_id", id).append("title", id).append("owner", "alice")
+            .append("status", status).append("priority", priority).append("version", 3L);
+    }
+}
@@ -0,0 +1,16 @@
+package com.dhruv.taskmanager.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+class MongoConfigTest {
+
+    @Test
+    void transactionsNeedAReplicaSetOrMongos() {
+        assertTrue(MongoConfig.supportsTransactions(new Document("isWritablePrimary", true).append("setName", "rs0")));
+        assertTrue(MongoConfig.supportsTransactions(new Document("isWritablePrimary", true).append("msg", "isdbgrid")));
+        assertFalse(MongoConfig.supportsTransactions(new Document("isWritablePrimary", true)));
+    }
+}
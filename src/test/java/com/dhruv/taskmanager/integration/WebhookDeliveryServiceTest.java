@@ -0,0 +1,215 @@
+package com.dhruv.taskmanager.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.mock.env.MockEnvironment;
+
+import com.dhruv.taskmanager.model.WebhookDelivery;
+import com.dhruv.taskmanager.service.Bulkheads;
+import com.dhruv.taskmanager.support.TestMongo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WebhookDeliveryServiceTest {
+
+    private TestMongo db;
+    private HttpServer server;
+    private String url;
+    private final AtomicInteger status = new AtomicInteger(204);
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private volatile CountDownLatch gate = new CountDownLatch(0);
+    private final List<String> writes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        db = new TestMongo(new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent e) {
+                if (e.getCommandName().equals("update") || e.getCommandName().equals("findAndModify")) writes.add(e.getCommandName());
+            }
+        });
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/hook", ex -> {
+            received.add(new String(ex.getRequestBody().readAllBytes()));
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ex.sendResponseHeaders(status.get(), -1);
+            ex.close();
+        });
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/hook";
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        db.close();
+    }
+
+    @Test
+    void deliversInBatchesAndClearsTheOutbox() throws Exception {
+        WebhookDeliveryService svc = service(2, 5, 100);
+        for (int i = 0; i < 3; i++) svc.enqueue("e" + i, "TASK_CREATED", Map.of("type", "TASK_CREATED", "payload", Map.of("n", i)));
+
+        deliver(svc);
+
+        assertEquals(2, received.size());
+        assertTrue(received.stream().anyMatch(b -> b.startsWith("{\"events\":[")));
+        assertEquals(0, outbox());
+        svc.destroy();
+    }
+
+    @Test
+    void enqueueingTheSameEventTwiceQueuesOneCall() throws Exception {
+        WebhookDeliveryService svc = service(1, 5, 100);
+        svc.enqueue("e1", "TASK_CREATED", Map.of("type", "TASK_CREATED"));
+        svc.enqueue("e1", "TASK_CREATED", Map.of("type", "TASK_CREATED"));
+        assertEquals(1, outbox());
+
+        deliver(svc);
+        assertTrue(received.get(0).startsWith("{\"id\":\"e1\""));
+        svc.destroy();
+    }
+
+    @Test
+    void retriesServerErrorsThenDeadLetters() throws Exception {
+        status.set(503);
+        WebhookDeliveryService svc = service(1, 2, 100);
+        svc.enqueue("e1", "TASK_DELETED", Map.of("type", "TASK_DELETED"));
+
+        deliver(svc);
+        assertEquals(1, outbox());
+        assertEquals(1, db.template().findAll(WebhookDelivery.class).get(0).getAttempts());
+
+        Thread.sleep(20); // backoff base is 1ms
+        deliver(svc);
+        assertEquals(2, received.size());
+        assertEquals(0, outbox());
+        Document deadLetter = db.template().findOne(new Query(), Document.class, WebhookDeliveryService.DEAD_LETTERS);
+        assertEquals("HTTP 503", deadLetter.getString("lastError"));
+        svc.destroy();
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() throws Exception {
+        status.set(400);
+        WebhookDeliveryService svc = service(1, 5, 100);
+        svc.enqueue("e1", "TASK_CREATED", Map.of("type", "TASK_CREATED"));
+
+        deliver(svc);
+
+        assertEquals(0, outbox());
+        assertEquals(1, db.template().count(new Query(), WebhookDeliveryService.DEAD_LETTERS));
+        assertEquals(CircuitBreaker.State.CLOSED, svc.breakerState(url));
+        svc.destroy();
+    }
+
+    @Test
+    void openBreakerStopsCallingTheEndpoint() throws Exception {
+        status.set(500);
+        WebhookDeliveryService svc = service(1, 10, 2);
+        svc.enqueue("e1", "A", Map.of());
+        deliver(svc);
+        Thread.sleep(20);
+        deliver(svc);
+        assertEquals(CircuitBreaker.State.OPEN, svc.breakerState(url));
+
+        Thread.sleep(20);
+        deliver(svc);
+        assertEquals(2, received.size()); // the third poll was short-circuited
+        assertEquals(1, outbox());
+        svc.destroy();
+    }
+
+    @Test
+    void claimsManyRowsWithOneUpdate() throws Exception {
+        WebhookDeliveryService svc = service(10, 5, 100);
+        for (int i = 0; i < 50; i++) svc.enqueue("e" + i, "TASK_CREATED", Map.of("type", "TASK_CREATED"));
+        writes.clear();
+
+        deliver(svc);
+
+        assertEquals(List.of("update"), writes);
+        assertEquals(5, received.size());
+        assertEquals(0, outbox());
+        svc.destroy();
+    }
+
+    @Test
+    void pollingDoesNotWaitForSlowSends() throws Exception {
+        gate = new CountDownLatch(1);
+        WebhookDeliveryService svc = service(1, 5, 100);
+        svc.enqueue("e1", "TASK_CREATED", Map.of("type", "TASK_CREATED"));
+        svc.enqueue("e2", "TASK_CREATED", Map.of("type", "TASK_CREATED"));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), svc::deliverDue);
+        assertEquals(2, svc.sending());
+        svc.deliverDue(); // the endpoint is still busy: nothing is claimed twice
+        assertEquals(2, svc.sending());
+
+        gate.countDown();
+        settle(svc);
+        assertEquals(2, received.size());
+        assertEquals(0, outbox());
+        svc.destroy();
+    }
+
+    @Test
+    void backoffStaysWithinTheJitterWindow() {
+        WebhookDeliveryService svc = new WebhookDeliveryService(db.template(), new ObjectMapper(), new SimpleMeterRegistry(), bulkheads(),
+            url, 1, 100, 10, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofSeconds(2), 5, Duration.ofMinutes(1));
+        for (int i = 0; i < 200; i++) {
+            assertTrue(svc.backoff(3).compareTo(Duration.ofSeconds(4)) <= 0);
+            assertTrue(svc.backoff(20).compareTo(Duration.ofSeconds(30)) <= 0);
+        }
+        svc.destroy();
+    }
+
+    private WebhookDeliveryService service(int batchSize, int maxAttempts, int breakerThreshold) {
+        return new WebhookDeliveryService(db.template(), new ObjectMapper(), new SimpleMeterRegistry(), bulkheads(), url, batchSize, 100,
+            maxAttempts, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(2), breakerThreshold, Duration.ofHours(1));
+    }
+
+    private static void deliver(WebhookDeliveryService svc) throws InterruptedException {
+        svc.deliverDue();
+        settle(svc);
+    }
+
+    private static void settle(WebhookDeliveryService svc) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (svc.sending() > 0) {
+            assertTrue(System.nanoTime() < deadline, "sends did not finish");
+            Thread.sleep(5);
+        }
+    }
+
+    private static Bulkheads bulkheads() {
+        return new Bulkheads(new MockEnvironment(), new SimpleMeterRegistry());
+    }
+
+    private long outbox() {
+        return db.template().count(new Query(), WebhookDelivery.class);
+    }
+}
@@ -0,0 +1,134 @@
+package com.dhruv.taskmanager.listener;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.model.AuditEvent;
+import com.dhruv.taskmanager.repository.AuditEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditLogWriterTest {
+
+    private final AuditEventRepository repo = mock(AuditEventRepository.class);
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    AuditLogWriterTest() {
+        when(repo.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> {
+            int n = inv.<List<AuditEvent>>getArgument(0).size();
+            batches.add(n);
+            return n;
+        });
+    }
+
+    @Test
+    void ringDeliversEveryElementOnceUnderContention() throws Exception {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(1000);
+        assertEquals(1024, ring.capacity());
+        int producers = 4, perProducer = 50_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) Thread.onSpinWait();
+                }
+            }));
+        }
+        Set<Integer> seen = new HashSet<>();
+        List<Integer> sink = new ArrayList<>();
+        while (seen.size() < producers * perProducer) {
+            sink.clear();
+            ring.drainTo(sink, 256);
+            for (Integer v : sink) assertTrue(seen.add(v), "duplicate " + v);
+        }
+        for (Thread t : threads) t.join();
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void flushesFullBatchesAndDrainsTheRestOnStop() {
+        AuditLogWriter w = writer(1024, 10, Duration.ofHours(1), "block");
+        w.start();
+        for (int i = 0; i < 25; i++) w.append(new AuditEvent());
+        waitFor(() -> batches.size() >= 2);
+        w.stop();
+
+        assertEquals(List.of(10, 10, 5), batches);
+        assertEquals(25.0, meters.counter("audit.written").count());
+    }
+
+    @Test
+    void flushesPartialBatchAfterInterval() {
+        AuditLogWriter w = writer(1024, 1000, Duration.ofMillis(50), "block");
+        w.start();
+        w.append(new AuditEvent());
+        w.append(new AuditEvent());
+        waitFor(() -> !batches.isEmpty());
+        w.stop();
+        assertEquals(2, batches.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void flushNowWritesWithoutWaitingForTheInterval() throws Exception {
+        AuditLogWriter w = writer(1024, 500, Duration.ofHours(1), "block");
+        w.start();
+        for (int round = 0; round < 3; round++) {
+            List<CompletableFuture<Boolean>> acks = new ArrayList<>();
+            for (int i = 0; i < 200; i++) acks.add(w.append(new AuditEvent()));
+            w.flushNow();
+            CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        }
+        w.stop();
+        assertEquals(600, batches.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void dropPolicyCountsWhatDidNotFit() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(repo.insertIgnoringDuplicates(anyList())).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            int n = inv.<List<AuditEvent>>getArgument(0).size();
+            batches.add(n);
+            return n;
+        });
+        AuditLogWriter w = writer(4, 2, Duration.ofMillis(1), "drop");
+        w.start();
+        List<CompletableFuture<Boolean>> acks = new ArrayList<>();
+        for (int i = 0; i < 50; i++) acks.add(w.append(new AuditEvent()));
+        release.countDown();
+        w.stop();
+
+        double dropped = meters.counter("audit.dropped").count();
+        assertTrue(dropped > 0);
+        assertEquals(50.0, dropped + batches.stream().mapToInt(Integer::intValue).sum());
+        assertEquals((long) dropped, acks.stream().filter(f -> !f.join()).count());
+    }
+
+    private AuditLogWriter writer(int capacity, int batchSize, Duration flush, String overflow) {
+        return new AuditLogWriter(repo, meters, capacity, batchSize, flush, overflow, Duration.ofMillis(100), Duration.ofSeconds(10));
+    }
+
+    private static void waitFor(BooleanSupplier done) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!done.getAsBoolean()) {
+            if (System.nanoTime() > deadline) fail("timed out");
+            Thread.onSpinWait();
+        }
+    }
+}
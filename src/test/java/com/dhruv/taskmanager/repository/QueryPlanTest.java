@@ -0,0 +1,326 @@
+package com.dhruv.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.config.IndexReconciler;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskPage;
+import com.dhruv.taskmanager.model.AuditEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.model.User;
+import com.dhruv.taskmanager.service.ClusterNode;
+import com.dhruv.taskmanager.service.DomainEventOutbox;
+import com.dhruv.taskmanager.service.LeaseLock;
+import com.dhruv.taskmanager.service.TaskDeltaService;
+import com.dhruv.taskmanager.service.TaskMaintenanceScheduler;
+import com.dhruv.taskmanager.support.TestMongo;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+
+/**
+ * Runs the repository and job queries against the declared indexes and has MongoDB explain each
+ * one: a winning plan with a {@code COLLSCAN} fails the test. Commands without a filter or sort
+ * (analytics over all tasks, full exports) scan by design and are not checked.
+ *
+ * <p>Needs a real server (set {@code MONGODB_URI}); mongo-java-server has no query planner. Without
+ * one the test is skipped, unless {@code query-plans.required} is set (the {@code query-plans} Maven
+ * profile does), in which case it fails.
+ */
+class QueryPlanTest {
+
+    static final String REQUIRED = "query-plans.required";
+
+    private static final Set<String> QUERIES = Set.of("find", "aggregate", "count", "distinct", "findAndModify", "update", "delete");
+    private static final Set<String> NOT_EXPLAINABLE = Set.of("lsid", "txnNumber", "readConcern", "writeConcern",
+        "autocommit", "startTransaction", "apiVersion", "apiStrict", "apiDeprecationErrors");
+
+    private final List<BsonDocument> commands = Collections.synchronizedList(new ArrayList<>());
+    private volatile boolean recording;
+    private TestMongo db;
+    private MongoTemplate mongo;
+    private TaskRepository tasks;
+    private final Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    @BeforeEach
+    void setUp() {
+        CommandListener recorder = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent e) {
+                if (recording && QUERIES.contains(e.getCommandName())) commands.add(e.getCommand().clone());
+            }
+        };
+        db = new TestMongo(recorder);
+        if (db.inProcess()) {
+            if (Boolean.getBoolean(REQUIRED)) fail("explain needs a real MongoDB: set MONGODB_URI (" + REQUIRED + " is on)");
+            Assumptions.abort("explain needs a real MongoDB: set MONGODB_URI");
+        }
+        mongo = db.template();
+        new IndexReconciler(mongo, documents(), true).reconcileNow();
+        tasks = new MongoRepositoryFactory(mongo)
+            .getRepository(TaskRepository.class, RepositoryFragments.just(new TaskRepositoryImpl(mongo)));
+        seed();
+        recording = true;
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void taskListingsUseAnIndexForEveryFilterAndSort() {
+        List<TaskFilter> filters = List.of(
+            filter(null, null, null, null, null, null, null),
+            filter("alice", null, null, null, null, null, null),
+            filter("alice", TaskStatus.OPEN, null, null, null, null, null),
+            filter("alice", null, null, null, now, now.plus(7, ChronoUnit.DAYS), null),
+            filter("alice", null, null, null, null, null, "report"),
+            filter(null, TaskStatus.OPEN, null, null, null, null, null),
+            filter(null, null, TaskPriority.HIGH, null, null, null, null),
+            filter(null, null, null, "bob", null, null, null),
+            filter(null, TaskStatus.IN_PROGRESS, null, "bob", null, null, null),
+            filter(null, null, null, null, null, now, null));
+        for (String owner : Arrays.asList("alice", null)) {
+            TaskPage overdue = tasks.findOpenDue(owner, null, now, null, 5);
+            tasks.findOpenDue(owner, null, now, overdue.nextCursor(), 5);
+            tasks.countOpenDue(owner, null, now);
+            tasks.countOpenDue(owner, now, now.plus(1, ChronoUnit.DAYS));
+        }
+        for (TaskFilter f : filters) {
+            for (TaskSort sort : TaskSort.values()) {
+                TaskPage first = tasks.findPage(f, sort, null, 5);
+                if (first.nextCursor() != null) tasks.findPage(f, sort, first.nextCursor(), 5);
+                try (Stream<Task> all = tasks.streamMatching(f, sort)) {
+                    all.count();
+                }
+            }
+        }
+        assertIndexed();
+    }
+
+    /** IXSCAN+FILTER on a sort index would pass the COLLSCAN check and still read every task. */
+    @Test
+    void titleSearchExaminesOnlyTheTasksItMatches() {
+        long matching = mongo.count(Query.query(Criteria.where("title").regex("^report ", "i")), Task.class);
+        assertTrue(matching > 0);
+        for (TaskFilter f : List.of(filter(null, null, null, null, null, null, "rep"),
+                                    filter("alice", null, null, null, null, null, "rep"))) {
+            for (TaskSort sort : TaskSort.values()) {
+                commands.clear();
+                tasks.findPage(f, sort, null, 5);
+                BsonDocument find = explainable(commands.get(0)).get(0);
+                BsonDocument stats = mongo.getDb().runCommand(
+                    new BsonDocument("explain", find).append("verbosity", new BsonString("executionStats")), BsonDocument.class)
+                    .getDocument("executionStats");
+                long examined = stats.getNumber("totalDocsExamined").longValue();
+                assertTrue(examined <= matching, () -> sort + " " + f + " examined " + examined + " of " + matching + " matches");
+            }
+        }
+    }
+
+    @Test
+    void lookupsAndVersionedWritesUseAnIndex() {
+        tasks.findByOwner("alice");
+        Task t = tasks.findById("t1").orElseThrow();
+        tasks.updateIfVersion("t1", t.getVersion(), new Update().set("title", "renamed"));
+        new MongoRepositoryFactory(mongo).getRepository(UserRepository.class).findByUsername("alice");
+
+        AuditEventRepository audit = new MongoRepositoryFactory(mongo)
+            .getRepository(AuditEventRepository.class, RepositoryFragments.just(new AuditEventRepositoryImpl(mongo)));
+        try (Stream<AuditEvent> s = audit.streamMatching(now.minus(1, ChronoUnit.DAYS), now, null, null, null)) {
+            s.count();
+        }
+        try (Stream<AuditEvent> s = audit.streamMatching(null, null, null, null, "t1")) {
+            s.count();
+        }
+        try (Stream<AuditEvent> s = audit.streamMatching(null, null, "TASK_UPDATED", null, null)) {
+            s.count();
+        }
+        assertIndexed();
+    }
+
+    @Test
+    void deltaSyncAndEscalationUseAnIndex() {
+        TaskDeltaService delta = new TaskDeltaService(mongo, 1000, Duration.ofSeconds(5));
+        delta.since("alice", false, now.minus(1, ChronoUnit.HOURS));
+        delta.since("root", true, now.minus(1, ChronoUnit.HOURS));
+
+        ClusterNode node = new ClusterNode("test");
+        TaskMaintenanceScheduler maintenance = new TaskMaintenanceScheduler(mongo,
+            new DomainEventOutbox(mongo, node, Optional.empty()), e -> {}, new LeaseLock(mongo, node, Clock.systemUTC()), 50);
+        maintenance.escalate(now, null);
+        maintenance.escalate(now, List.of("t1", "t2"));
+        assertIndexed();
+    }
+
+    private void assertIndexed() {
+        List<String> scans = new ArrayList<>();
+        List<BsonDocument> run;
+        synchronized (commands) {
+            run = List.copyOf(commands);
+        }
+        assertFalse(run.isEmpty(), "no queries were recorded");
+        Set<String> seen = new HashSet<>();
+        for (BsonDocument command : run) {
+            for (BsonDocument single : explainable(command)) {
+                if (!seen.add(single.toJson())) continue;
+                BsonDocument plan = mongo.getDb().runCommand(
+                    new BsonDocument("explain", single).append("verbosity", new BsonString("queryPlanner")), BsonDocument.class);
+                if (collectionScan(plan, false)) scans.add(single.toJson());
+            }
+        }
+        assertTrue(scans.isEmpty(), () -> "collection scans:\n" + String.join("\n", scans));
+    }
+
+    /** The command without session/transaction fields, one statement per update/delete; empty when it scans by design. */
+    private static List<BsonDocument> explainable(BsonDocument command) {
+        BsonDocument c = new BsonDocument();
+        command.forEach((k, v) -> {
+            if (!k.startsWith("$") && !NOT_EXPLAINABLE.contains(k)) c.put(k, v);
+        });
+        String name = c.getFirstKey();
+        switch (name) {
+            case "find", "count", "distinct", "findAndModify" -> {
+                BsonValue filter = c.get("find".equals(name) ? "filter" : "query");
+                boolean sorted = c.containsKey("sort") && !c.getDocument("sort").isEmpty();
+                return empty(filter) && !sorted ? List.of() : List.of(c);
+            }
+            case "aggregate" -> {
+                BsonArray pipeline = c.getArray("pipeline");
+                if (pipeline.isEmpty()) return List.of();
+                BsonDocument first = pipeline.get(0).asDocument();
+                return first.containsKey("$match") && !empty(first.get("$match")) ? List.of(c) : List.of();
+            }
+            case "update", "delete" -> {
+                String list = "update".equals(name) ? "updates" : "deletes";
+                List<BsonDocument> singles = new ArrayList<>();
+                for (BsonValue statement : c.getArray(list)) {
+                    if (empty(statement.asDocument().get("q"))) continue;
+                    BsonDocument s = c.clone();
+                    s.put(list, new BsonArray(List.of(statement)));
+                    singles.add(s);
+                }
+                return singles;
+            }
+            default -> {
+                return List.of();
+            }
+        }
+    }
+
+    private static boolean empty(BsonValue filter) {
+        return filter == null || filter.asDocument().isEmpty();
+    }
+
+    /** Looks for a COLLSCAN stage in the winning plan(s) only; rejected plans may scan. */
+    private static boolean collectionScan(BsonValue node, boolean inWinningPlan) {
+        if (node.isDocument()) {
+            for (var e : node.asDocument().entrySet()) {
+                if ("rejectedPlans".equals(e.getKey())) continue;
+                boolean winning = inWinningPlan || "winningPlan".equals(e.getKey());
+                if (winning && "stage".equals(e.getKey()) && e.getValue().isString()
+                        && "COLLSCAN".equals(e.getValue().asString().getValue())) {
+                    return true;
+                }
+                if (collectionScan(e.getValue(), winning)) return true;
+            }
+        } else if (node.isArray()) {
+            for (BsonValue v : node.asArray()) if (collectionScan(v, inWinningPlan)) return true;
+        }
+        return false;
+    }
+
+    private void seed() {
+        String[] owners = { "alice", "bob", "carol" };
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> rows = new ArrayList<>();
+        List<AuditEvent> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Task t = new Task();
+            t.setId(i < 2 ? "t" + (i + 1) : new ObjectId().toHexString());
+            t.setTitle((i % 9 == 0 ? "Report " : "task ") + i);
+            t.setOwner(owners[i % 3]);
+            t.setAssignee(owners[(i + 1) % 3]);
+            t.setStatus(statuses[i % 3]);
+            t.setPriority(priorities[(i / 3) % 3]);
+            t.setDueDate(i % 5 == 0 ? null : now.plus(i - 100, ChronoUnit.HOURS));
+            t.setCreatedAt(now.minus(200 - i, ChronoUnit.HOURS));
+            t.setUpdatedAt(now.minus(200 - i, ChronoUnit.MINUTES));
+            rows.add(t);
+
+            AuditEvent e = new AuditEvent();
+            e.setAt(now.minus(i, ChronoUnit.HOURS));
+            e.setType(i % 2 == 0 ? "TASK_CREATED" : "TASK_UPDATED");
+            e.setActor(owners[i % 3]);
+            e.setTaskId(t.getId());
+            events.add(e);
+        }
+        mongo.insertAll(rows);
+        mongo.insertAll(events);
+        User u = new User();
+        u.setUsername("alice");
+        mongo.insert(u);
+    }
+
+    private static TaskFilter filter(String owner, TaskStatus status, TaskPriority priority, String assignee,
+                                     Instant dueFrom, Instant dueTo, String text) {
+        return new TaskFilter(owner, status, priority, assignee, dueFrom, dueTo, text);
+    }
+
+    /** Every @Document class, as Spring Boot's entity scan finds them. */
+    private static MongoMappingContext documents() {
+        ClassPathScanningCandidateComponentProvider scan = new ClassPathScanningCandidateComponentProvider(false);
+        scan.addIncludeFilter(new AnnotationTypeFilter(Document.class));
+        Set<Class<?>> types = new HashSet<>();
+        for (BeanDefinition d : scan.findCandidateComponents("com.dhruv.taskmanager.model")) {
+            try {
+                types.add(Class.forName(d.getBeanClassName()));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        MongoMappingContext mapping = new MongoMappingContext();
+        mapping.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mapping.setInitialEntitySet(types);
+        mapping.afterPropertiesSet();
+        return mapping;
+    }
+}
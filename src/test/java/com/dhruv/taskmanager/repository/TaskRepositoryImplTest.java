@@ -0,0 +1,180 @@
+package com.dhruv.taskmanager.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskPage;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.service.TaskPolicyService;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class TaskRepositoryImplTest {
+
+    private TestMongo db;
+    private TaskRepositoryImpl repo;
+    private final List<Task> tasks = new ArrayList<>();
+    private final Instant base = Instant.parse("2026-03-01T00:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        repo = new TaskRepositoryImpl(db.template());
+        Random rnd = new Random(11);
+        TaskStatus[] statuses = TaskStatus.values();
+        for (int i = 0; i < 300; i++) {
+            Task t = new Task();
+            t.setId(new ObjectId().toHexString());
+            t.setTitle((i % 7 == 0 ? "Quarterly Report " : "task ") + i);
+            t.setStatus(statuses[rnd.nextInt(3)]);
+            t.setPriority(TaskPriority.LOW);
+            t.setOwner(rnd.nextBoolean() ? "alice" : "bob");
+            // coarse timestamps so sort keys tie and the _id tie-breaker matters
+            t.setUpdatedAt(base.plus(rnd.nextInt(20), ChronoUnit.HOURS));
+            t.setDueDate(rnd.nextInt(5) == 0 ? null : base.plus(rnd.nextInt(10), ChronoUnit.DAYS));
+            tasks.add(t);
+        }
+        db.template().insertAll(tasks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void pagesCoverEveryMatchInOrderForEachSort() {
+        TaskFilter filter = new TaskFilter("alice", null, null, null, null, null, null);
+        for (TaskSort sort : List.of(TaskSort.UPDATED_DESC, TaskSort.DUE_ASC, TaskSort.DUE_DESC)) {
+            List<String> expected = expected(t -> "alice".equals(t.getOwner()), sort);
+            assertEquals(expected, walk(filter, sort, 17), sort.name());
+        }
+    }
+
+    @Test
+    void filtersOnStatusDueRangeAndText() {
+        Instant from = base.plus(2, ChronoUnit.DAYS);
+        Instant to = base.plus(6, ChronoUnit.DAYS);
+        TaskFilter filter = new TaskFilter(null, TaskStatus.OPEN, null, null, from, to, "REP quart");
+        List<String> expected = expected(t -> t.getStatus() == TaskStatus.OPEN
+            && t.getDueDate() != null && !t.getDueDate().isBefore(from) && t.getDueDate().isBefore(to)
+            && t.getTitle().toLowerCase().contains("report"), TaskSort.UPDATED_DESC);
+
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, walk(filter, TaskSort.UPDATED_DESC, 2));
+        // words are matched from their start only
+        assertTrue(repo.findPage(new TaskFilter(null, null, null, null, null, null, "port"), TaskSort.UPDATED_DESC, null, 5)
+            .items().isEmpty());
+        // text with no words is not dropped: it matches nothing
+        assertTrue(repo.findPage(new TaskFilter(null, null, null, null, null, null, "!!!"), TaskSort.UPDATED_DESC, null, 5)
+            .items().isEmpty());
+    }
+
+    @Test
+    void pagesAndCountsOpenTasksByDueDate() {
+        Instant now = base.plus(5, ChronoUnit.DAYS);
+        List<String> overdue = expected(t -> TaskPolicyService.isOverdue(t.getStatus(), t.getDueDate(), now)
+            && "alice".equals(t.getOwner()), TaskSort.DUE_ASC);
+        assertFalse(overdue.isEmpty());
+        assertEquals(overdue, walkOpenDue("alice", null, now, 7));
+        assertEquals(overdue.size(), repo.countOpenDue("alice", null, now));
+
+        Instant soon = now.plus(2, ChronoUnit.DAYS);
+        List<String> dueSoon = expected(t -> t.getStatus() != TaskStatus.DONE && t.getDueDate() != null
+            && !t.getDueDate().isBefore(now) && t.getDueDate().isBefore(soon), TaskSort.DUE_ASC);
+        assertEquals(dueSoon, walkOpenDue(null, now, soon, 7));
+        assertEquals(dueSoon.size(), repo.countOpenDue(null, now, soon));
+    }
+
+    @Test
+    void rejectsCursorFromAnotherSort() {
+        TaskFilter all = new TaskFilter(null, null, null, null, null, null, null);
+        String cursor = repo.findPage(all, TaskSort.UPDATED_DESC, null, 5).nextCursor();
+        assertThrows(IllegalArgumentException.class, () -> repo.findPage(all, TaskSort.DUE_ASC, cursor, 5));
+        assertThrows(IllegalArgumentException.class, () -> repo.findPage(all, TaskSort.DUE_ASC, "%%%", 5));
+    }
+
+    @Test
+    void replacesOnlyTheExpectedVersion() {
+        Task t = tasks.get(0);
+        Task stored = db.template().findById(t.getId(), Task.class);
+        assertEquals(0L, stored.getVersion());
+
+        stored.setTitle("first");
+        Task saved = repo.replaceIfVersion(stored, 0L);
+        assertEquals(1L, saved.getVersion());
+        assertEquals("first", saved.getTitle());
+
+        stored.setTitle("stale");
+        assertNull(repo.replaceIfVersion(stored, 0L));
+        assertEquals("first", db.template().findById(t.getId(), Task.class).getTitle());
+
+        db.template().updateFirst(Query.query(Criteria.where("_id").is(t.getId())), new Update().unset("version"), Task.class);
+        stored.setTitle("legacy");
+        assertEquals(1L, repo.replaceIfVersion(stored, null).getVersion());
+    }
+
+    @Test
+    void updatesFieldsOnlyAtTheExpectedVersion() {
+        Task t = tasks.get(1);
+        Task saved = repo.updateIfVersion(t.getId(), 0L, new Update().set("status", "DONE").unset("dueDate"));
+        assertEquals(1L, saved.getVersion());
+        assertEquals(TaskStatus.DONE, saved.getStatus());
+        assertNull(saved.getDueDate());
+        assertEquals(t.getTitle(), saved.getTitle());
+
+        assertNull(repo.updateIfVersion(t.getId(), 0L, new Update().set("status", "OPEN")));
+
+        repo.updateIfVersion(t.getId(), 1L, new Update().set("title", "Budget review"));
+        TaskFilter budget = new TaskFilter(null, null, null, null, null, null, "budget");
+        assertEquals(List.of(t.getId()), walk(budget, TaskSort.UPDATED_DESC, 5));
+    }
+
+    private List<String> walk(TaskFilter filter, TaskSort sort, int limit) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage page = repo.findPage(filter, sort, cursor, limit);
+            assertTrue(page.items().size() <= limit);
+            page.items().forEach(t -> ids.add(t.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private List<String> walkOpenDue(String owner, Instant from, Instant to, int limit) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage page = repo.findOpenDue(owner, from, to, cursor, limit);
+            page.items().forEach(t -> ids.add(t.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    // Mongo order: nulls first ascending, ties broken on _id in the sort direction
+    private List<String> expected(Predicate<Task> match, TaskSort sort) {
+        Comparator<Task> cmp = Comparator.comparing(sort.value, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+            .thenComparing(Task::getId);
+        if (sort.direction.isDescending()) cmp = cmp.reversed();
+        return tasks.stream().filter(match).sorted(cmp).map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.dhruv.taskmanager.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtAuthCacheTest {
+
+    private final JwtSecurity jwt = new JwtSecurity("test-secret", 5);
+    private final JwtAuthCache cache = new JwtAuthCache(jwt, new SimpleMeterRegistry(), 100);
+
+    @Test
+    void verifiesOnceAndReusesTheAuthentication() {
+        String token = jwt.createToken("alice", Set.of("USER"));
+
+        Authentication first = cache.authenticate(token);
+        assertEquals("alice", first.getName());
+        assertEquals("ROLE_USER", first.getAuthorities().iterator().next().getAuthority());
+        assertSame(first, cache.authenticate(token));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void rejectsForgedTokensWithoutCachingThem() {
+        String token = jwt.createToken("alice", Set.of("USER"));
+        String forged = new JwtSecurity("other-secret", 5).createToken("alice", Set.of("ADMIN"));
+
+        cache.authenticate(token);
+        assertThrows(JwtException.class, () -> cache.authenticate(forged));
+        assertThrows(JwtException.class, () -> cache.authenticate(token.substring(0, token.length() - 2) + "xx"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void expiredTokensAreNotAccepted() {
+        String expired = new JwtSecurity("test-secret", -1).createToken("alice", Set.of("USER"));
+        assertThrows(JwtException.class, () -> cache.authenticate(expired));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void authoritiesAreShared() {
+        assertSame(JwtAuthCache.authorities(List.of("ADMIN")).iterator().next(),
+            JwtAuthCache.authorities(List.of("USER", "ADMIN")).get(1));
+    }
+}
@@ -0,0 +1,102 @@
+package com.dhruv.taskmanager.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private PasswordHashingService hashing;
+
+    @AfterEach
+    void tearDown() {
+        if (hashing != null) hashing.destroy();
+    }
+
+    @Test
+    void verifiesAndRecordsQueueTime() throws Exception {
+        PasswordEncoder encoder = encoder(4);
+        hashing = new PasswordHashingService(encoder, meters, 1, 4, false);
+        String hash = hashing.encode("s3cret").get();
+
+        assertEquals(new PasswordHashingService.Verification(true, null), hashing.verify("s3cret", hash).get());
+        assertFalse(hashing.verify("wrong", hash).get().matches());
+        assertFalse(hashing.verify(null, hash).get().matches());
+        assertEquals(4, meters.timer("auth.hash.queue").count());
+        assertEquals(4, meters.timer("auth.hash").count());
+    }
+
+    @Test
+    void unknownUsersStillPayForAHash() throws Exception {
+        hashing = new PasswordHashingService(encoder(4), meters, 1, 4, false);
+        long before = meters.timer("auth.hash").count();
+
+        assertFalse(hashing.verify("anything", null).get().matches());
+        assertEquals(before + 1, meters.timer("auth.hash").count());
+    }
+
+    @Test
+    void rehashesOutdatedHashesOnlyWhenEnabled() throws Exception {
+        String legacy = new BCryptPasswordEncoder(4).encode("s3cret"); // no {bcrypt} prefix, lower cost
+
+        hashing = new PasswordHashingService(encoder(5), meters, 1, 4, false);
+        assertNull(hashing.verify("s3cret", legacy).get().upgradedHash());
+        hashing.destroy();
+
+        hashing = new PasswordHashingService(encoder(5), meters, 1, 4, true);
+        String upgraded = hashing.verify("s3cret", legacy).get().upgradedHash();
+        assertNotNull(upgraded);
+        assertTrue(upgraded.startsWith("{bcrypt}$2a$05$"));
+        assertEquals(new PasswordHashingService.Verification(true, null), hashing.verify("s3cret", upgraded).get());
+        assertFalse(hashing.verify("wrong", legacy).get().matches());
+    }
+
+    @Test
+    void refusesWorkBeyondTheQueue() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override public boolean matches(CharSequence raw, String encoded) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.matches(raw, encoded);
+            }
+        };
+        hashing = new PasswordHashingService(slow, meters, 1, 1, false);
+        String hash = slow.encode("s3cret");
+
+        CompletableFuture<PasswordHashingService.Verification> running = hashing.verify("s3cret", hash);
+        CompletableFuture<PasswordHashingService.Verification> waiting = hashing.verify("s3cret", hash);
+        CompletableFuture<PasswordHashingService.Verification> refused = hashing.verify("s3cret", hash);
+
+        ExecutionException ex = assertThrows(ExecutionException.class, refused::get);
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+        assertEquals(1.0, meters.counter("auth.hash.rejected").count());
+
+        release.countDown();
+        assertTrue(running.get().matches());
+        assertTrue(waiting.get().matches());
+    }
+
+    private static PasswordEncoder encoder(int cost) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
+    }
+}
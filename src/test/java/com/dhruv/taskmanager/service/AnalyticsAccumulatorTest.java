@@ -0,0 +1,89 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.UserProductivityDto;
+import com.dhruv.taskmanager.model.Task;
+
+class AnalyticsAccumulatorTest {
+
+    private final ZoneId zone = ZoneId.of("UTC");
+    private final Instant now = Instant.parse("2026-03-12T10:00:00Z"); // a Thursday
+
+    @Test
+    void countsStatusPriorityOverdueAndWeeks() {
+        List<Task> tasks = List.of(
+            task(TaskStatus.OPEN, TaskPriority.LOW, "alice", null, now.minus(1, ChronoUnit.DAYS)),
+            task(TaskStatus.DONE, TaskPriority.HIGH, "alice", "bob", now.minus(2, ChronoUnit.DAYS)),
+            task(TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, "bob", " bob ", now.plus(5, ChronoUnit.DAYS)),
+            task(TaskStatus.OPEN, TaskPriority.HIGH, "bob", "  ", null)
+        );
+
+        TaskAnalyticsDto dto = AnalyticsAccumulator.compute(tasks, now, zone);
+
+        assertEquals(4, dto.total());
+        assertEquals(1, dto.done());
+        assertEquals(3, dto.pending());
+        assertEquals(1, dto.overdue());
+        assertEquals(0.25, dto.completionRate());
+        assertEquals(2L, dto.distribution().get("OPEN"));
+        assertEquals(2L, dto.priorities().get("HIGH"));
+
+        assertEquals("2026-01-19", dto.weekly().labels().get(0));
+        assertEquals("2026-03-09", dto.weekly().labels().get(7));
+        assertEquals(1L, dto.weekly().open().get(7));
+        assertEquals(1L, dto.weekly().done().get(7));
+        assertEquals(0L, dto.weekly().inProgress().get(7)); // due next week
+
+        assertEquals(List.of(
+            new UserProductivityDto("Unassigned", 2, 0, 1),
+            new UserProductivityDto("bob", 2, 1, 0)
+        ), dto.byAssignee());
+    }
+
+    @Test
+    void mergedPartialsEqualSequentialPass() {
+        Random rnd = new Random(3);
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskPriority[] priorities = TaskPriority.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < AnalyticsAccumulator.PARALLEL_THRESHOLD + 5_000; i++) {
+            tasks.add(task(statuses[rnd.nextInt(3)], priorities[rnd.nextInt(3)], "u" + rnd.nextInt(500),
+                rnd.nextBoolean() ? null : "u" + rnd.nextInt(500), now.plus(rnd.nextInt(2000) - 1200, ChronoUnit.HOURS)));
+        }
+
+        AnalyticsAccumulator sequential = new AnalyticsAccumulator(now, zone);
+        tasks.forEach(sequential::add);
+
+        AnalyticsAccumulator left = new AnalyticsAccumulator(now, zone);
+        AnalyticsAccumulator right = new AnalyticsAccumulator(now, zone);
+        tasks.subList(0, 1234).forEach(left::add);
+        tasks.subList(1234, tasks.size()).forEach(right::add);
+        left.merge(right);
+
+        assertEquals(sequential.toDto(), left.toDto());
+        assertEquals(sequential.toDto(), AnalyticsAccumulator.compute(tasks, now, zone));
+    }
+
+    private static Task task(TaskStatus status, TaskPriority priority, String owner, String assignee, Instant due) {
+        Task t = new Task();
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setOwner(owner);
+        t.setAssignee(assignee);
+        t.setDueDate(due);
+        return t;
+    }
+}
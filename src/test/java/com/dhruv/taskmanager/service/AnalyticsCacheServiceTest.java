@@ -0,0 +1,73 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.config.CacheConfig;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AnalyticsCacheServiceTest {
+
+    private final AnalyticsService analytics = mock(AnalyticsService.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final AnalyticsCacheService cache = new AnalyticsCacheService(analytics,
+        new CacheConfig().analyticsCacheSpec(Duration.ofMinutes(5), Duration.ZERO, 100), meters);
+
+    @Test
+    void concurrentMissesComputeOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(analytics.computeFor(any())).thenAnswer(inv -> {
+            release.await();
+            return mock(TaskAnalyticsDto.class);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) calls.add(pool.submit(() -> cache.get(null)));
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<?> f : calls) f.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(analytics, times(1)).computeFor(null);
+        assertEquals(7.0, meters.get("cache.gets").tag("cache", "analytics").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void taskEventsEvictOnlyAffectedScopes() {
+        when(analytics.computeFor(any())).thenAnswer(inv -> mock(TaskAnalyticsDto.class));
+        cache.get(null);
+        cache.get("alice");
+        cache.get("bob");
+
+        TaskSnapshot before = new TaskSnapshot("OPEN", "LOW", null, "alice", null, Instant.EPOCH);
+        TaskSnapshot after = new TaskSnapshot("DONE", "LOW", null, "alice", null, Instant.EPOCH.plusSeconds(1));
+        cache.onUpdated(new TaskUpdatedEvent("t1", "alice", before, after));
+
+        cache.get(null);
+        cache.get("alice");
+        cache.get("bob");
+        verify(analytics, times(2)).computeFor(null);
+        verify(analytics, times(2)).computeFor("alice");
+        verify(analytics, times(1)).computeFor("bob");
+    }
+}
@@ -0,0 +1,101 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+/**
+ * Runs the Mongo aggregation engine and the in-memory engine over the same
+ * data set and expects identical DTOs.
+ */
+class AnalyticsEngineEquivalenceTest {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    private static final String[] USERS = { "alice", "bob", "carol", "dave" };
+
+    private TestMongo db;
+    private MongoTemplate mongo;
+    private AnalyticsAggregationService aggregation;
+    private AnalyticsService memory;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        mongo = db.template();
+        aggregation = new AnalyticsAggregationService(mongo);
+        memory = new AnalyticsService(null, aggregation, "memory");
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void mongoAndMemoryEnginesAgree() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        List<Task> tasks = randomTasks(new Random(42), 2_000, now);
+        mongo.insertAll(tasks);
+
+        assertEquals(memory.compute(tasks, now), aggregation.compute(null, now));
+
+        List<Task> bobs = tasks.stream().filter(t -> "bob".equals(t.getOwner())).toList();
+        assertEquals(memory.compute(bobs, now), aggregation.compute("bob", now));
+    }
+
+    @Test
+    void reactivePipelineMatchesTheBlockingOne() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        mongo.insertAll(randomTasks(new Random(7), 500, now));
+        ReactiveAnalyticsService reactive = new ReactiveAnalyticsService(db.reactiveTemplate(), new AnalyticsMaterializedView(mongo, false));
+
+        assertEquals(aggregation.compute(null, now), reactive.aggregate(null, now).block());
+        assertEquals(aggregation.compute("carol", now), reactive.aggregate("carol", now).block());
+    }
+
+    @Test
+    void emptyCollectionGivesZeroes() {
+        Instant now = Instant.now();
+        TaskAnalyticsDto dto = aggregation.compute(null, now);
+        assertEquals(memory.compute(List.of(), now), dto);
+        assertEquals(0, dto.total());
+    }
+
+    private static List<Task> randomTasks(Random rnd, int n, Instant now) {
+        List<Task> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Task t = new Task();
+            t.setTitle("task-" + i);
+            t.setStatus(STATUSES[rnd.nextInt(STATUSES.length)]);
+            t.setPriority(PRIORITIES[rnd.nextInt(PRIORITIES.length)]);
+            t.setOwner(USERS[rnd.nextInt(USERS.length)]);
+            switch (rnd.nextInt(5)) {
+                case 0 -> t.setAssignee(null);
+                case 1 -> t.setAssignee("  ");
+                case 2 -> t.setAssignee(" " + USERS[rnd.nextInt(USERS.length)] + " ");
+                default -> t.setAssignee(USERS[rnd.nextInt(USERS.length)]);
+            }
+            if (rnd.nextInt(6) != 0) {
+                t.setDueDate(now.plus(rnd.nextInt(24 * 140) - 24 * 70, ChronoUnit.HOURS));
+            }
+            out.add(t);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,185 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.AnalyticsDtos.TaskAnalyticsDto;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class AnalyticsMaterializedViewTest {
+
+    private TestMongo db;
+    private AnalyticsMaterializedView view;
+    private final List<Task> tasks = new ArrayList<>();
+    private final Instant now = Instant.now();
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        view = new AnalyticsMaterializedView(db.template(), true);
+        tasks.add(task("t1", TaskStatus.OPEN, TaskPriority.LOW, "alice", "bob", now.minus(3, ChronoUnit.DAYS)));
+        tasks.add(task("t2", TaskStatus.IN_PROGRESS, TaskPriority.HIGH, "alice", null, now.plus(2, ChronoUnit.DAYS)));
+        tasks.add(task("t3", TaskStatus.DONE, TaskPriority.MEDIUM, "bob", "alice", now.minus(9, ChronoUnit.DAYS)));
+        db.template().insertAll(tasks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void emptyUntilFirstBuild() {
+        assertTrue(view.snapshot(null).isEmpty());
+        view.reconcile();
+        assertEquals(expected(tasks), view.snapshot(null).orElseThrow());
+        assertEquals(expected(tasks.stream().filter(t -> "alice".equals(t.getOwner())).toList()),
+            view.snapshot("alice").orElseThrow());
+    }
+
+    @Test
+    void eventsApplyDeltasWithoutRescanning() {
+        view.reconcile();
+
+        Task created = task("t4", TaskStatus.OPEN, TaskPriority.MEDIUM, "carol", "carol", now.plus(1, ChronoUnit.DAYS));
+        tasks.add(created);
+        view.onCreated(new TaskCreatedEvent("t4", "carol", TaskSnapshot.of(created)));
+
+        Task t1 = tasks.get(0);
+        TaskSnapshot before = TaskSnapshot.of(t1);
+        t1.setStatus(TaskStatus.IN_PROGRESS);
+        t1.setUpdatedAt(now.plusSeconds(1));
+        view.onUpdated(new TaskUpdatedEvent("t1", "alice", before, TaskSnapshot.of(t1)));
+
+        Task t3 = tasks.remove(2);
+        view.onDeleted(new TaskDeletedEvent("t3", "admin", TaskSnapshot.of(t3)));
+
+        assertEquals(expected(tasks), view.snapshot(null).orElseThrow());
+        assertEquals(0, view.snapshot("bob").orElseThrow().total());
+    }
+
+    @Test
+    void eventsMayArriveOutOfOrder() {
+        view.reconcile();
+
+        Task t1 = tasks.get(0);
+        TaskSnapshot v0 = TaskSnapshot.of(t1);
+        t1.setStatus(TaskStatus.IN_PROGRESS);
+        t1.setUpdatedAt(now.plusSeconds(1));
+        TaskSnapshot v1 = TaskSnapshot.of(t1);
+        t1.setStatus(TaskStatus.DONE);
+        t1.setAssignee("carol");
+        t1.setUpdatedAt(now.plusSeconds(2));
+        TaskSnapshot v2 = TaskSnapshot.of(t1);
+
+        view.onUpdated(new TaskUpdatedEvent("t1", "alice", v1, v2));
+        view.onUpdated(new TaskUpdatedEvent("t1", "alice", v0, v1));
+
+        assertEquals(expected(tasks), view.snapshot(null).orElseThrow());
+        assertEquals(expected(tasks.stream().filter(t -> "alice".equals(t.getOwner())).toList()),
+            view.snapshot("alice").orElseThrow());
+    }
+
+    @Test
+    void changesDuringARebuildAreCountedOnce() {
+        MongoTemplate mongo = spy(db.template());
+        AnalyticsMaterializedView rebuilding = new AnalyticsMaterializedView(mongo, true);
+        rebuilding.reconcile();
+
+        doAnswer(inv -> {
+            // written before the stream reads: the stream reflects these
+            Task t2 = tasks.get(1);
+            TaskSnapshot before = TaskSnapshot.of(t2);
+            t2.setStatus(TaskStatus.DONE);
+            t2.setUpdatedAt(now.plusSeconds(1));
+            write(rebuilding, t2, new TaskUpdatedEvent("t2", "alice", before, TaskSnapshot.of(t2)));
+            Task t3 = tasks.remove(2);
+            db.template().remove(t3);
+            rebuilding.onDeleted(new TaskDeletedEvent("t3", "bob", TaskSnapshot.of(t3)));
+            Task t4 = task("t4", TaskStatus.OPEN, TaskPriority.HIGH, "carol", null, now.plus(5, ChronoUnit.DAYS));
+            write(rebuilding, t4, new TaskCreatedEvent("t4", "carol", TaskSnapshot.of(t4)));
+            tasks.add(t4);
+
+            @SuppressWarnings("unchecked")
+            Stream<Task> stream = (Stream<Task>) inv.callRealMethod();
+            return stream.onClose(() -> {
+                // written after the stream read them: these must be replayed
+                Task t1 = tasks.get(0);
+                TaskSnapshot b1 = TaskSnapshot.of(t1);
+                t1.setPriority(TaskPriority.HIGH);
+                t1.setUpdatedAt(now.plusSeconds(2));
+                write(rebuilding, t1, new TaskUpdatedEvent("t1", "alice", b1, TaskSnapshot.of(t1)));
+                Task t5 = task("t5", TaskStatus.OPEN, TaskPriority.LOW, "dave", null, null);
+                write(rebuilding, t5, new TaskCreatedEvent("t5", "dave", TaskSnapshot.of(t5)));
+                db.template().remove(t5);
+                rebuilding.onDeleted(new TaskDeletedEvent("t5", "dave", TaskSnapshot.of(t5)));
+            });
+        }).when(mongo).stream(any(Query.class), eq(Task.class));
+
+        rebuilding.reconcile();
+
+        assertEquals(0, rebuilding.lastReconcile().drifted());
+        assertEquals(expected(tasks), rebuilding.snapshot(null).orElseThrow());
+        assertEquals(0, rebuilding.snapshot("dave").orElseThrow().total());
+    }
+
+    private void write(AnalyticsMaterializedView target, Task t, Object event) {
+        db.template().save(t);
+        if (event instanceof TaskCreatedEvent c) target.onCreated(c);
+        else target.onUpdated((TaskUpdatedEvent) event);
+    }
+
+    @Test
+    void reconcileReportsDrift() {
+        view.reconcile();
+        assertEquals(0, view.lastReconcile().drifted());
+
+        // a write that bypassed the events
+        Task t2 = tasks.get(1);
+        t2.setStatus(TaskStatus.DONE);
+        db.template().save(t2);
+
+        view.reconcile();
+        assertEquals(1, view.lastReconcile().drifted());
+        assertEquals(expected(tasks), view.snapshot(null).orElseThrow());
+    }
+
+    private TaskAnalyticsDto expected(List<Task> list) {
+        return AnalyticsAccumulator.compute(list, now, ZoneId.systemDefault());
+    }
+
+    private Task task(String id, TaskStatus status, TaskPriority priority, String owner, String assignee, Instant due) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle(id);
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setOwner(owner);
+        t.setAssignee(assignee);
+        t.setDueDate(due);
+        t.setUpdatedAt(now);
+        return t;
+    }
+}
@@ -0,0 +1,62 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class ClusterEventBusTest {
+
+    private TestMongo db;
+    private final List<Object> published = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void replaysOtherNodesChangesOnce() {
+        DomainEventOutbox here = outbox("here");
+        DomainEventOutbox there = outbox("there");
+        ClusterEventBus bus = new ClusterEventBus(db.template(), new ClusterNode("here"), published::add, Duration.ofSeconds(10));
+
+        here.record("alice", created("t1"));
+        there.record("bob", created("t2"));
+        bus.poll();
+
+        assertEquals(1, published.size());
+        TaskBatchEvent e = (TaskBatchEvent) published.get(0);
+        assertEquals("bob", e.actor());
+        assertEquals("t2", e.changes().get(0).taskId());
+
+        there.record("bob", created("t3"));
+        bus.poll(); // t2 is still inside the lookback window but was replayed already
+        assertEquals(2, published.size());
+        assertEquals("t3", ((TaskBatchEvent) published.get(1)).changes().get(0).taskId());
+    }
+
+    private DomainEventOutbox outbox(String node) {
+        return new DomainEventOutbox(db.template(), new ClusterNode(node), Optional.empty());
+    }
+
+    private static Change created(String id) {
+        return new Change(id, null, new TaskSnapshot("OPEN", "LOW", null, "alice", null, null));
+    }
+}
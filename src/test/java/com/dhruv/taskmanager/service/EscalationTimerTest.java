@@ -0,0 +1,154 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.OutboxEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class EscalationTimerTest {
+
+    private static final Instant T0 = Instant.parse("2026-05-10T12:00:00Z");
+
+    /** Virtual time: nothing here sleeps, the tests move the clock and fire by hand. */
+    private static final class MutableClock extends Clock {
+        private Instant now = T0;
+
+        void advanceTo(Instant t) { now = t; }
+        @Override public Instant instant() { return now; }
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+    }
+
+    private TestMongo db;
+    private final MutableClock clock = new MutableClock();
+    private TaskMaintenanceScheduler maintenance;
+    private EscalationTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        maintenance = new TaskMaintenanceScheduler(db.template(),
+            new DomainEventOutbox(db.template(), new ClusterNode("test"), Optional.empty()),
+            e -> { if (e instanceof TaskBatchEvent b) timer.onBatch(b); },
+            new LeaseLock(db.template(), new ClusterNode("test"), Clock.systemUTC()), 100);
+        timer = new EscalationTimer(db.template(), maintenance, clock, true, Duration.ofHours(48));
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void firesEachTaskAtItsThresholds() {
+        stored("a", TaskStatus.OPEN, TaskPriority.LOW, T0.plus(Duration.ofHours(30)));
+        stored("b", TaskStatus.IN_PROGRESS, TaskPriority.MEDIUM, T0.plus(Duration.ofHours(26)));
+        stored("c", TaskStatus.OPEN, TaskPriority.LOW, T0.plus(Duration.ofHours(2)));     // already inside the window
+        stored("d", TaskStatus.DONE, TaskPriority.LOW, T0.plus(Duration.ofHours(2)));
+        stored("far", TaskStatus.OPEN, TaskPriority.LOW, T0.plus(Duration.ofDays(10)));   // beyond the horizon
+
+        assertEquals(3, timer.seed());
+        assertEquals(T0, timer.nextDeadline());
+        assertEquals(1, timer.fireDue());
+        assertEquals("HIGH", priority("c")); // inside the window: both steps at once, as the sweep would
+
+        Instant bWindow = T0.plus(Duration.ofHours(1)).plusMillis(1);
+        assertEquals(bWindow, timer.nextDeadline());
+        clock.advanceTo(bWindow.minusMillis(1));
+        assertEquals(0, timer.fireDue());
+        assertEquals("MEDIUM", priority("b"));
+        clock.advanceTo(bWindow);
+        assertEquals(1, timer.fireDue());
+        assertEquals("HIGH", priority("b"));
+
+        assertEquals(T0.plus(Duration.ofHours(5)).plusMillis(1), timer.nextDeadline());
+        assertEquals("LOW", priority("d"));
+        assertEquals("LOW", priority("far"));
+    }
+
+    @Test
+    void takesALowTaskThroughBothStepsWhenItEntersTheWindow() {
+        stored("a", TaskStatus.OPEN, TaskPriority.LOW, T0.plus(Duration.ofHours(30)));
+        timer.seed();
+
+        Instant window = T0.plus(Duration.ofHours(5)).plusMillis(1);
+        clock.advanceTo(window.minusMillis(1));
+        assertEquals(0, timer.fireDue());
+        assertEquals("LOW", priority("a"));
+
+        clock.advanceTo(window);
+        assertEquals(1, timer.fireDue());
+        assertEquals("HIGH", priority("a"));
+        List<String> steps = db.template().findAll(OutboxEvent.class).stream()
+            .flatMap(e -> e.getChanges().stream())
+            .map(c -> c.before().priority() + "->" + c.after().priority())
+            .toList();
+        assertEquals(List.of("LOW->MEDIUM", "MEDIUM->HIGH"), steps);
+        assertNull(timer.nextDeadline());
+
+        // the sweep gives the same answer for a task in the same position
+        stored("b", TaskStatus.OPEN, TaskPriority.LOW, window.plus(Duration.ofHours(25)).minusMillis(2));
+        assertEquals(2, maintenance.escalate(window, null));
+        assertEquals("HIGH", priority("b"));
+        assertNull(timer.nextDeadline());
+    }
+
+    @Test
+    void taskEventsMoveOrDropDeadlines() {
+        stored("a", TaskStatus.OPEN, TaskPriority.LOW, T0.plus(Duration.ofHours(30)));
+        timer.seed();
+        assertEquals(T0.plus(Duration.ofHours(5)).plusMillis(1), timer.nextDeadline());
+
+        TaskSnapshot before = new TaskSnapshot("OPEN", "LOW", T0.plus(Duration.ofHours(30)), "alice", null, T0);
+        TaskSnapshot sooner = new TaskSnapshot("OPEN", "LOW", T0.plus(Duration.ofHours(28)), "alice", null, T0);
+        timer.onUpdated(new TaskUpdatedEvent("a", "alice", before, sooner));
+        assertEquals(T0.plus(Duration.ofHours(3)).plusMillis(1), timer.nextDeadline());
+
+        TaskSnapshot done = new TaskSnapshot("DONE", "LOW", T0.plus(Duration.ofHours(28)), "alice", null, T0);
+        timer.onUpdated(new TaskUpdatedEvent("a", "alice", sooner, done));
+        assertNull(timer.nextDeadline());
+    }
+
+    @Test
+    void thresholdsFollowThePolicyBoundaries() {
+        Instant due = T0.plus(Duration.ofHours(30));
+        TaskSnapshot low = new TaskSnapshot("OPEN", "LOW", due, "alice", null, T0);
+        assertEquals(due.minus(Duration.ofHours(25)).plusMillis(1), EscalationTimer.nextThreshold(low, T0));
+        assertEquals(due.plus(Duration.ofHours(1)), EscalationTimer.nextThreshold(low, due));
+        assertNull(EscalationTimer.nextThreshold(low, due.plus(Duration.ofHours(1))));
+        assertNull(EscalationTimer.nextThreshold(new TaskSnapshot("OPEN", "HIGH", due, "alice", null, T0), T0));
+    }
+
+    private void stored(String id, TaskStatus status, TaskPriority priority, Instant due) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle(id);
+        t.setOwner("alice");
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setDueDate(due);
+        db.template().insert(t);
+    }
+
+    private String priority(String id) {
+        return db.template().findById(id, Task.class).getPriority().name();
+    }
+}
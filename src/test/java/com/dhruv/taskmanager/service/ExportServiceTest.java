@@ -0,0 +1,87 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskFilter;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.repository.AuditEventRepository;
+import com.dhruv.taskmanager.repository.TaskSort;
+import com.dhruv.taskmanager.service.ExportService.Format;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+class ExportServiceTest {
+
+    private final TaskService tasks = mock(TaskService.class);
+    private final ExportService export = new ExportService(tasks, mock(AuditEventRepository.class),
+        JsonMapper.builder().findAndAddModules().disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build());
+    private final TaskFilter all = new TaskFilter(null, null, null, null, null, null, null);
+
+    @Test
+    void ndjsonWritesOneObjectPerLineAndClosesTheCursor() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(tasks.stream(any(), any())).thenReturn(
+            IntStream.range(0, 2500).mapToObj(i -> task("t" + i, "title " + i)).onClose(() -> closed.set(true)));
+
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+        export.writeTasks(all, TaskSort.UPDATED_DESC, Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2500, lines.length);
+        for (String line : lines) assertTrue(line.startsWith("{\"id\":\"t"), line);
+        assertTrue(lines[0].startsWith("{\"id\":\"t0\""));
+        assertTrue(flushes.get() <= 4, "flushed " + flushes.get() + " times"); // every FLUSH_EVERY rows and at the end
+        assertTrue(lines[0].contains("\"dueDate\":\"2026-03-01T00:00:00Z\""));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void csvQuotesAndNeutralisesFormulas() throws Exception {
+        when(tasks.stream(any(), any())).thenReturn(Stream.of(task("t1", "=SUM(A1), \"quoted\"")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.writeTasks(all, TaskSort.UPDATED_DESC, Format.CSV, out);
+
+        String[] rows = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals("id,title,description,status,priority,dueDate,assignee,owner,createdAt,updatedAt", rows[0]);
+        assertEquals("t1,\"'=SUM(A1), \"\"quoted\"\"\",,OPEN,LOW,2026-03-01T00:00:00Z,,alice,,", rows[1]);
+    }
+
+    @Test
+    void usersOnlyExportTheirOwnTasks() {
+        assertEquals("alice", export.scopeTasks("alice", false, all).owner());
+        assertNull(export.scopeTasks("root", true, all).owner());
+        assertThrows(IllegalArgumentException.class, () -> Format.parse("xml"));
+    }
+
+    private static Task task(String id, String title) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle(title);
+        t.setStatus(TaskStatus.OPEN);
+        t.setPriority(TaskPriority.LOW);
+        t.setOwner("alice");
+        t.setDueDate(Instant.parse("2026-03-01T00:00:00Z"));
+        return t;
+    }
+}
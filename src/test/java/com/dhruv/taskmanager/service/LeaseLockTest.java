@@ -0,0 +1,68 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.model.SchedulerLock;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class LeaseLockTest {
+
+    private static final Instant T0 = Instant.parse("2026-05-10T12:00:00Z");
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    private TestMongo db;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void oneHolderAtATimeAndTheHolderRenews() {
+        LeaseLock a = lock("a", T0);
+        LeaseLock b = lock("b", T0.plusSeconds(1));
+
+        assertTrue(a.tryAcquire("job", TTL));
+        assertFalse(b.tryAcquire("job", TTL));
+        assertTrue(a.tryAcquire("job", TTL));
+        assertTrue(b.tryAcquire("other", TTL));
+        assertEquals("a", db.template().findById("job", SchedulerLock.class).getOwner());
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        assertTrue(lock("a", T0).tryAcquire("job", TTL));
+        assertFalse(lock("b", T0.plus(TTL).minusMillis(1)).tryAcquire("job", TTL));
+        assertTrue(lock("b", T0.plus(TTL).plusMillis(1)).tryAcquire("job", TTL));
+        assertFalse(lock("a", T0.plus(TTL).plusSeconds(1)).tryAcquire("job", TTL));
+    }
+
+    @Test
+    void releaseOnlyDropsOwnLease() {
+        LeaseLock a = lock("a", T0);
+        LeaseLock b = lock("b", T0);
+        assertTrue(a.tryAcquire("job", TTL));
+        b.release("job");
+        assertFalse(b.tryAcquire("job", TTL));
+        a.release("job");
+        assertTrue(b.tryAcquire("job", TTL));
+    }
+
+    private LeaseLock lock(String node, Instant now) {
+        return new LeaseLock(db.template(), new ClusterNode(node), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
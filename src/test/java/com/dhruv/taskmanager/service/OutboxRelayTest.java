@@ -0,0 +1,211 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.dhruv.taskmanager.events.OutboxConsumer;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.model.OutboxEvent;
+import com.dhruv.taskmanager.support.TestMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+    private TestMongo db;
+    private DomainEventOutbox outbox;
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final List<String> seen = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean failing = new AtomicBoolean();
+
+    private final OutboxConsumer recorder = new OutboxConsumer() {
+        @Override public String name() { return "recorder"; }
+        @Override public void accept(List<OutboxEvent> events) {
+            events.forEach(e -> seen.add(e.getId()));
+        }
+    };
+    private final OutboxConsumer flaky = new OutboxConsumer() {
+        @Override public String name() { return "flaky"; }
+        @Override public void accept(List<OutboxEvent> events) {
+            if (failing.get()) throw new IllegalStateException("down");
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        outbox = new DomainEventOutbox(db.template(), new ClusterNode("test"), Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void dispatchesInWriteOrderAndMarksEvents() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) ids.add(outbox.record("alice", created("t" + i)).getId());
+
+        OutboxRelay relay = relay(List.of(recorder, flaky), 2, Duration.ZERO);
+        assertEquals(List.of(2, 2), relay.dispatchOnce());
+        assertEquals(List.of(2, 2), relay.dispatchOnce());
+        assertEquals(List.of(1, 1), relay.dispatchOnce());
+
+        assertEquals(ids, seen);
+        assertTrue(db.template().findAll(OutboxEvent.class).stream().allMatch(e -> e.getDispatchedAt() != null
+            && e.delivery("recorder").getAt() != null && e.delivery("flaky").getAt() != null));
+        assertEquals(5.0, meters.counter("outbox.dispatched", "consumer", "recorder").count());
+        assertEquals(5, meters.timer("outbox.lag", "consumer", "flaky").count());
+    }
+
+    @Test
+    void aFailingConsumerRetriesWithoutRedeliveringToTheOthers() {
+        OutboxEvent e = outbox.record("alice", created("t1"));
+        OutboxRelay relay = relay(List.of(recorder, flaky), 10, Duration.ZERO);
+
+        failing.set(true);
+        assertEquals(List.of(1, 0), relay.dispatchOnce());
+        OutboxEvent stored = db.template().findById(e.getId(), OutboxEvent.class);
+        assertNull(stored.getDispatchedAt());
+        assertNotNull(stored.delivery("recorder").getAt());
+        assertEquals(1, stored.delivery("flaky").getAttempts());
+        assertTrue(stored.delivery("flaky").getLastError().startsWith("flaky: "));
+
+        failing.set(false);
+        assertEquals(List.of(0, 1), relay.dispatchOnce());
+        assertNotNull(db.template().findById(e.getId(), OutboxEvent.class).getDispatchedAt());
+        assertEquals(List.of(e.getId()), seen); // the recorder was not held back or asked again
+        assertEquals(List.of(0, 0), relay.dispatchOnce());
+    }
+
+    @Test
+    void aPoisonEventIsRetriedAsideAndFinallyGivenUp() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) ids.add(outbox.record("alice", created("t" + i)).getId());
+        String poison = ids.get(1);
+        OutboxConsumer picky = new OutboxConsumer() {
+            @Override public String name() { return "picky"; }
+            @Override public void accept(List<OutboxEvent> events) {
+                if (events.stream().anyMatch(e -> e.getId().equals(poison))) throw new IllegalStateException("bad payload");
+            }
+        };
+        OutboxRelay relay = relay(List.of(recorder, picky), 10, Duration.ofHours(1));
+
+        assertEquals(List.of(5, 4), relay.dispatchOnce());
+        OutboxEvent held = db.template().findById(poison, OutboxEvent.class);
+        assertNull(held.getDispatchedAt());
+        assertEquals(1, held.delivery("picky").getAttempts());
+        assertTrue(held.delivery("picky").getNextAttemptAt().isAfter(Instant.now()));
+        assertTrue(db.template().findAll(OutboxEvent.class).stream()
+            .filter(e -> !e.getId().equals(poison)).allMatch(e -> e.getDispatchedAt() != null));
+
+        String later = outbox.record("alice", created("t5")).getId();
+        seen.clear();
+        assertEquals(List.of(1, 1), relay.dispatchOnce()); // the backed-off event does not block the head
+        assertEquals(List.of(later), seen);
+
+        db.template().updateFirst(Query.query(Criteria.where("_id").is(poison)),
+            new Update().set("consumers.picky.nextAttemptAt", Instant.now().minusSeconds(1)), OutboxEvent.class); // the hour has passed
+        OutboxRelay eager = relay(List.of(recorder, picky), 10, Duration.ZERO);
+        eager.dispatchOnce();
+        eager.dispatchOnce();
+        OutboxEvent dead = db.template().findById(poison, OutboxEvent.class);
+        assertEquals(3, dead.delivery("picky").getAttempts());
+        assertNotNull(dead.delivery("picky").getDeadAt());
+        assertNotNull(dead.getDispatchedAt());
+        assertTrue(dead.delivery("picky").getLastError().startsWith("picky: "));
+        assertEquals(1.0, meters.counter("outbox.dead", "consumer", "picky").count());
+        assertEquals(List.of(0, 0), eager.dispatchOnce());
+        relay.destroy();
+        eager.destroy();
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        OutboxRelay relay = new OutboxRelay(db.template(), List.of(), lock(), meters, 10, 10, Duration.ofSeconds(1), Duration.ofSeconds(5));
+        assertEquals(Duration.ofSeconds(1), relay.backoff(1));
+        assertEquals(Duration.ofSeconds(4), relay.backoff(3));
+        assertEquals(Duration.ofSeconds(5), relay.backoff(4));
+        relay.destroy();
+    }
+
+    @Test
+    void aStuckConsumerDoesNotHoldBackTheOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OutboxConsumer slow = new OutboxConsumer() {
+            @Override public String name() { return "slow"; }
+            @Override public void accept(List<OutboxEvent> events) throws InterruptedException {
+                release.await();
+            }
+        };
+        OutboxRelay relay = relay(List.of(slow, recorder), 10, Duration.ZERO);
+        String first = outbox.record("alice", created("t1")).getId();
+        awaitSeen(relay, first);
+
+        String second = outbox.record("alice", created("t2")).getId();
+        awaitSeen(relay, second); // "slow" is still on the first event
+        assertNull(db.template().findById(first, OutboxEvent.class).getDispatchedAt());
+
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (db.template().findById(second, OutboxEvent.class).getDispatchedAt() == null && System.currentTimeMillis() < deadline) {
+            relay.relay();
+            Thread.sleep(20);
+        }
+        assertNotNull(db.template().findById(first, OutboxEvent.class).getDispatchedAt());
+        assertNotNull(db.template().findById(second, OutboxEvent.class).getDispatchedAt());
+        relay.destroy();
+    }
+
+    @Test
+    void storesTheChangeSnapshots() {
+        Instant due = Instant.parse("2026-03-01T00:00:00Z");
+        TaskSnapshot before = new TaskSnapshot("OPEN", "LOW", due, "alice", null, due);
+        TaskSnapshot after = new TaskSnapshot("DONE", "LOW", due, "alice", "bob", due);
+        OutboxEvent e = outbox.record("alice", new Change("t1", before, after));
+
+        OutboxEvent stored = db.template().findById(e.getId(), OutboxEvent.class);
+        assertEquals("TASK_UPDATED", stored.getType());
+        assertEquals(List.of(new Change("t1", before, after)), stored.getChanges());
+    }
+
+    private OutboxRelay relay(List<OutboxConsumer> consumers, int batchSize, Duration backoff) {
+        return new OutboxRelay(db.template(), consumers, lock(), meters, batchSize, 3, backoff, backoff);
+    }
+
+    /** Polls like the scheduler does until the recorder got {@code id}. */
+    private void awaitSeen(OutboxRelay relay, String id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!seen.contains(id) && System.currentTimeMillis() < deadline) {
+            relay.relay();
+            Thread.sleep(10);
+        }
+        assertTrue(seen.contains(id), id + " not delivered");
+    }
+
+    private LeaseLock lock() {
+        return new LeaseLock(db.template(), new ClusterNode("test"), Clock.systemUTC());
+    }
+
+    private static Change created(String id) {
+        return new Change(id, null, new TaskSnapshot("OPEN", "LOW", null, "alice", null, null));
+    }
+}
@@ -0,0 +1,79 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.repository.ReactiveTaskRepository;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class ReactiveTaskQueryServiceTest {
+
+    private TestMongo db;
+    private ReactiveTaskQueryService query;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        ReactiveTaskRepository repo = new ReactiveMongoRepositoryFactory(db.reactiveTemplate()).getRepository(ReactiveTaskRepository.class);
+        query = new ReactiveTaskQueryService(repo);
+
+        Instant past = Instant.now().minus(2, ChronoUnit.DAYS);
+        Instant future = Instant.now().plus(2, ChronoUnit.DAYS);
+        db.template().insertAll(List.of(
+            task("a1", "alice", TaskStatus.OPEN, past),
+            task("a2", "alice", TaskStatus.DONE, past),
+            task("a3", "alice", TaskStatus.OPEN, future),
+            task("b1", "bob", TaskStatus.IN_PROGRESS, past)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void listsOnlyVisibleTasks() {
+        assertEquals(List.of("a1", "a2", "a3"), ids(query.list("alice", false).collectList().block()));
+        assertEquals(4, query.list("alice", true).count().block());
+    }
+
+    @Test
+    void getEnforcesOwnership() {
+        assertEquals("a1", query.get("a1", "alice", false).block().getId());
+        assertNull(query.get("missing", "alice", false).block());
+        assertThrows(SecurityException.class, () -> query.get("b1", "alice", false).block());
+        assertEquals("b1", query.get("b1", "alice", true).block().getId());
+    }
+
+    @Test
+    void overdueIsQueriedFromMongo() {
+        assertEquals(List.of("a1"), ids(query.overdue("alice", false).collectList().block()));
+        assertEquals(List.of("a1", "b1"), ids(query.overdue("admin", true).collectList().block()));
+    }
+
+    private static List<String> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).sorted().toList();
+    }
+
+    private static Task task(String id, String owner, TaskStatus status, Instant due) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle(id);
+        t.setOwner(owner);
+        t.setStatus(status);
+        t.setPriority(TaskPriority.LOW);
+        t.setDueDate(due);
+        return t;
+    }
+}
@@ -0,0 +1,190 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.TaskDtos.BulkItemResult;
+import com.dhruv.taskmanager.dto.TaskDtos.BulkOp;
+import com.dhruv.taskmanager.dto.TaskDtos.BulkResult;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.model.OutboxEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class TaskBulkServiceTest {
+
+    private TestMongo db;
+    private final List<Object> published = new ArrayList<>();
+    private TaskBulkService bulk;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        bulk = new TaskBulkService(db.template(), new TaskPolicyService(), outbox(), published::add, 10_000, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void appliesEachOperationAndReportsPerItemStatus() {
+        Task mine = stored("t1", "alice", TaskStatus.OPEN);
+        Task theirs = stored("t2", "bob", TaskStatus.OPEN);
+
+        BulkResult r = bulk.apply(List.of(
+            new BulkOp("create", null, task("new one", TaskStatus.OPEN)),
+            new BulkOp("create", null, task("  ", TaskStatus.OPEN)),                 // title required
+            new BulkOp("update", mine.getId(), task("renamed", TaskStatus.IN_PROGRESS)),
+            new BulkOp("update", theirs.getId(), task("hijack", TaskStatus.OPEN)),    // not the owner
+            new BulkOp("update", "missing", task("x", TaskStatus.OPEN)),
+            new BulkOp("delete", mine.getId(), null),                        // admin only, and id repeated
+            new BulkOp("archive", "t9", null)
+        ), "alice", false);
+
+        assertEquals(List.of(201, 400, 200, 403, 404, 400, 400), r.items().stream().map(BulkItemResult::status).toList());
+        assertEquals(2, r.succeeded());
+        assertEquals(5, r.failed());
+
+        String createdId = r.items().get(0).id();
+        Task created = db.template().findById(createdId, Task.class);
+        assertEquals("alice", created.getOwner());
+        assertEquals(TaskPriority.MEDIUM, created.getPriority());
+        assertEquals(TaskStatus.IN_PROGRESS, db.template().findById("t1", Task.class).getStatus());
+        assertEquals(TaskStatus.OPEN, db.template().findById("t2", Task.class).getStatus());
+    }
+
+    @Test
+    void aMissingOperationIsRejectedWithAReason() {
+        BulkResult r = bulk.apply(Arrays.asList(new BulkOp("create", null, task("kept", TaskStatus.OPEN)), null), "alice", false);
+
+        assertEquals(List.of(201, 400), r.items().stream().map(BulkItemResult::status).toList());
+        assertEquals("operation is required", r.items().get(1).error());
+    }
+
+    @Test
+    void publishesOneBatchEventPerChunk() {
+        List<BulkOp> ops = new ArrayList<>();
+        for (int i = 0; i < 7; i++) ops.add(new BulkOp("create", null, task("t" + i, TaskStatus.OPEN)));
+
+        BulkResult r = bulk.apply(ops, "alice", false);
+
+        assertEquals(7, r.succeeded());
+        assertEquals(7, db.template().count(new Query(), Task.class));
+        assertEquals(3, published.size()); // chunks of 3, 3, 1
+        TaskBatchEvent first = (TaskBatchEvent) published.get(0);
+        assertEquals(3, first.changes().size());
+        assertNull(first.changes().get(0).before());
+        assertEquals("TASK_CREATED", first.changes().get(0).type());
+
+        List<OutboxEvent> stored = db.template().findAll(OutboxEvent.class);
+        assertEquals(3, stored.size());
+        assertEquals(OutboxEvent.BATCH, stored.get(0).getType());
+        assertEquals(first.changes(), stored.get(0).getChanges());
+    }
+
+    @Test
+    void updatesBumpTheVersionAndRejectAStaleOne() {
+        stored("t1", "alice", TaskStatus.OPEN);
+        stored("t2", "alice", TaskStatus.OPEN);
+        Task stale = task("late", TaskStatus.OPEN);
+        stale.setVersion(7L);
+
+        BulkResult r = bulk.apply(List.of(new BulkOp("update", "t1", task("renamed", TaskStatus.OPEN)), new BulkOp("update", "t2", stale)),
+            "alice", false);
+
+        assertEquals(List.of(200, 409), r.items().stream().map(BulkItemResult::status).toList());
+        assertEquals(1L, db.template().findById("t1", Task.class).getVersion());
+        assertEquals("t2", db.template().findById("t2", Task.class).getTitle());
+    }
+
+    @Test
+    void adminDeletesInBulk() {
+        stored("t1", "alice", TaskStatus.OPEN);
+        BulkResult r = bulk.apply(List.of(new BulkOp("delete", "t1", null), new BulkOp("delete", "t2", null)), "root", true);
+
+        assertEquals(List.of(204, 404), r.items().stream().map(BulkItemResult::status).toList());
+        assertNull(db.template().findById("t1", Task.class));
+        TaskBatchEvent e = (TaskBatchEvent) published.get(0);
+        assertEquals("TASK_DELETED", e.changes().get(0).type());
+    }
+
+    @Test
+    void deletesLosingToAConcurrentWriteAreNotReportedOrCounted() {
+        stored("t1", "alice", TaskStatus.OPEN);
+        stored("t2", "alice", TaskStatus.OPEN);
+        stored("t3", "alice", TaskStatus.OPEN);
+        MongoTemplate racing = spy(db.template());
+        Runnable[] between = {() -> {}}; // runs after the chunk read, before the bulk write
+        doAnswer(inv -> {
+            between[0].run();
+            return inv.callRealMethod();
+        }).when(racing).bulkOps(any(BulkMode.class), eq(Task.class));
+        TaskBulkService service = new TaskBulkService(racing, new TaskPolicyService(), outbox(), published::add, 10_000, 3);
+
+        // t2 is edited between our read and our delete
+        between[0] = () -> db.template().updateFirst(Query.query(Criteria.where("_id").is("t2")),
+            new Update().set("title", "edited").inc("version", 1), Task.class);
+        BulkResult r = service.apply(List.of(new BulkOp("delete", "t2", null), new BulkOp("delete", "t3", null)), "root", true);
+        assertEquals(List.of(409, 204), r.items().stream().map(BulkItemResult::status).toList());
+        assertEquals("edited", db.template().findById("t2", Task.class).getTitle());
+        TaskBatchEvent e = (TaskBatchEvent) published.get(0);
+        assertEquals(List.of("t3"), e.changes().stream().map(TaskBatchEvent.Change::taskId).toList());
+
+        // t1 is deleted by someone else first
+        published.clear();
+        between[0] = () -> db.template().remove(Query.query(Criteria.where("_id").is("t1")), Task.class);
+        r = service.apply(List.of(new BulkOp("delete", "t1", null)), "root", true);
+        assertEquals(404, r.items().get(0).status());
+        assertTrue(published.isEmpty());
+        assertEquals(1, db.template().findAll(OutboxEvent.class).size());
+    }
+
+    @Test
+    void rejectsOversizedRequests() {
+        TaskBulkService small = new TaskBulkService(db.template(), new TaskPolicyService(), outbox(), published::add, 2, 1000);
+        List<BulkOp> ops = List.of(new BulkOp("create", null, task("a", null)), new BulkOp("create", null, task("b", null)),
+            new BulkOp("create", null, task("c", null)));
+        assertThrows(IllegalArgumentException.class, () -> small.apply(ops, "alice", false));
+    }
+
+    private DomainEventOutbox outbox() {
+        return new DomainEventOutbox(db.template(), new ClusterNode("test"), Optional.empty());
+    }
+
+    private Task stored(String id, String owner, TaskStatus status) {
+        Task t = task(id, status);
+        t.setId(id);
+        t.setOwner(owner);
+        t.setPriority(TaskPriority.LOW);
+        t.setCreatedAt(Instant.now());
+        return db.template().insert(t);
+    }
+
+    private static Task task(String title, TaskStatus status) {
+        Task t = new Task();
+        t.setTitle(title);
+        t.setStatus(status);
+        return t;
+    }
+}
@@ -0,0 +1,125 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.repository.TaskRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskCacheTest {
+
+    private final Map<String, Task> stored = new HashMap<>(); // what Mongo holds
+    private final TaskRepository repo = mock(TaskRepository.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private TaskCache cache;
+    private TaskService tasks;
+
+    @BeforeEach
+    void setUp() {
+        when(repo.findById(anyString())).thenAnswer(inv -> Optional.ofNullable(stored.get(inv.<String>getArgument(0))).map(TaskFields::copy));
+        when(repo.save(any())).thenAnswer(inv -> write(inv.getArgument(0)));
+        cache = new TaskCache(meters, 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        tasks = new TaskService(repo, cache);
+    }
+
+    @Test
+    void writesGoThroughAndReadsAreServedFromMemory() {
+        Task saved = tasks.save(task("t1"));
+
+        Task read = tasks.get("t1");
+        assertEquals("t1", read.getTitle());
+        assertEquals(saved.getUpdatedAt().truncatedTo(ChronoUnit.MILLIS), read.getUpdatedAt()); // as Mongo returns it
+        read.setTitle("changed by the caller");
+        assertEquals("t1", tasks.get("t1").getTitle()); // every read gets its own copy
+
+        Task renamed = TaskFields.copy(saved);
+        renamed.setTitle("renamed");
+        renamed.setVersion(1L);
+        when(repo.updateIfVersion(eq("t1"), eq(0L), any())).thenAnswer(inv -> write(renamed));
+        tasks.update("t1", 0L, new Update().set("title", "renamed"));
+        assertEquals("renamed", tasks.get("t1").getTitle());
+        assertEquals(1L, tasks.get("t1").getVersion());
+        verify(repo, never()).findById(any());
+        assertEquals(4.0, meters.get("cache.gets").tag("cache", "tasks").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void missesAndDeletesAreCached() {
+        assertNull(tasks.get("nope"));
+        assertNull(tasks.get("nope"));
+        verify(repo, times(1)).findById("nope");
+
+        tasks.save(task("t1"));
+        tasks.delete("t1");
+        assertNull(tasks.get("t1"));
+        verify(repo, never()).findById("t1");
+    }
+
+    @Test
+    void aLostCompareAndSetDropsTheEntry() {
+        tasks.save(task("t1"));
+        stored.get("t1").setTitle("elsewhere"); // another replica, no event yet
+        assertEquals("t1", tasks.get("t1").getTitle());
+
+        assertNull(tasks.update("t1", 0L, new Update().set("title", "mine")));
+        assertEquals("elsewhere", tasks.get("t1").getTitle());
+    }
+
+    @Test
+    void eventsDropOnlyEntriesThatAreOutOfDate() {
+        Task saved = tasks.save(task("t1"));
+        TaskSnapshot current = TaskSnapshot.of(saved);
+        cache.onUpdated(new TaskUpdatedEvent("t1", "alice", current, current));
+        tasks.get("t1");
+        verify(repo, never()).findById(any());
+
+        Task escalated = stored.get("t1");
+        escalated.setPriority(TaskPriority.HIGH);
+        escalated.setUpdatedAt(saved.getUpdatedAt().plusSeconds(1));
+        cache.onBatch(new TaskBatchEvent("system", List.of(new Change("t1", current, TaskSnapshot.of(escalated)))));
+
+        assertEquals(TaskPriority.HIGH, tasks.get("t1").getPriority());
+        assertEquals(1.0, meters.get("tasks.cache.stale").counter().count());
+        assertEquals(1, meters.get("tasks.cache.staleness").timer().count());
+    }
+
+    private Task write(Task t) {
+        stored.put(t.getId(), TaskFields.copy(t));
+        return t;
+    }
+
+    private static Task task(String id) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle(id);
+        t.setOwner("alice");
+        t.setStatus(TaskStatus.OPEN);
+        t.setPriority(TaskPriority.LOW);
+        t.setUpdatedAt(Instant.now());
+        t.setVersion(0L);
+        return t;
+    }
+}
@@ -0,0 +1,223 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TaskChangeStreamTest {
+
+    /** Captures what would be written to the client as {@code event[:id]} strings. */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+        final List<Object> payloads = new ArrayList<>();
+        final ReentrantLock writeLock = new ReentrantLock(); // shared by send and complete, as in ResponseBodyEmitter
+        volatile CountDownLatch gate;
+        volatile boolean completed;
+
+        @Override
+        public void complete() {
+            writeLock.lock();
+            try {
+                completed = true;
+                super.complete();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            writeLock.lock();
+            try {
+                sendLocked(builder);
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        private void sendLocked(SseEventBuilder builder) throws IOException {
+            try {
+                if (gate != null) gate.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IOException(ex);
+            }
+            String name = null, id = null;
+            Object payload = null;
+            for (var part : builder.build()) {
+                if (part.getData() instanceof String s) {
+                    for (String line : s.split("\n")) {
+                        if (line.startsWith("event:")) name = line.substring(6);
+                        if (line.startsWith("id:")) id = line.substring(3);
+                    }
+                } else {
+                    payload = part.getData();
+                }
+            }
+            if (name == null) return; // keep-alive comment
+            synchronized (this) {
+                events.add(id == null ? name : name + ":" + id);
+                payloads.add(payload);
+            }
+        }
+
+        synchronized List<String> names() {
+            return events.stream().map(e -> e.split(":")[0]).toList();
+        }
+
+        synchronized String lastId() {
+            for (int i = events.size() - 1; i >= 0; i--) {
+                String[] parts = events.get(i).split(":", 2);
+                if (parts.length == 2) return parts[1];
+            }
+            return null;
+        }
+    }
+
+    private TestMongo db;
+    private AnalyticsMaterializedView view;
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        view = new AnalyticsMaterializedView(db.template(), true);
+        view.reconcile();
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void subscribersOnlySeeTheirOwnTasksPlusAnalytics() throws Exception {
+        TaskChangeStream stream = stream(16);
+        RecordingEmitter alice = new RecordingEmitter();
+        RecordingEmitter bob = new RecordingEmitter();
+        RecordingEmitter admin = new RecordingEmitter();
+        RecordingEmitter plain = new RecordingEmitter(); // did not ask for analytics
+        stream.subscribe("alice", false, true, null, alice);
+        stream.subscribe("bob", false, true, null, bob);
+        stream.subscribe("root", true, true, null, admin);
+        stream.subscribe("alice", false, false, null, plain);
+
+        Task a = stored("a1", "alice");
+        stream.publish(List.of(created(a), new Change("gone", snapshot("bob"), null)));
+
+        awaitEvents(alice, 3);
+        awaitEvents(bob, 3);
+        awaitEvents(admin, 4);
+        awaitEvents(plain, 2);
+        assertEquals(List.of("ready", "task", "analytics"), alice.names());
+        assertEquals("a1", ((Task) alice.payloads.get(1)).getId());
+        assertEquals(List.of("ready", "deleted", "analytics"), bob.names());
+        assertEquals(Map.of("id", "gone"), bob.payloads.get(1));
+        assertEquals(List.of("ready", "task", "deleted", "analytics"), admin.names());
+        assertEquals(List.of("ready", "task"), plain.names());
+    }
+
+    @Test
+    void resumesFromLastEventIdOrAsksForResync() throws Exception {
+        TaskChangeStream stream = stream(16);
+        RecordingEmitter first = new RecordingEmitter();
+        stream.subscribe("alice", false, true, null, first);
+        stream.publish(List.of(created(stored("a1", "alice"))));
+        awaitEvents(first, 3);
+        String seen = first.lastId();
+
+        stream.publish(List.of(created(stored("a2", "alice")), created(stored("b1", "bob"))));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        stream.subscribe("alice", false, true, seen, resumed);
+        awaitEvents(resumed, 2);
+        assertEquals(List.of("task", "ready"), resumed.names());
+        assertEquals("a2", ((Task) resumed.payloads.get(0)).getId());
+
+        RecordingEmitter stale = new RecordingEmitter();
+        stream.subscribe("alice", false, true, "older-epoch-3", stale);
+        awaitEvents(stale, 2);
+        assertEquals(List.of("resync", "ready"), stale.names());
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWithoutHoldingOthersBack() throws Exception {
+        TaskChangeStream stream = stream(2);
+        RecordingEmitter slow = new RecordingEmitter();
+        slow.gate = new CountDownLatch(1);
+        RecordingEmitter fast = new RecordingEmitter();
+        stream.subscribe("alice", false, true, null, slow);
+        stream.subscribe("alice", false, true, null, fast);
+
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> { // dropping "slow" must not wait on its socket
+                for (int i = 0; i < 4; i++) {
+                    stream.publish(List.of(created(stored("t" + i, "alice"))));
+                    awaitEvents(fast, 3 + 2 * i);
+                }
+            });
+        } finally {
+            if (fast.names().size() < 9) slow.gate.countDown();
+        }
+
+        assertEquals(9, fast.names().size());
+        assertEquals(1.0, meters.counter("stream.dropped").count());
+        assertEquals(1, stream.subscriberCount());
+        assertFalse(slow.completed); // its drain thread is still stuck in send
+        slow.gate.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!slow.completed && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        assertTrue(slow.completed);
+    }
+
+    private TaskChangeStream stream(int buffer) {
+        return new TaskChangeStream(db.template(), view, meters, buffer, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), 0);
+    }
+
+    private Task stored(String id, String owner) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle(id);
+        t.setOwner(owner);
+        t.setStatus(TaskStatus.OPEN);
+        t.setPriority(TaskPriority.LOW);
+        db.template().insert(t);
+        view.onCreated(new TaskCreatedEvent(id, owner, TaskSnapshot.of(t)));
+        return t;
+    }
+
+    private static Change created(Task t) {
+        return new Change(t.getId(), null, TaskSnapshot.of(t));
+    }
+
+    private static TaskSnapshot snapshot(String owner) {
+        return new TaskSnapshot("OPEN", "LOW", null, owner, null, null);
+    }
+
+    private static void awaitEvents(RecordingEmitter e, int n) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (e.names().size() < n && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        Thread.sleep(50); // nothing unexpected trails behind
+    }
+}
@@ -0,0 +1,195 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.Document;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.events.TaskDeletedEvent;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+import com.dhruv.taskmanager.model.OutboxEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class TaskCommandServiceTest {
+
+    private TestMongo db;
+    private final TaskService tasks = mock(TaskService.class);
+    private final List<Object> published = new ArrayList<>();
+    private TaskCommandService command;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        command = new TaskCommandService(tasks, new TaskPolicyService(),
+            new DomainEventOutbox(db.template(), new ClusterNode("test"), Optional.empty()), published::add, 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void reappliesAnEditOnTopOfAConcurrentChangeToOtherFields() {
+        Task base = task(0, "draft", TaskPriority.LOW);
+        Task escalated = task(1, "draft", TaskPriority.HIGH); // the scheduler got in between
+        when(tasks.get("t1")).thenReturn(base, escalated);
+        when(tasks.replace(any(), eq(0L))).thenReturn(null);
+        when(tasks.replace(any(), eq(1L))).thenAnswer(inv -> versioned(inv.getArgument(0), 2));
+
+        Task saved = command.update("t1", edit("final", TaskPriority.LOW), "alice", false);
+
+        assertEquals("final", saved.getTitle());
+        assertEquals(TaskPriority.HIGH, saved.getPriority());
+        assertEquals(2L, saved.getVersion());
+        TaskUpdatedEvent e = (TaskUpdatedEvent) published.get(0);
+        assertEquals("HIGH", e.before().priority());
+    }
+
+    @Test
+    void failsWhenBothChangedTheSameField() {
+        when(tasks.get("t1")).thenReturn(task(0, "draft", TaskPriority.LOW), task(1, "draft", TaskPriority.HIGH));
+        when(tasks.replace(any(), eq(0L))).thenReturn(null);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> command.update("t1", edit("draft", TaskPriority.MEDIUM), "alice", false));
+        verify(tasks, never()).replace(any(), eq(1L));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void ifMatchMustNameTheCurrentVersion() {
+        when(tasks.get("t1")).thenReturn(task(4, "draft", TaskPriority.LOW));
+        assertThrows(OptimisticLockingFailureException.class, () -> command.update("t1", edit("x", TaskPriority.LOW), "alice", false, 3L));
+        verify(tasks, never()).replace(any(), any());
+
+        ArgumentCaptor<Task> written = ArgumentCaptor.forClass(Task.class);
+        when(tasks.replace(written.capture(), eq(4L))).thenAnswer(inv -> versioned(inv.getArgument(0), 5));
+        assertEquals(5L, command.update("t1", edit("x", TaskPriority.LOW), "alice", false, 4L).getVersion());
+        assertEquals("x", written.getValue().getTitle());
+    }
+
+    @Test
+    void ifMatchIsAConflictWhenTheWriteLosesTheRace() {
+        // the read (e.g. a stale cache entry) still shows version 4, the stored document has moved on
+        when(tasks.get("t1")).thenReturn(task(4, "draft", TaskPriority.LOW), task(5, "draft", TaskPriority.HIGH));
+        when(tasks.replace(any(), eq(4L))).thenReturn(null);
+
+        assertThrows(OptimisticLockingFailureException.class, () -> command.update("t1", edit("x", TaskPriority.LOW), "alice", false, 4L));
+        verify(tasks, never()).replace(any(), eq(5L));
+        assertTrue(published.isEmpty());
+    }
+
+    @Test
+    void patchWritesOnlyTheFieldsItChanges() {
+        Task stored = task(3, "draft", TaskPriority.LOW);
+        stored.setDescription("notes");
+        when(tasks.get("t1")).thenReturn(stored);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        when(tasks.update(eq("t1"), eq(3L), update.capture())).thenAnswer(inv -> versioned(task(4, "draft", TaskPriority.LOW), 4));
+
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("status", "in_progress");
+        patch.put("description", null);
+        patch.put("priority", "LOW"); // unchanged, not written
+        command.patch("t1", patch, "alice", false, null);
+
+        Document written = update.getValue().getUpdateObject();
+        assertEquals(Set.of("status", "updatedAt"), written.get("$set", Document.class).keySet());
+        assertEquals(TaskStatus.IN_PROGRESS, written.get("$set", Document.class).get("status"));
+        assertEquals(Set.of("description"), written.get("$unset", Document.class).keySet());
+
+        TaskUpdatedEvent e = (TaskUpdatedEvent) published.get(0);
+        assertEquals(List.of("description", "status"), List.copyOf(e.changes().keySet()));
+        assertNull(e.changes().get("description"));
+    }
+
+    @Test
+    void patchValidatesOnlyWhatItTouches() {
+        Task stored = task(0, "draft", TaskPriority.LOW);
+        stored.setDueDate(Instant.parse("2020-01-01T00:00:00Z")); // a full PUT would be rejected for this
+        when(tasks.get("t1")).thenReturn(stored);
+        when(tasks.update(eq("t1"), eq(0L), any())).thenAnswer(inv -> versioned(task(1, "renamed", TaskPriority.LOW), 1));
+
+        assertEquals("renamed", command.patch("t1", Map.of("title", "renamed"), "alice", false, null).getTitle());
+
+        assertThrows(IllegalArgumentException.class, () -> command.patch("t1", Map.of("status", "DONE"), "alice", false, null));
+        assertThrows(IllegalArgumentException.class, () -> command.patch("t1", Map.of("version", "9"), "alice", false, null));
+        assertThrows(IllegalArgumentException.class, () -> command.patch("t1", Map.of("title", " "), "alice", false, null));
+        Map<String, Object> removeTitle = new HashMap<>();
+        removeTitle.put("title", null);
+        assertThrows(IllegalArgumentException.class, () -> command.patch("t1", removeTitle, "alice", false, null));
+        assertThrows(SecurityException.class, () -> command.patch("t1", Map.of("owner", "bob"), "alice", false, null));
+    }
+
+    @Test
+    void patchIsReappliedWhenItLosesTheRace() {
+        when(tasks.get("t1")).thenReturn(task(0, "draft", TaskPriority.LOW), task(1, "draft", TaskPriority.HIGH));
+        when(tasks.update(eq("t1"), eq(0L), any())).thenReturn(null);
+        when(tasks.update(eq("t1"), eq(1L), any())).thenAnswer(inv -> versioned(task(2, "final", TaskPriority.HIGH), 2));
+
+        assertEquals(2L, command.patch("t1", Map.of("title", "final"), "alice", false, null).getVersion());
+
+        // pinned with If-Match: losing the race is a conflict
+        when(tasks.update(eq("t1"), eq(1L), any())).thenReturn(null);
+        assertThrows(OptimisticLockingFailureException.class, () -> command.patch("t1", Map.of("title", "x"), "alice", false, 1L));
+    }
+
+    @Test
+    void deleteRecordsTheDocumentItRemoved() {
+        when(tasks.get("t1")).thenReturn(task(0, "draft", TaskPriority.LOW)); // stale: must not be used
+        when(tasks.delete("t1")).thenReturn(task(3, "draft", TaskPriority.HIGH));
+
+        command.delete("t1", "admin", true);
+
+        TaskDeletedEvent e = (TaskDeletedEvent) published.get(0);
+        assertEquals("HIGH", e.before().priority());
+        assertEquals("HIGH", db.template().findAll(OutboxEvent.class).get(0).getChanges().get(0).before().priority());
+
+        // already gone: nothing to count, tombstone or publish
+        published.clear();
+        command.delete("t2", "admin", true);
+        assertTrue(published.isEmpty());
+        assertEquals(1, db.template().findAll(OutboxEvent.class).size());
+    }
+
+    private static Task task(long version, String title, TaskPriority priority) {
+        Task t = edit(title, priority);
+        t.setId("t1");
+        t.setOwner("alice");
+        t.setVersion(version);
+        return t;
+    }
+
+    private static Task edit(String title, TaskPriority priority) {
+        Task t = new Task();
+        t.setTitle(title);
+        t.setStatus(TaskStatus.OPEN);
+        t.setPriority(priority);
+        return t;
+    }
+
+    private static Task versioned(Task t, long version) {
+        t.setVersion(version);
+        return t;
+    }
+}
@@ -0,0 +1,116 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.dto.TaskDtos.BulkOp;
+import com.dhruv.taskmanager.dto.TaskDtos.TaskDelta;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class TaskDeltaServiceTest {
+
+    private TestMongo db;
+    private TaskBulkService bulk;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        bulk = new TaskBulkService(db.template(), new TaskPolicyService(),
+            new DomainEventOutbox(db.template(), new ClusterNode("test"), Optional.empty()), e -> {}, 10_000, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void reportsChangedTasksAndWhatLeftEachList() {
+        stored("a1", "alice");
+        stored("a2", "alice");
+        stored("a3", "alice");
+        stored("b1", "bob");
+        Instant since = Instant.now().minusSeconds(1);
+
+        bulk.apply(List.of(
+            new BulkOp("update", "a1", task("renamed", "alice")),
+            new BulkOp("update", "a2", task("handed over", "bob")),
+            new BulkOp("delete", "a3", null)
+        ), "root", true);
+
+        TaskDelta alice = service(100).since("alice", false, since);
+        assertFalse(alice.resync());
+        assertEquals(List.of("a1"), ids(alice));
+        assertEquals(Set.of("a2", "a3"), Set.copyOf(alice.deleted()));
+
+        TaskDelta bob = service(100).since("bob", false, since);
+        assertEquals(List.of("a2"), ids(bob));
+        assertEquals(List.of(), bob.deleted());
+
+        TaskDelta admin = service(100).since("root", true, since);
+        assertEquals(Set.of("a1", "a2"), Set.copyOf(ids(admin)));
+        assertEquals(List.of("a3"), admin.deleted());
+        assertTrue(admin.asOf().isBefore(Instant.now().minusSeconds(4)));
+    }
+
+    @Test
+    void reassignedBackIsAChangeNotADelete() {
+        stored("a1", "alice");
+        Instant since = Instant.now().minusSeconds(1);
+        bulk.apply(List.of(new BulkOp("update", "a1", task("away", "bob"))), "root", true);
+        bulk.apply(List.of(new BulkOp("update", "a1", task("back", "alice"))), "root", true);
+
+        TaskDelta alice = service(100).since("alice", false, since);
+        assertEquals(List.of("a1"), ids(alice));
+        assertEquals(List.of(), alice.deleted());
+    }
+
+    @Test
+    void asksForResyncWhenTheDeltaIsTooLargeOrTooOld() {
+        stored("a1", "alice");
+        stored("a2", "alice");
+        Instant since = Instant.now().minusSeconds(1);
+        bulk.apply(List.of(new BulkOp("update", "a1", task("x", "alice")), new BulkOp("update", "a2", task("y", "alice"))),
+            "root", true);
+
+        assertTrue(service(1).since("alice", false, since).resync());
+        assertTrue(service(100).since("alice", false, Instant.now().minus(Duration.ofDays(31))).resync());
+        assertThrows(IllegalArgumentException.class, () -> service(100).since("alice", false, null));
+    }
+
+    private TaskDeltaService service(int maxChanges) {
+        return new TaskDeltaService(db.template(), maxChanges, Duration.ofSeconds(5));
+    }
+
+    private void stored(String id, String owner) {
+        Task t = task(id, owner);
+        t.setId(id);
+        t.setStatus(TaskStatus.OPEN);
+        t.setPriority(TaskPriority.LOW);
+        t.setUpdatedAt(Instant.now().minusSeconds(3600));
+        db.template().insert(t);
+    }
+
+    private static Task task(String title, String owner) {
+        Task t = new Task();
+        t.setTitle(title);
+        t.setOwner(owner);
+        return t;
+    }
+
+    private static List<String> ids(TaskDelta d) {
+        return d.changed().stream().map(Task::getId).toList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.domain.TaskStatus;
+import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.model.OutboxEvent;
+import com.dhruv.taskmanager.model.Task;
+import com.dhruv.taskmanager.support.TestMongo;
+
+class TaskMaintenanceSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2026-05-10T12:00:00.123Z");
+
+    private TestMongo db;
+    private final List<Object> published = new ArrayList<>();
+    private TaskMaintenanceScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        db = new TestMongo();
+        scheduler = new TaskMaintenanceScheduler(db.template(), new DomainEventOutbox(db.template(), new ClusterNode("test"), Optional.empty()),
+            published::add, new LeaseLock(db.template(), new ClusterNode("test"), Clock.systemUTC()), 3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.close();
+    }
+
+    @Test
+    void matchesTheEscalationPolicyAroundEveryBoundary() {
+        List<Duration> offsets = List.of(Duration.ofDays(-3), Duration.ofMinutes(-61), Duration.ofMinutes(-60),
+            Duration.ofMinutes(-59), Duration.ZERO, Duration.ofHours(24), Duration.ofHours(25).minusMillis(1),
+            Duration.ofHours(25), Duration.ofDays(3));
+        TaskPolicyService policy = new TaskPolicyService();
+        Map<String, String> expected = new HashMap<>();
+        int n = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            for (TaskPriority priority : TaskPriority.values()) {
+                for (Duration offset : offsets) {
+                    Task t = task("t" + n++, status, priority, NOW.plus(offset));
+                    // the policy applied until it has nothing left to do
+                    TaskPriority p = priority, next;
+                    while ((next = TaskPriority.max(policy.escalatedPriority(t, NOW), p)) != p) {
+                        p = next;
+                        t.setPriority(p);
+                    }
+                    t.setPriority(priority);
+                    expected.put(t.getId(), p.name());
+                    db.template().insert(t);
+                }
+            }
+        }
+        db.template().insert(task("nodue", TaskStatus.OPEN, TaskPriority.LOW, null));
+        expected.put("nodue", "LOW");
+
+        int escalated = scheduler.escalate(NOW, null);
+
+        Map<String, String> actual = new HashMap<>();
+        db.template().findAll(Task.class).forEach(t -> actual.put(t.getId(), t.getPriority().name()));
+        assertEquals(expected, actual);
+        assertTrue(escalated > 0);
+        assertEquals(escalated, published.stream().mapToInt(e -> ((TaskBatchEvent) e).changes().size()).sum());
+    }
+
+    @Test
+    void touchesOnlyPriorityAndUpdatedAtAndRecordsBatches() {
+        Instant old = NOW.minus(Duration.ofDays(5)).truncatedTo(ChronoUnit.MILLIS);
+        for (int i = 0; i < 7; i++) {
+            Task t = task("t" + i, TaskStatus.OPEN, TaskPriority.MEDIUM, NOW.plus(Duration.ofHours(2)));
+            t.setTitle("title " + i);
+            t.setUpdatedAt(old);
+            db.template().insert(t);
+        }
+        Task later = task("later", TaskStatus.OPEN, TaskPriority.MEDIUM, NOW.plus(Duration.ofDays(2)));
+        later.setUpdatedAt(old);
+        db.template().insert(later);
+
+        assertEquals(7, scheduler.escalate(NOW, null));
+
+        Task t0 = db.template().findById("t0", Task.class);
+        assertEquals(TaskPriority.HIGH, t0.getPriority());
+        assertEquals("title 0", t0.getTitle());
+        assertEquals(NOW.truncatedTo(ChronoUnit.MILLIS), t0.getUpdatedAt());
+        assertEquals(old, db.template().findById("later", Task.class).getUpdatedAt());
+
+        List<OutboxEvent> stored = db.template().findAll(OutboxEvent.class);
+        assertEquals(3, stored.size()); // chunks of 3, 3, 1
+        assertEquals("MEDIUM", stored.get(0).getChanges().get(0).before().priority());
+        assertEquals("HIGH", stored.get(0).getChanges().get(0).after().priority());
+
+        assertEquals(0, scheduler.escalate(NOW, null)); // nothing left to escalate
+    }
+
+    private static Task task(String id, TaskStatus status, TaskPriority priority, Instant due) {
+        Task t = new Task();
+        t.setId(id);
+        t.setTitle(id);
+        t.setOwner("alice");
+        t.setStatus(status);
+        t.setPriority(priority);
+        t.setDueDate(due == null ? null : due.truncatedTo(ChronoUnit.MILLIS));
+        return t;
+    }
+}
@@ -8,7 +8,9 @@ import java.time.temporal.ChronoUnit;
 import org.junit.jupiter.api.Test;
 
 import com.dhruv.taskmanager.domain.TaskPriority;
+import com.dhruv.taskmanager.domain.TaskStatus;
 import com.dhruv.taskmanager.model.Task;
+import com.fasterxml.jackson.databind.json.JsonMapper;
 
 class TaskPolicyServiceTest {
 
@@ -17,23 +19,52 @@ class TaskPolicyServiceTest {
     @Test
     void transitionRules_enforced() {
         Task existing = new Task();
-        existing.setStatus("OPEN");
+        existing.setStatus(TaskStatus.OPEN);
 
         Task incoming = new Task();
-        incoming.setStatus("DONE");
+        incoming.setStatus(TaskStatus.DONE);
         incoming.setTitle("x");
 
         assertThrows(IllegalArgumentException.class, () -> policy.validateForUpdate(existing, incoming));
     }
 
+    @Test
+    void overdueOnRawFieldsMatchesTheTaskForm() {
+        Instant now = Instant.now();
+        Instant past = now.minusSeconds(60);
+        assertTrue(TaskPolicyService.isOverdue(TaskStatus.OPEN, past, now));
+        assertTrue(TaskPolicyService.isOverdue(TaskStatus.IN_PROGRESS, past, now));
+        assertFalse(TaskPolicyService.isOverdue(TaskStatus.DONE, past, now));
+        assertFalse(TaskPolicyService.isOverdue(TaskStatus.OPEN, now, now));
+        assertFalse(TaskPolicyService.isOverdue(TaskStatus.OPEN, null, now));
+
+        Task t = new Task();
+        t.setStatus(TaskStatus.OPEN);
+        t.setDueDate(past);
+        assertTrue(policy.isOverdue(t, now));
+        assertFalse(policy.isOverdue(null, now));
+    }
+
     @Test
     void overdueEscalatesToHigh() {
         Task t = new Task();
-        t.setStatus("OPEN");
-        t.setPriority("LOW");
+        t.setStatus(TaskStatus.OPEN);
+        t.setPriority(TaskPriority.LOW);
         t.setDueDate(Instant.now().minus(2, ChronoUnit.DAYS));
 
         TaskPriority p = policy.escalatedPriority(t, Instant.now());
         assertEquals(TaskPriority.HIGH, p);
     }
-}
\ No newline at end of file
+
+    @Test
+    void statusAndPriorityAreReadLeniently() throws Exception {
+        Task t = JsonMapper.builder().build()
+            .readValue("{\"title\":\"x\",\"status\":\" in progress\",\"priority\":\"high\"}", Task.class);
+        assertEquals(TaskStatus.IN_PROGRESS, t.getStatus());
+        assertEquals(TaskPriority.HIGH, t.getPriority());
+
+        assertEquals(TaskStatus.IN_PROGRESS, TaskStatus.from("In-Progress"));
+        assertNull(TaskStatus.from("  "));
+        assertThrows(IllegalArgumentException.class, () -> TaskPriority.from("urgent"));
+    }
+}
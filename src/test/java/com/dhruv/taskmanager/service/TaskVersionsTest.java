@@ -0,0 +1,60 @@
+package com.dhruv.taskmanager.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.dhruv.taskmanager.events.TaskBatchEvent;
+import com.dhruv.taskmanager.events.TaskBatchEvent.Change;
+import com.dhruv.taskmanager.events.TaskCreatedEvent;
+import com.dhruv.taskmanager.events.TaskSnapshot;
+import com.dhruv.taskmanager.events.TaskUpdatedEvent;
+
+class TaskVersionsTest {
+
+    @Test
+    void onlyTheOwnersTouchedAndTheGlobalStampMove() {
+        TaskVersions v = new TaskVersions(Duration.ofMinutes(1));
+        String alice = v.etag("alice", "tasks");
+        String bob = v.etag("bob", "tasks");
+        String all = v.etag(null, "tasks");
+
+        v.onCreated(new TaskCreatedEvent("t1", "alice", snapshot("alice")));
+        assertNotEquals(alice, v.etag("alice", "tasks"));
+        assertEquals(bob, v.etag("bob", "tasks"));
+        assertNotEquals(all, v.etag(null, "tasks"));
+
+        alice = v.etag("alice", "tasks");
+        v.onUpdated(new TaskUpdatedEvent("t1", "root", snapshot("alice"), snapshot("bob")));
+        assertNotEquals(alice, v.etag("alice", "tasks"));
+        assertNotEquals(bob, v.etag("bob", "tasks"));
+
+        bob = v.etag("bob", "tasks");
+        v.onBatch(new TaskBatchEvent("system", List.of(new Change("t2", null, snapshot("carol")))));
+        assertEquals(bob, v.etag("bob", "tasks"));
+    }
+
+    @Test
+    void tagsAreDistinctPerScopeAndResource() {
+        TaskVersions v = new TaskVersions(Duration.ofMinutes(1));
+        assertNotEquals(v.etag("alice", "tasks"), v.etag("bob", "tasks"));
+        assertNotEquals(v.etag("alice", "tasks"), v.etag(null, "tasks"));
+        assertNotEquals(v.etag("alice", "tasks"), v.etag("alice", "tasks?limit=10"));
+        assertTrue(v.etag("alice", "tasks").matches("\"[0-9a-z]+-[0-9a-z]+-[0-9a-f]+\""));
+    }
+
+    @Test
+    void clockedTagsRollOverWithTheWindow() throws InterruptedException {
+        TaskVersions v = new TaskVersions(Duration.ofMillis(20));
+        String before = v.clockedEtag("alice", "analytics/me");
+        Thread.sleep(50);
+        assertNotEquals(before, v.clockedEtag("alice", "analytics/me"));
+    }
+
+    private static TaskSnapshot snapshot(String owner) {
+        return new TaskSnapshot("OPEN", "LOW", null, owner, null, null);
+    }
+}
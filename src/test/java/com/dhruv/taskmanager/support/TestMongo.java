@@ -0,0 +1,93 @@
+package com.dhruv.taskmanager.support;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.dhruv.taskmanager.config.MongoConfig;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+
+/**
+ * MongoDB for tests: the server at {@code MONGODB_URI} (throwaway {@code taskmanager_test}
+ * database) when set, otherwise an in-process mongo-java-server. Templates use the application's
+ * custom conversions.
+ */
+public final class TestMongo implements AutoCloseable {
+
+    private final MongoServer server;
+    private final String uri;
+    private final MongoClient client;
+    private final MongoTemplate template;
+    private com.mongodb.reactivestreams.client.MongoClient reactiveClient;
+
+    public TestMongo() {
+        this(new CommandListener[0]);
+    }
+
+    /** @param listeners see every command the template sends, e.g. to explain its queries */
+    public TestMongo(CommandListener... listeners) {
+        String uri = System.getenv("MONGODB_URI");
+        if (uri == null || uri.isBlank()) {
+            server = new MongoServer(new MemoryBackend());
+            var addr = server.bind();
+            uri = "mongodb://" + addr.getHostString() + ":" + addr.getPort();
+        } else {
+            server = null;
+        }
+        this.uri = uri;
+        MongoClientSettings.Builder settings = MongoClientSettings.builder().applyConnectionString(new ConnectionString(uri));
+        for (CommandListener l : listeners) settings.addCommandListener(l);
+        client = MongoClients.create(settings.build());
+        var factory = new SimpleMongoClientDatabaseFactory(client, "taskmanager_test");
+        template = new MongoTemplate(factory, converter(new DefaultDbRefResolver(factory)));
+        template.getDb().drop();
+    }
+
+    public boolean inProcess() {
+        return server != null;
+    }
+
+    public MongoTemplate template() {
+        return template;
+    }
+
+    /** Same database through the reactive driver; created on first use. */
+    public synchronized ReactiveMongoTemplate reactiveTemplate() {
+        if (reactiveClient == null) reactiveClient = com.mongodb.reactivestreams.client.MongoClients.create(uri);
+        return new ReactiveMongoTemplate(new SimpleReactiveMongoDatabaseFactory(reactiveClient, "taskmanager_test"),
+            converter(NoOpDbRefResolver.INSTANCE));
+    }
+
+    private static MappingMongoConverter converter(org.springframework.data.mongodb.core.convert.DbRefResolver refs) {
+        MongoCustomConversions conversions = MongoConfig.conversions();
+        MongoMappingContext mapping = new MongoMappingContext();
+        mapping.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mapping.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(refs, mapping);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    @Override
+    public void close() {
+        template.getDb().drop();
+        client.close();
+        if (reactiveClient != null) reactiveClient.close();
+        if (server != null) server.shutdown();
+    }
+}